@@ -30,6 +30,28 @@ android {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
+    testOptions {
+        // MainActivity logs through android.util.Log, a stub in local unit tests
+        unitTests.isReturnDefaultValues = true
+    }
+    androidResources {
+        // Raw .bin files are memory-mapped straight out of the APK
+        noCompress += "bin"
+    }
+}
+
+// Test switches given on the command line (./gradlew test -Dname=value) are set in the
+// Gradle JVM; hand them on to the test JVM.
+val forwardedTestProperties = listOf(
+    "bench",
+    "wordle.regenerate",
+    "sim.minutes",
+    "load.strokes", "load.threads", "load.sampleRate",
+)
+tasks.withType<Test>().configureEach {
+    forwardedTestProperties.forEach { key ->
+        System.getProperty(key)?.let { systemProperty(key, it) }
+    }
 }
 
 dependencies {
@@ -45,6 +67,8 @@ dependencies {
     implementation(libs.converter.gson)
 
     testImplementation(libs.junit)
+    // android.jar's org.json is a stub in local unit tests
+    testImplementation(libs.json)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
\ No newline at end of file
@@ -0,0 +1,375 @@
+package com.project.touchalytics;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.media.AudioAttributes;
+import android.media.MediaPlayer;
+import android.media.SoundPool;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Message;
+import android.os.Process;
+import android.util.Log;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Owns all game audio on a dedicated thread.
+ *
+ * Callers (game loop, UI thread) only enqueue small int commands on a lock-free queue;
+ * the audio thread drains it. Sound effects are loaded asynchronously into a SoundPool
+ * and a play request for a sample that hasn't finished loading is dropped. Music tracks
+ * are only created when first needed and are prepared with prepareAsync(), so nothing
+ * here blocks the first frame.
+ */
+class AudioEngine implements Handler.Callback {
+
+    private static final String TAG = "FruitNinja";
+
+    // Sound effects
+    static final int SFX_SLICE_1 = 0;
+    static final int SFX_SLICE_2 = 1;
+    static final int SFX_SLICE_3 = 2;
+    static final int SFX_BOMB = 3;
+    static final int SFX_CRACK = 4;
+    static final int SFX_PENALTY = 5;
+
+    // Music tracks (at most one plays at a time)
+    static final int TRACK_MENU = 0;
+    static final int TRACK_CLASSIC = 1;
+    static final int TRACK_ARCADE = 2;
+    static final int TRACK_GAME_OVER = 3;
+
+    private static final int[] SFX_RES = {
+            R.raw.slice1, R.raw.slice2, R.raw.slice3, R.raw.explosion, R.raw.crack, R.raw.penalty
+    };
+    private static final float[] SFX_VOLUME = {1.0f, 1.0f, 1.0f, 1.0f, 0.8f, 1.0f};
+
+    // Commands are encoded as (op * 16 + argument) and stay below 128, so boxing
+    // them goes through the Integer cache and never allocates.
+    private static final int OP_PLAY_SOUND = 0;
+    private static final int OP_PLAY_MUSIC = 1;
+    private static final int OP_STOP_MUSIC = 2;
+    private static final int OP_RESUME_MUSIC = 3;
+    private static final int OP_PAUSE_ALL = 4;
+    private static final int OP_RELEASE = 5;
+
+    private static final int MSG_INIT = 1;
+    private static final int MSG_DRAIN = 2;
+
+    private final Context context;
+    private final HandlerThread thread;
+    private final Handler handler;
+    private final MusicTempoController tempo;
+
+    private final ConcurrentLinkedQueue<Integer> commands = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+
+    // Audio thread only
+    private SoundPool soundPool;
+    private final int[] soundIds = new int[SFX_RES.length];
+    private final boolean[] soundLoaded = new boolean[SFX_RES.length];
+    private final Track[] tracks = {
+            new Track(R.raw.menu_music, 0.50f, true),
+            new Track(R.raw.game_music, 0.60f, true),
+            new Track(R.raw.arcade_music, 1.0f, true),
+            new Track(R.raw.game_over, 1.0f, false)
+    };
+    private boolean released = false;
+
+    AudioEngine(Context context) {
+        this.context = context.getApplicationContext();
+        thread = new HandlerThread("AudioEngine", Process.THREAD_PRIORITY_AUDIO);
+        thread.start();
+        handler = new Handler(thread.getLooper(), this);
+        tempo = new MusicTempoController(thread.getLooper());
+        handler.sendEmptyMessage(MSG_INIT);
+    }
+
+    /**
+     * Plays a sound effect. Never blocks; dropped if the sample isn't loaded yet.
+     */
+    void playSound(int sound) {
+        enqueue(OP_PLAY_SOUND, sound);
+    }
+
+    /**
+     * Stops every other track and plays this one (from the start, unless it is already playing).
+     */
+    void playMusic(int track) {
+        enqueue(OP_PLAY_MUSIC, track);
+    }
+
+    /**
+     * Stops a track and rewinds it.
+     */
+    void stopMusic(int track) {
+        enqueue(OP_STOP_MUSIC, track);
+    }
+
+    /**
+     * Continues a track from where {@link #pauseMusic()} left it.
+     */
+    void resumeMusic(int track) {
+        enqueue(OP_RESUME_MUSIC, track);
+    }
+
+    /**
+     * Pauses whatever is playing without rewinding.
+     */
+    void pauseMusic() {
+        enqueue(OP_PAUSE_ALL, 0);
+    }
+
+    /**
+     * Requests a playback speed for the current game track. Cheap enough to call every frame.
+     */
+    void setMusicSpeed(float speed) {
+        tempo.requestSpeed(speed);
+    }
+
+    /**
+     * Frees the SoundPool and all players, then stops the audio thread.
+     * Commands queued before this still run.
+     */
+    void release() {
+        enqueue(OP_RELEASE, 0);
+        thread.quitSafely();
+    }
+
+    private void enqueue(int op, int arg) {
+        commands.offer(op * 16 + arg);
+        // Only the first command after a drain touches the handler's message queue
+        if (drainScheduled.compareAndSet(false, true)) {
+            handler.sendEmptyMessage(MSG_DRAIN);
+        }
+    }
+
+    @Override
+    public boolean handleMessage(Message msg) {
+        switch (msg.what) {
+            case MSG_INIT:
+                loadSounds();
+                return true;
+            case MSG_DRAIN:
+                drainScheduled.set(false);
+                Integer command;
+                while ((command = commands.poll()) != null) {
+                    execute(command / 16, command % 16);
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void execute(int op, int arg) {
+        if (released) return;
+
+        try {
+            switch (op) {
+                case OP_PLAY_SOUND:
+                    if (soundPool != null && soundLoaded[arg]) {
+                        soundPool.play(soundIds[arg], SFX_VOLUME[arg], SFX_VOLUME[arg], 1, 0, 1.0f);
+                    }
+                    break;
+                case OP_PLAY_MUSIC:
+                    for (int i = 0; i < tracks.length; i++) {
+                        if (i != arg) tracks[i].stop();
+                    }
+                    tracks[arg].play();
+                    break;
+                case OP_STOP_MUSIC:
+                    tracks[arg].stop();
+                    break;
+                case OP_RESUME_MUSIC:
+                    tracks[arg].play();
+                    break;
+                case OP_PAUSE_ALL:
+                    tempo.pause();
+                    for (Track track : tracks) {
+                        track.pause();
+                    }
+                    break;
+                case OP_RELEASE:
+                    releaseAll();
+                    break;
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Audio command failed: op=" + op + " arg=" + arg, e);
+        }
+    }
+
+    /**
+     * Creates the SoundPool and starts loading every effect; samples become playable
+     * as their load completes.
+     */
+    private void loadSounds() {
+        AudioAttributes audioAttributes = new AudioAttributes.Builder()
+                .setUsage(AudioAttributes.USAGE_GAME)
+                .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+                .build();
+
+        soundPool = new SoundPool.Builder()
+                .setMaxStreams(5)
+                .setAudioAttributes(audioAttributes)
+                .build();
+
+        // Callbacks arrive on this thread's looper
+        soundPool.setOnLoadCompleteListener((pool, sampleId, status) -> {
+            for (int i = 0; i < soundIds.length; i++) {
+                if (soundIds[i] == sampleId) {
+                    soundLoaded[i] = status == 0;
+                    if (status != 0) Log.e(TAG, "✗ Sound " + i + " failed to load: " + status);
+                }
+            }
+        });
+
+        for (int i = 0; i < SFX_RES.length; i++) {
+            try {
+                soundIds[i] = soundPool.load(context, SFX_RES[i], 1);
+            } catch (Exception e) {
+                // This effect stays silent, the game continues
+                Log.e(TAG, "✗ Sound " + i + " failed to load", e);
+            }
+        }
+    }
+
+    private void releaseAll() {
+        released = true;
+        tempo.release();
+        commands.clear();
+
+        if (soundPool != null) {
+            soundPool.release();
+            soundPool = null;
+        }
+        for (Track track : tracks) {
+            track.release();
+        }
+    }
+
+    /**
+     * Called once a track has actually started playing.
+     */
+    private void onTrackStarted(Track track, MediaPlayer player) {
+        if (track != tracks[TRACK_CLASSIC] && track != tracks[TRACK_ARCADE]) return;
+
+        if (track.newRun) {
+            // A new run always starts at normal tempo
+            track.newRun = false;
+            try {
+                player.setPlaybackParams(player.getPlaybackParams().setSpeed(1.0f));
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to reset music speed", e);
+            }
+            tempo.setPlayer(player);
+        } else {
+            // Resumed after a pause: the player kept the speed the run had reached
+            tempo.resume(player);
+        }
+    }
+
+    /**
+     * A music track whose MediaPlayer is created and prepared on first use.
+     * All methods run on the audio thread.
+     */
+    private class Track {
+        private final int resId;
+        private final float volume;
+        private final boolean looping;
+
+        private MediaPlayer player;
+        private boolean prepared = false;
+        private boolean playWhenPrepared = false;
+        private boolean newRun = true;   // next start plays from the top, at 1.0x
+
+        Track(int resId, float volume, boolean looping) {
+            this.resId = resId;
+            this.volume = volume;
+            this.looping = looping;
+        }
+
+        void play() {
+            if (player == null) {
+                playWhenPrepared = true;
+                create();
+            } else if (!prepared) {
+                playWhenPrepared = true;
+            } else if (!player.isPlaying()) {
+                start();
+            }
+        }
+
+        void pause() {
+            playWhenPrepared = false;
+            if (prepared && player.isPlaying()) {
+                player.pause();
+            }
+        }
+
+        void stop() {
+            playWhenPrepared = false;
+            newRun = true;
+            if (player != null) tempo.detach(player);
+            if (prepared) {
+                if (player.isPlaying()) {
+                    player.pause();
+                }
+                player.seekTo(0);
+            }
+        }
+
+        void release() {
+            newRun = true;
+            if (player != null) {
+                tempo.detach(player);
+                player.release();
+                player = null;
+            }
+            prepared = false;
+            playWhenPrepared = false;
+        }
+
+        private void start() {
+            player.start();
+            onTrackStarted(this, player);
+        }
+
+        private void create() {
+            MediaPlayer mediaPlayer = new MediaPlayer();
+            try (AssetFileDescriptor afd = context.getResources().openRawResourceFd(resId)) {
+                mediaPlayer.setAudioAttributes(new AudioAttributes.Builder()
+                        .setUsage(AudioAttributes.USAGE_GAME)
+                        .setContentType(AudioAttributes.CONTENT_TYPE_MUSIC)
+                        .build());
+                mediaPlayer.setDataSource(afd.getFileDescriptor(), afd.getStartOffset(), afd.getLength());
+                mediaPlayer.setLooping(looping);
+                mediaPlayer.setVolume(volume, volume);
+                mediaPlayer.setOnPreparedListener(mp -> {
+                    if (player != mp) return;
+                    prepared = true;
+                    Log.d(TAG, "✓ Music track prepared: " + resId);
+                    if (playWhenPrepared) {
+                        playWhenPrepared = false;
+                        start();
+                    }
+                });
+                mediaPlayer.setOnErrorListener((mp, what, extra) -> {
+                    Log.e(TAG, "✗ Music track error " + what + "/" + extra + ": " + resId);
+                    if (player == mp) release();
+                    else mp.release();
+                    return true;
+                });
+                player = mediaPlayer;
+                mediaPlayer.prepareAsync();
+            } catch (Exception e) {
+                Log.e(TAG, "✗ Music loading failed: " + resId, e);
+                mediaPlayer.release();
+                player = null;
+                playWhenPrepared = false;
+            }
+        }
+    }
+}
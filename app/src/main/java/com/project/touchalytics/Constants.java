@@ -1,5 +1,9 @@
 package com.project.touchalytics;
 
+import com.project.touchalytics.data.GeometryKernel;
+import com.project.touchalytics.data.StrokeQualityGate;
+import com.project.touchalytics.data.StrokeSimplifier;
+
 /**
  * Contains constant values used throughout the application.
  */
@@ -39,4 +43,39 @@ public class Constants {
      * The minimum number of strokes required for new fee training.
      */
     public static final int NEWS_MEDIA_MIN_STROKE_COUNT = 30;
+
+    /**
+     * The geometry kernel strokes compute their features with.
+     * STRICT matches the server's training data exactly; FAST is cheaper, with the error
+     * bounds documented on GeometryKernel.
+     */
+    public static final GeometryKernel GEOMETRY_KERNEL = GeometryKernel.STRICT;
+
+    /**
+     * Simplification applied to strokes before feature extraction, or null to extract from
+     * every recorded point. Simplifying bounds the cost of very long gestures (e.g. WebView
+     * scrolls) but shifts the features that depend on the number of points; see
+     * StrokeSimplifierTest for the drift. Keep it the same for training and authentication,
+     * e.g. new StrokeSimplifier(1f, 0.1f, 256).
+     */
+    public static final StrokeSimplifier STROKE_SIMPLIFIER = null;
+
+    /**
+     * How strokes classified as taps (e.g. Wordle key presses) are handled.
+     */
+    public static final TapPolicy TAP_POLICY = TapPolicy.COMPACT;
+
+    /**
+     * Strokes failing this gate are neither counted nor sent: by default strokes without
+     * usable timestamps, and other than taps, single-point, zero-duration and motionless
+     * ones (e.g. a long press that never moved). Taps, including single-sample key presses,
+     * are only checked for their timestamps and are then handled by {@link #TAP_POLICY}.
+     */
+    public static final StrokeQualityGate STROKE_QUALITY_GATE = new StrokeQualityGate(2, 1, 1f);
+
+    /**
+     * Records every touch event into a trace file in the app's files directory
+     * (touch-trace-TIMESTAMP.ttrc, saved when a touch screen pauses) for replay in load tests.
+     */
+    public static final boolean RECORD_TOUCH_TRACES = false;
 }
@@ -1,8 +1,5 @@
 package com.project.touchalytics;
 
-import android.content.Context;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
@@ -12,6 +9,7 @@ import java.util.Random;
 public class Fruit {
 
     public float x, y;
+    private float prevX, prevY;  // position before the latest update(), for swept collision
     private float velocityX, velocityY;
     private float gravity = 0.8f;
     private int radius = 100;
@@ -26,28 +24,12 @@ public class Fruit {
     private FruitType type;
     private boolean isBomb = false;
 
-    // image support
-    private static Context context;
-    private Bitmap wholeImage;
-    private Bitmap slicedImage;
+    // image support: regions of the shared sprite atlas (see FruitSprites)
+    private Rect wholeSrc;
+    private Rect slicedSrc;
+    private Rect destRect;  // allocated on first draw, then reused
     private boolean useImages = true;
 
-    private static Bitmap appleWhole = null;
-    private static Bitmap appleSliced = null;
-    private static Bitmap bananaWhole = null;
-    private static Bitmap bananaSliced = null;
-    private static Bitmap coconutWhole = null;
-    private static Bitmap coconutSliced = null;
-    private static Bitmap starfruitWhole = null;
-    private static Bitmap starfruitSliced = null;
-    private static Bitmap bombWhole = null;
-    private static Bitmap bombSliced = null;
-    private static Bitmap broccoli = null;
-    private static Bitmap goldenApple = null;
-    private static Bitmap goldenAppleSliced = null;
-
-    private static boolean imagesLoaded = false;
-
     // Multi-hit tracking (for Coconut)
     private int hitsRequired = 1;
     private int currentHits = 0;
@@ -56,18 +38,14 @@ public class Fruit {
     private float damageLevel = 0f;
 
 
-    private long lastHitTime = 0;
     private long hitCooldown = 300;  // 300ms cooldown between hits
+    // Far enough in the past that the first hit always counts, whatever the clock's origin
+    private long lastHitTime = Long.MIN_VALUE / 2;
 
     private Random random = new Random();
 
     private static int globalFrameCount = 0;
 
-    // Static method to set context (call this once from GameView)
-    public static void setContext(Context ctx) {
-        context = ctx;
-    }
-
     public Fruit(float x, float y, float velocityX, float velocityY, int color) {
         this(x, y, velocityX, velocityY, color, FruitType.APPLE);
     }
@@ -75,6 +53,8 @@ public class Fruit {
     public Fruit(float x, float y, float velocityX, float velocityY, int color, FruitType type) {
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
         this.velocityX = velocityX;
         this.velocityY = velocityY;
         this.color = color;
@@ -95,102 +75,70 @@ public class Fruit {
 
 
         // Set different sizes for different fruits
+        this.radius = radiusFor(type);
+        if (type == FruitType.BOMB) {
+            this.color = Color.BLACK;
+        }
+
+        // Look up pre-scaled sprites
+        loadImages();
+    }
+
+    /**
+     * @return Radius in pixels for a fruit type; sprites are pre-scaled to match.
+     */
+    static int radiusFor(FruitType type) {
         switch (type) {
             case COCONUT:
-                this.radius = 110;  // Coconuts are bigger
-                break;
+                return 110;  // Coconuts are bigger
             case STARFRUIT:
-                this.radius = 95;   // Starfruit medium
-                break;
+                return 95;   // Starfruit medium
             case BANANA:
-                this.radius = 105;  // Bananas are long/big
-                break;
+                return 105;  // Bananas are long/big
             case APPLE:
-                this.radius = 90;   // Apples medium
-                break;
+                return 90;   // Apples medium
             case BOMB:
-                this.radius = 95;   // Bombs medium
-                this.color = Color.BLACK;
-                break;
+                return 95;   // Bombs medium
             default:
-                this.radius = 100;  // Default
+                return 100;  // Default
         }
-
-
-        // Load images
-        loadImages();
     }
 
-    private void loadImages() {
-        if (context == null) {
-            useImages = false;
-            return;
-        }
-
-        // ===== LOAD ONLY ONCE (STATIC) =====
-        if (!imagesLoaded) {
-            try {
-                appleWhole = BitmapFactory.decodeResource(context.getResources(), R.drawable.apple);
-                appleSliced = BitmapFactory.decodeResource(context.getResources(), R.drawable.apple_sliced);
-                bananaWhole = BitmapFactory.decodeResource(context.getResources(), R.drawable.banana);
-                bananaSliced = BitmapFactory.decodeResource(context.getResources(), R.drawable.banana_sliced);
-                coconutWhole = BitmapFactory.decodeResource(context.getResources(), R.drawable.coconut);
-                coconutSliced = BitmapFactory.decodeResource(context.getResources(), R.drawable.coconut_sliced);
-                starfruitWhole = BitmapFactory.decodeResource(context.getResources(), R.drawable.starfruit);
-                starfruitSliced = BitmapFactory.decodeResource(context.getResources(), R.drawable.starfruit_sliced);
-                bombWhole = BitmapFactory.decodeResource(context.getResources(), R.drawable.bomb);
-                bombSliced = BitmapFactory.decodeResource(context.getResources(), R.drawable.bomb);
-                broccoli = BitmapFactory.decodeResource(context.getResources(), R.drawable.broccoli);
-                goldenApple = BitmapFactory.decodeResource(context.getResources(), R.drawable.golden);
-                goldenAppleSliced = BitmapFactory.decodeResource(context.getResources(), R.drawable.golden_sliced);
-
-
-                imagesLoaded = true;
-                System.out.println("✓ All images loaded once (static)");
-            } catch (Exception e) {
-                e.printStackTrace();
-                useImages = false;
-            }
-        }
-        // ===================================
-
-        // Assign to instance variables
+    /**
+     * @return Fallback circle color for a fruit type (used when sprites are unavailable).
+     */
+    static int colorFor(FruitType type) {
         switch (type) {
             case APPLE:
-                wholeImage = appleWhole;
-                slicedImage = appleSliced;
-                break;
-            case BANANA:
-                wholeImage = bananaWhole;
-                slicedImage = bananaSliced;
-                break;
+                return Color.RED;
             case COCONUT:
-                wholeImage = coconutWhole;
-                slicedImage = coconutSliced;
-                break;
+                return 0xFF8B4513;  // brown
             case STARFRUIT:
-                wholeImage = starfruitWhole;
-                slicedImage = starfruitSliced;
-                break;
+            case GOLDEN_APPLE:
+                return 0xFFFFD700;  // gold
+            case BANANA:
+                return Color.YELLOW;
             case BOMB:
-                wholeImage = bombWhole;
-                slicedImage = bombSliced;
-                break;
+                return Color.BLACK;
             case BROCCOLI:
-                wholeImage = broccoli;
-                slicedImage = broccoli;
-                break;
-            case GOLDEN_APPLE:
-                wholeImage = goldenApple;
-                slicedImage = goldenAppleSliced;
-                break;
+                return 0xFF228B22;  // forest green
+            default:
+                return Color.RED;
         }
+    }
 
-        useImages = (wholeImage != null && slicedImage != null);
+    private void loadImages() {
+        // Atlas is built once by GameView; missing sprites fall back to circles
+        wholeSrc = FruitSprites.wholeRect(type);
+        slicedSrc = FruitSprites.slicedRect(type);
+        useImages = (wholeSrc != null && slicedSrc != null);
     }
 
 
     public void update() {
+        prevX = x;
+        prevY = y;
+
         if (!sliced) {
             // Apply gravity
             velocityY += gravity;
@@ -208,7 +156,7 @@ public class Fruit {
     public void draw(Canvas canvas, Paint paint) {
         paint.setAlpha(sliceAlpha);
 
-        if (useImages && wholeImage != null && slicedImage != null) {
+        if (useImages && FruitSprites.getAtlas() != null) {
             // Draw with images
             drawWithImages(canvas, paint);
         } else {
@@ -240,13 +188,14 @@ public class Fruit {
     }
 
     private void drawWithImages(Canvas canvas, Paint paint) {
-        // Choose which image to draw
-        Bitmap imageToDraw = sliced ? slicedImage : wholeImage;
+        // Choose which sprite to draw
+        Rect srcRect = sliced ? slicedSrc : wholeSrc;
 
-        if (imageToDraw == null) return;
-
-        // Calculate the rectangle to draw the image in
-        Rect destRect = new Rect(
+        // Move the cached rectangle to the fruit's position (same size as the sprite)
+        if (destRect == null) {
+            destRect = new Rect();
+        }
+        destRect.set(
                 (int)(x - radius),      // left
                 (int)(y - radius),      // top
                 (int)(x + radius),      // right
@@ -254,7 +203,7 @@ public class Fruit {
         );
 
         // Draw the image
-        canvas.drawBitmap(imageToDraw, null, destRect, paint);
+        canvas.drawBitmap(FruitSprites.getAtlas(), srcRect, destRect, paint);
     }
 
     private void drawWithCircles(Canvas canvas, Paint paint) {
@@ -320,6 +269,20 @@ public class Fruit {
         return radius;
     }
 
+    /**
+     * @return X position before the latest update()
+     */
+    public float getPrevX() {
+        return prevX;
+    }
+
+    /**
+     * @return Y position before the latest update()
+     */
+    public float getPrevY() {
+        return prevY;
+    }
+
     public boolean isBomb() {
         return isBomb;
     }
@@ -364,11 +327,11 @@ public class Fruit {
 
     /**
      * Handles a swipe hit on this fruit
+     * @param currentTime Current game time in ms, for the hit cooldown
      * @return true if the fruit should be removed (fully sliced or single-hit)
      */
-    public boolean onSwipeHit(){
+    public boolean onSwipeHit(long currentTime){
         // Check cooldown - prevent multiple hits from same swipe
-        long currentTime = System.currentTimeMillis();
         if (currentTime - lastHitTime < hitCooldown) {
             return false;  // Too soon after last hit
         }
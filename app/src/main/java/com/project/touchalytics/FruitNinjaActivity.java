@@ -274,6 +274,9 @@ public class FruitNinjaActivity extends AppCompatActivity implements MainActivit
         super.onPause();
         gameView.pause();
         gameView.pauseAllMusic();
+        if (touchManager != null) {
+            touchManager.saveTraceRecording();  // no-op unless Constants.RECORD_TOUCH_TRACES
+        }
     }
 
     @Override
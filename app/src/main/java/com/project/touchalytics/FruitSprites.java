@@ -0,0 +1,209 @@
+package com.project.touchalytics;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.util.Log;
+
+/**
+ * Texture atlas of pre-scaled fruit sprites, built once at startup.
+ *
+ * Each sprite is drawn into the atlas at exactly the on-screen diameter of its fruit
+ * (2 * radius pixels), so a frame only blits 1:1 from a cached source rect.
+ * Source PNGs are decoded with inSampleSize close to that size and without the
+ * implicit density upscaling decodeResource applies to drawable/, then recycled.
+ */
+final class FruitSprites {
+
+    private static final String TAG = "FruitSprites";
+    private static final int MAX_ATLAS_WIDTH = 2048;
+
+    private static Bitmap atlas = null;
+    private static final Rect[] wholeRects = new Rect[Fruit.FruitType.values().length];
+    private static final Rect[] slicedRects = new Rect[Fruit.FruitType.values().length];
+
+    private FruitSprites() { }
+
+    /**
+     * Builds the atlas if it hasn't been built yet. Safe to call repeatedly.
+     */
+    static synchronized void load(Resources res) {
+        if (atlas != null) return;
+
+        Fruit.FruitType[] types = Fruit.FruitType.values();
+
+        // ===== LAYOUT: simple shelf packing, one cell per distinct image =====
+        int cursorX = 0;
+        int cursorY = 0;
+        int shelfHeight = 0;
+        int atlasWidth = 0;
+
+        Rect[] whole = new Rect[types.length];
+        Rect[] sliced = new Rect[types.length];
+
+        for (Fruit.FruitType type : types) {
+            int size = Fruit.radiusFor(type) * 2;
+            boolean sharedImage = wholeResFor(type) == slicedResFor(type);
+
+            for (int pass = 0; pass < (sharedImage ? 1 : 2); pass++) {
+                if (cursorX + size > MAX_ATLAS_WIDTH) {
+                    cursorX = 0;
+                    cursorY += shelfHeight;
+                    shelfHeight = 0;
+                }
+                Rect cell = new Rect(cursorX, cursorY, cursorX + size, cursorY + size);
+                if (pass == 0) {
+                    whole[type.ordinal()] = cell;
+                } else {
+                    sliced[type.ordinal()] = cell;
+                }
+                cursorX += size;
+                shelfHeight = Math.max(shelfHeight, size);
+                atlasWidth = Math.max(atlasWidth, cursorX);
+            }
+            if (sharedImage) {
+                sliced[type.ordinal()] = whole[type.ordinal()];
+            }
+        }
+        int atlasHeight = cursorY + shelfHeight;
+
+        // ===== RENDER: decode each source once, scale into its cell, drop it =====
+        try {
+            Bitmap sheet = Bitmap.createBitmap(atlasWidth, atlasHeight, Bitmap.Config.ARGB_8888);
+            Canvas canvas = new Canvas(sheet);
+            Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+            for (Fruit.FruitType type : types) {
+                int i = type.ordinal();
+                if (!drawSprite(res, wholeResFor(type), canvas, whole[i], paint)) {
+                    whole[i] = null;
+                }
+                if (sliced[i] != null && sliced[i] != whole[i]
+                        && !drawSprite(res, slicedResFor(type), canvas, sliced[i], paint)) {
+                    sliced[i] = null;
+                }
+                wholeRects[i] = whole[i];
+                slicedRects[i] = sliced[i];
+            }
+
+            atlas = sheet;
+            Log.d(TAG, "Fruit atlas built: " + atlasWidth + "x" + atlasHeight);
+        } catch (Exception | OutOfMemoryError e) {
+            Log.e(TAG, "Failed to build fruit atlas, falling back to circles", e);
+            release();
+        }
+    }
+
+    /**
+     * @return The atlas bitmap, or null if it isn't loaded.
+     */
+    static Bitmap getAtlas() {
+        return atlas;
+    }
+
+    /**
+     * @return Atlas region for the type's whole sprite, or null if unavailable.
+     */
+    static Rect wholeRect(Fruit.FruitType type) {
+        return atlas == null ? null : wholeRects[type.ordinal()];
+    }
+
+    /**
+     * @return Atlas region for the type's sliced sprite, or null if unavailable.
+     */
+    static Rect slicedRect(Fruit.FruitType type) {
+        return atlas == null ? null : slicedRects[type.ordinal()];
+    }
+
+    /**
+     * Frees the atlas; the next {@link #load} rebuilds it.
+     */
+    static synchronized void release() {
+        if (atlas != null) {
+            atlas.recycle();
+            atlas = null;
+        }
+        for (int i = 0; i < wholeRects.length; i++) {
+            wholeRects[i] = null;
+            slicedRects[i] = null;
+        }
+    }
+
+    private static boolean drawSprite(Resources res, int resId, Canvas canvas, Rect cell, Paint paint) {
+        Bitmap source = decodeSampled(res, resId, cell.width());
+        if (source == null) return false;
+        canvas.drawBitmap(source, null, cell, paint);
+        source.recycle();
+        return true;
+    }
+
+    /**
+     * Decodes a drawable at the smallest power-of-two subsample still at least targetSize.
+     */
+    private static Bitmap decodeSampled(Resources res, int resId, int targetSize) {
+        try {
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inJustDecodeBounds = true;
+            options.inScaled = false;
+            BitmapFactory.decodeResource(res, resId, options);
+
+            int sample = 1;
+            int width = options.outWidth;
+            int height = options.outHeight;
+            while (width / (sample * 2) >= targetSize && height / (sample * 2) >= targetSize) {
+                sample *= 2;
+            }
+
+            options.inJustDecodeBounds = false;
+            options.inSampleSize = sample;
+            options.inPreferredConfig = Bitmap.Config.ARGB_8888;  // sprites need alpha
+            return BitmapFactory.decodeResource(res, resId, options);
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to decode sprite " + resId, e);
+            return null;
+        }
+    }
+
+    private static int wholeResFor(Fruit.FruitType type) {
+        switch (type) {
+            case APPLE:
+                return R.drawable.apple;
+            case BANANA:
+                return R.drawable.banana;
+            case COCONUT:
+                return R.drawable.coconut;
+            case STARFRUIT:
+                return R.drawable.starfruit;
+            case BOMB:
+                return R.drawable.bomb;
+            case BROCCOLI:
+                return R.drawable.broccoli;
+            case GOLDEN_APPLE:
+            default:
+                return R.drawable.golden;
+        }
+    }
+
+    private static int slicedResFor(Fruit.FruitType type) {
+        switch (type) {
+            case APPLE:
+                return R.drawable.apple_sliced;
+            case BANANA:
+                return R.drawable.banana_sliced;
+            case COCONUT:
+                return R.drawable.coconut_sliced;
+            case STARFRUIT:
+                return R.drawable.starfruit_sliced;
+            case BOMB:
+                return R.drawable.bomb;
+            case BROCCOLI:
+                return R.drawable.broccoli;
+            case GOLDEN_APPLE:
+            default:
+                return R.drawable.golden_sliced;
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package com.project.touchalytics;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fruit Ninja game rules without any rendering, audio or Android framework calls:
+ * spawning, fruit physics, swipe collision, scoring/combo and difficulty.
+ *
+ * Time and randomness are injected, so a simulation built with a fixed clock and
+ * seed replays identically. GameView drives one instance per frame and reacts to
+ * its {@link Listener} callbacks with sounds and particles.
+ *
+ * {@link Fruit} still imports android.graphics for its drawing and colour code. The
+ * simulation only uses its physics and hit logic, so host tests run against the
+ * android.jar stubs without ever calling into them.
+ */
+class GameSimulation {
+
+    /**
+     * Source of the current time in milliseconds.
+     */
+    interface Clock {
+        long now();
+    }
+
+    static final Clock SYSTEM_CLOCK = System::currentTimeMillis;
+
+    /**
+     * Gameplay events that have a visible or audible effect.
+     */
+    interface Listener {
+        /**
+         * A fruit, bomb, broccoli or golden apple was fully sliced this frame.
+         */
+        void onFruitSliced(Fruit fruit);
+
+        /**
+         * A multi-hit fruit (coconut) was hit but not yet sliced.
+         */
+        void onFruitCracked(Fruit fruit);
+
+        /**
+         * The run ended (out of lives, bomb in Classic, or out of time in Arcade).
+         */
+        void onGameOver();
+    }
+
+    private static final int START_LIVES = 3;
+    private static final long COMBO_TIMEOUT = 1000;       // ms to keep a combo going
+    private static final long ARCADE_DURATION = 60000;    // 60 seconds
+    private static final long DOUBLE_POINTS_DURATION = 5000;
+
+    // Dynamic difficulty
+    private static final float BASE_SPAWN_DELAY = 1000f;  // Starting spawn delay in ms
+    private static final float MIN_SPAWN_DELAY = 300f;    // Maximum difficulty
+    private static final float BASE_FRUIT_SPEED = 25f;    // Starting upward velocity
+    private static final float MAX_FRUIT_SPEED = 40f;
+
+    private static final Fruit.FruitType[] REGULAR_TYPES = {
+            Fruit.FruitType.APPLE,
+            Fruit.FruitType.COCONUT,
+            Fruit.FruitType.STARFRUIT,
+            Fruit.FruitType.BANANA
+    };
+
+    private final Clock clock;
+    private final Random random;
+    private final SwipeTrail swipe = new SwipeTrail();
+    private final ArrayList<Fruit> fruits = new ArrayList<>();
+    private Listener listener;
+
+    private int screenWidth;
+    private int screenHeight;
+
+    private GameMode gameMode = GameMode.CLASSIC;
+    private boolean over = false;
+    private int score;
+    private int lives;
+    private int combo;
+    private int maxCombo;
+    private long lastSliceTime;
+    private long lastFruitSpawn;
+    private long gameStartTime;
+    private long timeRemaining;
+
+    private float currentSpawnDelay;
+    private float currentFruitSpeed;
+    private float difficultyMultiplier;
+
+    // Golden apple powerup (Arcade only)
+    private boolean doublePoints = false;
+    private long doublePointsStartTime;
+
+    GameSimulation(Clock clock, Random random) {
+        this.clock = clock;
+        this.random = random;
+        reset(GameMode.CLASSIC);
+    }
+
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    void setScreenSize(int width, int height) {
+        screenWidth = width;
+        screenHeight = height;
+    }
+
+    /**
+     * Starts a new run in the given mode.
+     */
+    void reset(GameMode mode) {
+        gameMode = mode;
+        fruits.clear();
+        swipe.clear();
+
+        long now = clock.now();
+        over = false;
+        score = 0;
+        lives = START_LIVES;
+        combo = 0;
+        maxCombo = 0;
+        lastFruitSpawn = now;
+        lastSliceTime = now;
+        gameStartTime = now;
+        timeRemaining = mode == GameMode.ARCADE ? ARCADE_DURATION : 0;
+        doublePoints = false;
+
+        currentSpawnDelay = BASE_SPAWN_DELAY;
+        currentFruitSpeed = BASE_FRUIT_SPEED;
+        difficultyMultiplier = 1.0f;
+    }
+
+    /**
+     * Advances the game by one frame. Does nothing once the run is over.
+     */
+    void update() {
+        if (over) return;
+
+        long now = clock.now();
+        updateDifficulty(now);
+
+        // Update timer for Arcade mode
+        if (gameMode == GameMode.ARCADE) {
+            timeRemaining = ARCADE_DURATION - (now - gameStartTime);
+            if (timeRemaining <= 0) {
+                endGame();
+                return;
+            }
+        }
+
+        // Check if double points has expired
+        if (doublePoints && now - doublePointsStartTime >= DOUBLE_POINTS_DURATION) {
+            doublePoints = false;
+        }
+
+        // Check combo timeout
+        if (now - lastSliceTime > COMBO_TIMEOUT && combo > 0) {
+            combo = 0;
+        }
+
+        // Spawn fruits
+        if (now - lastFruitSpawn > currentSpawnDelay) {
+            spawnFruit();
+            lastFruitSpawn = now;
+        }
+
+        // Only segments drawn since the last frame take part in this frame's collisions
+        swipe.beginCollisionFrame();
+
+        Iterator<Fruit> iterator = fruits.iterator();
+        while (iterator.hasNext()) {
+            Fruit fruit = iterator.next();
+            fruit.update();
+
+            // Remove fruits that fall off screen
+            if (fruit.y > screenHeight + 100) {
+                // Only penalize for missing GOOD fruits (not bombs or broccoli)
+                if (!fruit.isBomb() && !fruit.isPenaltyItem() && !fruit.isSliced()) {
+                    lives--;
+                    combo = 0;
+                    if (lives <= 0 && gameMode == GameMode.CLASSIC) {
+                        endGame();
+                    }
+                }
+                iterator.remove();
+                continue;
+            }
+
+            if (!fruit.isSliced() && swipe.intersectsSwept(fruit.getPrevX(), fruit.getPrevY(),
+                    fruit.x, fruit.y, fruit.getRadius())) {
+                onSwipeHit(fruit, now);
+            }
+
+            // Remove sliced fruits after animation
+            if (fruit.isSliced() && fruit.sliceAnimationComplete()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void onSwipeHit(Fruit fruit, long now) {
+        if (!fruit.onSwipeHit(now)) {
+            // Coconut was hit but not fully sliced yet
+            if (listener != null) listener.onFruitCracked(fruit);
+            return;
+        }
+
+        fruit.slice();
+        if (listener != null) listener.onFruitSliced(fruit);
+
+        if (fruit.isBomb()) {
+            // Hit a bomb - game over in classic, lose points in arcade
+            if (gameMode == GameMode.CLASSIC) {
+                endGame();
+            } else {
+                score = Math.max(0, score - 20);
+            }
+            combo = 0;
+
+        } else if (fruit.getType() == Fruit.FruitType.GOLDEN_APPLE) {
+            doublePoints = true;
+            doublePointsStartTime = now;
+
+        } else if (fruit.isPenaltyItem()) {
+            // Hit broccoli - Classic loses a life, Arcade loses points
+            if (gameMode == GameMode.CLASSIC) {
+                lives--;
+                if (lives <= 0) {
+                    endGame();
+                }
+            } else {
+                score = Math.max(0, score - 15);
+            }
+            combo = 0;
+
+        } else {
+            // Regular fruit or fully sliced coconut
+            combo++;
+            if (combo > maxCombo) maxCombo = combo;
+            lastSliceTime = now;
+
+            int points = fruit.getPoints();
+            if (combo > 1) {
+                points += combo; // Bonus points for combo
+            }
+            score += points;
+        }
+    }
+
+    private void endGame() {
+        if (over) return;
+        over = true;
+        doublePoints = false;
+        if (listener != null) listener.onGameOver();
+    }
+
+    /**
+     * Classic: difficulty increases with score. Arcade: with time elapsed.
+     */
+    private void updateDifficulty(long now) {
+        switch (gameMode) {
+            case CLASSIC:
+                //0 points: multiplier = 1.0
+                //25 points: multiplier = 1.5
+                //50 points: multiplier = 2.0
+                difficultyMultiplier = 1.0f + (score / 50.0f);
+                break;
+
+            case ARCADE:
+                //30 seconds: multiplier = 2.0, capped at 3.0
+                float secondsElapsed = (now - gameStartTime) / 1000f;
+                difficultyMultiplier = 1.0f + Math.min(secondsElapsed / 30f, 2.0f);
+                break;
+        }
+
+        //as multiplier increase, delay decreases and speed increases
+        currentSpawnDelay = Math.max(BASE_SPAWN_DELAY / difficultyMultiplier, MIN_SPAWN_DELAY);
+        currentFruitSpeed = Math.min(BASE_FRUIT_SPEED + (difficultyMultiplier - 1.0f) * 10f, MAX_FRUIT_SPEED);
+    }
+
+    private void spawnFruit() {
+        if (screenWidth == 0 || screenHeight == 0) return;
+
+        int x, startY;
+        float velocityX, velocityY;
+
+        // ===== RANDOM SPAWN LOCATIONS (4 types) =====
+        switch (random.nextInt(4)) {
+            case 0: // Spawn from BOTTOM
+                x = random.nextInt(screenWidth - 100) + 50;
+                startY = screenHeight + 50;
+                velocityX = random.nextFloat() * 6 - 3;
+                velocityY = -currentFruitSpeed - random.nextFloat() * 15;
+                break;
+
+            case 1: // Spawn from LEFT
+                x = -50;
+                startY = screenHeight / 2 + random.nextInt(screenHeight / 3);
+                velocityX = 10 + random.nextFloat() * 8;
+                velocityY = -15 - random.nextFloat() * 10;
+                break;
+
+            case 2: // Spawn from RIGHT
+                x = screenWidth + 50;
+                startY = screenHeight / 2 + random.nextInt(screenHeight / 3);
+                velocityX = -10 - random.nextFloat() * 8;
+                velocityY = -15 - random.nextFloat() * 10;
+                break;
+
+            default: // Spawn from TOP (drop down)
+                x = random.nextInt(screenWidth - 100) + 50;
+                startY = -50;
+                velocityX = random.nextFloat() * 10 - 5;
+                velocityY = 5 + random.nextFloat() * 5;
+                break;
+        }
+
+        // ===== ITEM CHOICE =====
+        Fruit.FruitType type;
+        boolean spawnBomb = random.nextFloat() < (gameMode == GameMode.CLASSIC ? 0.15 : 0.10);
+
+        if (spawnBomb) {
+            type = Fruit.FruitType.BOMB;
+        } else if (gameMode == GameMode.ARCADE && random.nextInt(100) < 6) {
+            // 6% chance - GOLDEN APPLE (Arcade only!)
+            type = Fruit.FruitType.GOLDEN_APPLE;
+        } else if (random.nextInt(100) < 15) {
+            type = Fruit.FruitType.BROCCOLI;
+        } else if (gameMode == GameMode.ARCADE && random.nextFloat() < 0.10) {
+            // 10% of regular Arcade fruit are bananas
+            type = Fruit.FruitType.BANANA;
+        } else {
+            type = REGULAR_TYPES[random.nextInt(REGULAR_TYPES.length)];
+        }
+
+        fruits.add(new Fruit(x, startY, velocityX, velocityY, Fruit.colorFor(type), type));
+    }
+
+    /**
+     * Recent swipe points. Touch input appends to it; collisions read from it.
+     */
+    SwipeTrail getSwipeTrail() {
+        return swipe;
+    }
+
+    List<Fruit> getFruits() {
+        return fruits;
+    }
+
+    GameMode getGameMode() {
+        return gameMode;
+    }
+
+    boolean isOver() {
+        return over;
+    }
+
+    int getScore() {
+        return score;
+    }
+
+    int getLives() {
+        return lives;
+    }
+
+    int getCombo() {
+        return combo;
+    }
+
+    int getMaxCombo() {
+        return maxCombo;
+    }
+
+    /**
+     * @return Arcade time left in ms as of the last update (0 in Classic).
+     */
+    long getTimeRemaining() {
+        return timeRemaining;
+    }
+
+    float getDifficultyMultiplier() {
+        return difficultyMultiplier;
+    }
+
+    boolean isDoublePoints() {
+        return doublePoints;
+    }
+
+    /**
+     * @return Milliseconds of double points left, or 0 if inactive.
+     */
+    long getDoublePointsRemaining() {
+        if (!doublePoints) return 0;
+        return Math.max(0, DOUBLE_POINTS_DURATION - (clock.now() - doublePointsStartTime));
+    }
+}
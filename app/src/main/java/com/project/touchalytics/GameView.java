@@ -6,16 +6,9 @@ import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.RectF;
-import android.media.AudioAttributes;
-import android.media.AudioManager;
-import android.media.MediaPlayer;
-import android.media.SoundPool;
-import android.os.Build;
 import android.view.MotionEvent;
 import android.view.SurfaceHolder;
 import android.view.SurfaceView;
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.Random;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
@@ -30,12 +23,16 @@ public class  GameView extends SurfaceView implements Runnable {
     private static final String TAG = "FruitNinja";
     private Thread gameThread;
     private SurfaceHolder holder;
+    private RenderBackend renderer;
+    private boolean rendererVerified = false;  // backend has posted at least one frame
+    private int rendererFailures = 0;          // consecutive lock failures before that
+    private static final int MAX_RENDERER_FAILURES = 5;
     private volatile boolean isPlaying;
     private Canvas canvas;
     private Paint paint;
 
-    // Game objects
-    private ArrayList<Fruit> fruits;
+    // Game objects (rules live in the simulation; this view draws and plays sounds)
+    private GameSimulation simulation;
     private SwipePath swipePath;
     private Random random;
     private Splatter splatter;
@@ -54,38 +51,11 @@ public class  GameView extends SurfaceView implements Runnable {
     private GameState gameState;
     private GameMode gameMode;
 
-    // Game variables
-    private int score;
-    private int lives;
-    private int combo;
-    private int maxCombo;
-    private long lastSliceTime;
-    private long comboTimeout = 1000; // 1 second to maintain combo (lessen it???)
-    private float speedMultiplier = 1.0f; //speed increase
-
-
-    // Dynamic difficulty variables
-    private float baseSpawnDelay = 1000f;  // Starting spawn delay in ms
-    private float currentSpawnDelay;       // Current adjusted spawn delay
-    private float minSpawnDelay = 300f;    // Minimum spawn delay (maximum difficulty)
-    private float baseFruitSpeed = 25f;    // Starting upward velocity
-    private float currentFruitSpeed;       // Current adjusted fruit speed
-    private float maxFruitSpeed = 40f;     // Maximum fruit speed
-    private float difficultyMultiplier = 1.0f;  // Overall difficulty scale
-
-    // Spawn control
-    private long lastFruitSpawn;
-    private int spawnDelay = 1000;
-
-    // Arcade mode timer
-    private long gameStartTime = System.currentTimeMillis();
-    private long gameDuration = 60000; // 60 seconds for arcade
-    private long timeRemaining;
-
     // High scores
     private SharedPreferences prefs;
     private int highScoreClassic;
     private int highScoreArcade;
+    private boolean isNewHighScore;
 
     // FPS
     private long fps;
@@ -103,38 +73,30 @@ public class  GameView extends SurfaceView implements Runnable {
     private Bitmap bgImage;
     private Rect bgRect;
 
+    // Pre-composed background + MENU or GAME_OVER screen, blitted once per frame
+    private Bitmap staticLayer;
+    private Canvas staticLayerCanvas;
+    private GameState staticLayerState;      // state the layer was rendered for, null if stale
+    private boolean staticFramePosted = false;  // layer already on screen, nothing to redraw
+
     private float rainbowHue = 0f;
 
-    // Sound effects
-    private SoundPool soundPool;
-    private int sliceSound1;
-    private int sliceSound2;
-    private int sliceSound3;
-    private int bombSound;
-    private int crackSound;
-    private int penaltySound;
-
-    // Background music
-    private MediaPlayer backgroundMusic;
-    private MediaPlayer menuMusic;
-    private MediaPlayer arcadeMusic;
-    private MediaPlayer gameOverMusic;
+    // Sound effects and music, played on the audio engine's own thread
+    private AudioEngine audio;
 
     // Audio control
     private boolean soundEnabled = true;
     private boolean musicEnabled = true;
     private boolean menuMusicStarted = false;
 
-    // Golden Apple powerup (Arcade only)
-    private boolean isDoublePoints = false;
-    private long doublePointsStartTime;
-    private int doublePointsDuration = 5000;  // 5 seconds
-
     // Custom fonts
     private Typeface titleFont;    // For big text like "FRUIT NINJA"
     private Typeface gameFont;     // For gameplay text like scores
     private Typeface buttonFont;   // For buttons
 
+    // HUD text renderer
+    private HudRenderer hud;
+
 // Context field is already declared:
 // private Context context;
 
@@ -154,11 +116,13 @@ public class  GameView extends SurfaceView implements Runnable {
     // Put all your old constructor logic in here
     private void init(Context context) {
         holder = getHolder();
+        renderer = RenderBackend.select(holder);
         paint = new Paint();
         paint.setAntiAlias(true);
-        fruits = new ArrayList<>();
-        swipePath = new SwipePath();
         random = new Random();
+        simulation = new GameSimulation(GameSimulation.SYSTEM_CLOCK, new Random());
+        simulation.setListener(simulationListener);
+        swipePath = new SwipePath(simulation.getSwipeTrail());
         splatter = new Splatter();
 
         // Load custom fonts
@@ -170,15 +134,14 @@ public class  GameView extends SurfaceView implements Runnable {
             e.printStackTrace();
             // Fonts will fall back to default if loading fails
         }
+        hud = new HudRenderer(gameFont, titleFont);
+        hud.setBackendName(renderer.name());
 
-        Fruit.setContext(context);
-
-        //initialize difficulty variables
-        resetDifficulty();
+        // Build the pre-scaled fruit sprite atlas before the first spawn
+        FruitSprites.load(context.getResources());
 
-        //initialize sound system
-        intializeSounds(context);
-        initializeMusic(context);
+        //initialize sound system (loads asynchronously)
+        audio = new AudioEngine(context);
 
         // Load high scores
         try {
@@ -214,78 +177,11 @@ public class  GameView extends SurfaceView implements Runnable {
 
 
     private void resetGame() {
-        fruits.clear();
         splatter.clear();
         swipePath.clear();
+        simulation.reset(gameMode);
 
         System.gc(); // Optimization
-
-        score = 0;
-        lives = 3;
-        combo = 0;
-        maxCombo = 0;
-        lastFruitSpawn = System.currentTimeMillis();
-        lastSliceTime = System.currentTimeMillis();
-
-        if (gameMode == GameMode.ARCADE) {
-            gameStartTime = System.currentTimeMillis();
-            spawnDelay = 500; // Faster spawning
-        } else {
-            spawnDelay = 1000;
-        }
-
-        resetDifficulty();
-    }
-
-    /**
-     * Resets difficulty settings to base values
-     */
-    private void resetDifficulty() {
-        currentSpawnDelay = baseSpawnDelay;
-        currentFruitSpeed = baseFruitSpeed;
-        difficultyMultiplier = 1.0f;
-    }
-
-    /**
-     * Updates diffiuclty based on game progress
-     * Classic Mode: Difficulty Difficulty increases with score
-     * Arcade Mode: Difficulty increases with time elapsed
-     */
-    private void updateDifficulty() {
-        if (gameMode == null) return;
-
-        switch (gameMode) {
-            case CLASSIC:
-                //increase difficulty every 5 points
-                //0 points: multiplier = 1.0
-                //25 points: multiplier = 1.5
-                //50 points: multiplier = 2.0
-                difficultyMultiplier = 1.0f + (score / 50.0f);
-                break;
-
-            case ARCADE:
-                //increase difficulty based on time
-                //first 15 seconds: multiplier = 1.0
-                //30 seconds: multiplier = 1.5
-                //60 seconds: multiplier = 2.0
-                long elapseTime = System.currentTimeMillis() - gameStartTime;
-                float secondsElapsed = elapseTime / 1000f;
-                difficultyMultiplier = 1.0f + Math.min(secondsElapsed / 30f, 2.0f);
-                break;
-        }
-
-        //apply difficulty to spawn delay
-        //as multiplier increase, delay decreases
-        currentSpawnDelay = Math.max(baseSpawnDelay / difficultyMultiplier, minSpawnDelay);
-
-        //apply difficulty to fruit speed
-        //as multiplier increases, speed increases
-        currentFruitSpeed = Math.min(baseFruitSpeed + (difficultyMultiplier - 1.0f) * 10f, maxFruitSpeed);
-
-        // Apply difficulty to music speed
-        updateMusicSpeed();
-
-
     }
 
     private void loadbg() {
@@ -339,6 +235,7 @@ public class  GameView extends SurfaceView implements Runnable {
         if (screenWidth == 0 && getWidth() > 0 && getHeight() > 0) {
             screenWidth = getWidth();
             screenHeight = getHeight();
+            simulation.setScreenSize(screenWidth, screenHeight);
             initializeButtons();
             intializeBg();
         }
@@ -348,158 +245,68 @@ public class  GameView extends SurfaceView implements Runnable {
 
         splatter.update();
 
-        updateDifficulty();
-
-        // Update timer for Arcade mode
         if (gameMode == GameMode.ARCADE) {
             rainbowHue += 3f;  // Rotate through colors
             if (rainbowHue > 360) rainbowHue = 0;
-            timeRemaining = gameDuration - (System.currentTimeMillis() - gameStartTime);
-            if (timeRemaining <= 0) {
-                gameOver();
-                return;
-            }
         }
 
-        // Check if double points has expired
-        if (isDoublePoints) {  // ← ADD THIS
-            long elapsed = System.currentTimeMillis() - doublePointsStartTime;
-            if (elapsed >= doublePointsDuration) {
-                isDoublePoints = false;
-                Log.d(TAG, "Double points ended!");
-            }
-        }
-
-        // Check combo timeout
-        if (System.currentTimeMillis() - lastSliceTime > comboTimeout && combo > 0) {
-            combo = 0;
-        }
+        // Spawning, physics, collisions, scoring; effects come back through the listener
+        simulation.update();
 
-        // Spawn fruits
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastFruitSpawn > currentSpawnDelay) {
-            spawnFruit();
-            lastFruitSpawn = currentTime;
+        // Apply difficulty to music speed (unless that update ended the run)
+        if (gameState == GameState.PLAYING) {
+            updateMusicSpeed();
         }
+    }
 
-        // Update fruits
-        Iterator<Fruit> iterator = fruits.iterator();
-        while (iterator.hasNext()) {
-            Fruit fruit = iterator.next();
-            fruit.update();
-
-            // Remove fruits that fall off screen
-            if (fruit.y > screenHeight + 100) {
-                // Only penalize for missing GOOD fruits (not bombs or broccoli)
-                if (!fruit.isBomb() && !fruit.isPenaltyItem() && !fruit.isSliced()) {
-                    lives--; // Deduct life for missing a good fruit
-                    combo = 0; // Reset combo
-                    if (lives <= 0 && gameMode == GameMode.CLASSIC) {
-                        gameOver();
-                    }
-                }
-                iterator.remove();
-            }
-
-            // Check collision with swipe path
-            if (swipePath.intersects(fruit) && !fruit.isSliced()) {
-
-                // STEP 1: Call onSwipeHit() to check if fruit should be removed
-                boolean shouldRemove = fruit.onSwipeHit();
-
-                // STEP 2: Get splatter color (BEFORE any if/else blocks)
-                int splatterColor;
-                switch (fruit.getType()) {
-                    case APPLE:
-                        splatterColor = Color.rgb(220, 20, 60);  // red
-                        break;
-                    case COCONUT:
-                        splatterColor = Color.rgb(255, 255, 255); // white
-                        break;
-                    case BANANA:
-                        splatterColor = Color.rgb(255, 215, 0);  // yellow
-                        break;
-                    case STARFRUIT:
-                        splatterColor = Color.rgb(152, 251, 152);  // light green
-                        break;
-                    case BROCCOLI:
-                        splatterColor = Color.rgb(34, 139, 34);  // green
-                        break;
-                    case BOMB:
-                        splatterColor = Color.rgb(50, 50, 50);   // Dark smoke
-                        break;
-                    case GOLDEN_APPLE:
-                        splatterColor = Color.rgb(255, 215, 0);  // Golden
-                        break;
-                    default:
-                        splatterColor = Color.RED;
-                }
-
-                // STEP 3: Check if fruit should be fully sliced and removed
-                if (shouldRemove) {
-                    // Fully slice the fruit
-                    fruit.slice();
-                    splatter.createSplatter(fruit.x, fruit.y, splatterColor, 12);
-
-                    if (fruit.isBomb()) {
-                        playBombSound();
-                        // Hit a bomb - game over in classic, lose points in arcade
-                        if (gameMode == GameMode.CLASSIC) {
-                            gameOver();
-                        } else {
-                            score = Math.max(0, score - 20);
-                        }
-                        combo = 0;
-
-                    } else if (fruit.getType() == Fruit.FruitType.GOLDEN_APPLE) {  // ← ADD THIS
-                        // GOLDEN APPLE HIT - DOUBLE POINTS!
-                        playSliceSound();  // Or add special "cha-ching" sound
-                        isDoublePoints = true;
-                        doublePointsStartTime = System.currentTimeMillis();
-                        Log.d(TAG, " DOUBLE POINTS ACTIVATED!");
-
-                    } else if (fruit.isPenaltyItem()) {
-                        playPenaltySound();
-                        // Hit broccoli - penalty based on game mode
-                        if (gameMode == GameMode.CLASSIC) {
-                            // Classic: Lose a life
-                            lives--;
-                            if (lives <= 0) {
-                                gameOver();
-                            }
-                        } else {
-                            // Arcade: Lose points
-                            score = Math.max(0, score - 15);  // Lose 15 points (can't go below 0)
-                        }
-                        combo = 0;  // Break combo in both modes
-
-                    } else {
-                        // Hit a regular fruit or fully sliced coconut
-                        playSliceSound();
-                        combo++;
-                        if (combo > maxCombo) maxCombo = combo;
-                        lastSliceTime = System.currentTimeMillis();
-
-                        int points = fruit.getPoints();
-                        if (combo > 1) {
-                            points += combo; // Bonus points for combo
-                        }
-                        score += points;
-                    }
-
-                } else {
-                    // Coconut was hit but not fully sliced yet
-                    // Create smaller splatter for partial hit
-                    playCrackSound();
-                    splatter.createSplatter(fruit.x, fruit.y, splatterColor, 6);
-                    // Don't slice, don't remove, don't add points yet
-                }
-            }
+    private final GameSimulation.Listener simulationListener = new GameSimulation.Listener() {
+        @Override
+        public void onFruitSliced(Fruit fruit) {
+            splatter.createSplatter(fruit.x, fruit.y, splatterColorFor(fruit.getType()), 12);
 
-            // Remove sliced fruits after animation
-            if (fruit.isSliced() && fruit.sliceAnimationComplete()) {
-                iterator.remove();
-            }
+            if (fruit.isBomb()) {
+                playBombSound();
+            } else if (fruit.getType() == Fruit.FruitType.GOLDEN_APPLE) {
+                playSliceSound();  // Or add special "cha-ching" sound
+                Log.d(TAG, " DOUBLE POINTS ACTIVATED!");
+            } else if (fruit.isPenaltyItem()) {
+                playPenaltySound();
+            } else {
+                playSliceSound();
+            }
+        }
+
+        @Override
+        public void onFruitCracked(Fruit fruit) {
+            // Smaller splatter for a partial hit
+            playCrackSound();
+            splatter.createSplatter(fruit.x, fruit.y, splatterColorFor(fruit.getType()), 6);
+        }
+
+        @Override
+        public void onGameOver() {
+            gameOver();
+        }
+    };
+
+    private static int splatterColorFor(Fruit.FruitType type) {
+        switch (type) {
+            case APPLE:
+                return Color.rgb(220, 20, 60);  // red
+            case COCONUT:
+                return Color.rgb(255, 255, 255); // white
+            case BANANA:
+                return Color.rgb(255, 215, 0);  // yellow
+            case STARFRUIT:
+                return Color.rgb(152, 251, 152);  // light green
+            case BROCCOLI:
+                return Color.rgb(34, 139, 34);  // green
+            case BOMB:
+                return Color.rgb(50, 50, 50);   // Dark smoke
+            case GOLDEN_APPLE:
+                return Color.rgb(255, 215, 0);  // Golden
+            default:
+                return Color.RED;
         }
     }
 
@@ -524,43 +331,41 @@ public class  GameView extends SurfaceView implements Runnable {
     private void draw() {
         if (!holder.getSurface().isValid()) return;
 
+        GameState state = gameState;  // may be changed by the UI thread mid-frame
+        boolean staticScreen = screenWidth != 0
+                && (state == GameState.MENU || state == GameState.GAME_OVER);
+
+        if (staticScreen && state == GameState.MENU && !menuMusicStarted) {
+            startMenuMusic();
+            menuMusicStarted = true;
+        }
+
+        // A static screen that is already posted stays on the display as is
+        if (staticScreen && staticFramePosted && staticLayerState == state) return;
+
+        canvas = null;
         try {
-            canvas = holder.lockCanvas();
+            canvas = lockFrameCanvas();
             if (canvas == null) return;
 
-            // Draw background
-            if (bgImage != null) {
-                canvas.drawBitmap(bgImage, 0, 0, paint);
-            } else {
-                canvas.drawColor(Color.rgb(135, 206, 235));
-            }
-
             // Show loading if not initialized
             if (screenWidth == 0) {
+                drawBackground(canvas);
                 paint.setColor(Color.WHITE);
                 paint.setTextSize(60);
                 paint.setTextAlign(Paint.Align.CENTER);
                 canvas.drawText("Loading...", canvas.getWidth() / 2f, canvas.getHeight() / 2f, paint);
+            } else if (staticScreen) {
+                staticFramePosted = drawStaticLayer(canvas, state);
             } else {
-                switch (gameState) {
-                    case MENU:
-                        drawMenu();
-                        if (!menuMusicStarted) {
-                            startMenuMusic();
-                            menuMusicStarted = true;
-                        }
-                        break;
-                    case PLAYING:
-                        drawGame();
-                        drawRainbowEffect(canvas);
-                        // Draw double points effect
-                        if (isDoublePoints) {  // ← ADD THIS
-                            drawDoublePointsEffect(canvas);
-                        }
-                        break;
-                    case GAME_OVER:
-                        drawGameOver();
-                        break;
+                drawBackground(canvas);
+                if (state == GameState.PLAYING) {
+                    drawGame();
+                    drawRainbowEffect(canvas);
+                    // Draw double points effect
+                    if (simulation.isDoublePoints()) {
+                        drawDoublePointsEffect(canvas);
+                    }
                 }
             }
 
@@ -568,12 +373,98 @@ public class  GameView extends SurfaceView implements Runnable {
             e.printStackTrace();
         } finally {
             if (canvas != null) {
-                holder.unlockCanvasAndPost(canvas);
+                renderer.unlockCanvasAndPost(canvas);
+                rendererVerified = true;
+            }
+        }
+    }
+
+    /**
+     * Locks this frame's canvas from the render backend. If the hardware canvas keeps
+     * being refused (MAX_RENDERER_FAILURES frames in a row) before it ever posted a
+     * frame, switches to software rendering for good; a single failure only skips the frame.
+     */
+    private Canvas lockFrameCanvas() {
+        try {
+            Canvas locked = renderer.lockCanvas();
+            if (locked != null) rendererFailures = 0;
+            return locked;
+        } catch (RuntimeException e) {
+            if (rendererVerified || renderer instanceof SoftwareCanvasBackend) throw e;
+
+            if (++rendererFailures < MAX_RENDERER_FAILURES) {
+                Log.w(TAG, "Hardware canvas refused (" + rendererFailures + "), skipping frame", e);
+                return null;
             }
+            Log.e(TAG, "Hardware canvas unavailable, falling back to software", e);
+            renderer = new SoftwareCanvasBackend(holder);
+            hud.setBackendName(renderer.name());
+            return renderer.lockCanvas();
         }
     }
 
-    private void drawMenu() {
+    private void drawBackground(Canvas canvas) {
+        if (bgImage != null) {
+            canvas.drawBitmap(bgImage, 0, 0, paint);
+        } else {
+            canvas.drawColor(Color.rgb(135, 206, 235));
+        }
+    }
+
+    /**
+     * Blits the cached MENU / GAME_OVER screen, rendering it first if it was built
+     * for another state or invalidated. Falls back to drawing directly if the
+     * layer bitmap can't be allocated.
+     * @return True if the frame came from the cache.
+     */
+    private boolean drawStaticLayer(Canvas canvas, GameState state) {
+        if (staticLayerState != state) {
+            try {
+                if (staticLayer == null) {
+                    staticLayer = Bitmap.createBitmap(screenWidth, screenHeight, Bitmap.Config.ARGB_8888);
+                    staticLayerCanvas = new Canvas(staticLayer);
+                }
+                drawStaticScreen(staticLayerCanvas, state);
+                staticLayerState = state;
+            } catch (Exception | OutOfMemoryError e) {
+                Log.e(TAG, "Static layer unavailable, drawing directly", e);
+                releaseStaticLayer();
+                drawStaticScreen(canvas, state);
+                return false;
+            }
+        }
+        canvas.drawBitmap(staticLayer, 0, 0, null);
+        return true;
+    }
+
+    private void drawStaticScreen(Canvas canvas, GameState state) {
+        drawBackground(canvas);
+        if (state == GameState.MENU) {
+            drawMenu(canvas);
+        } else {
+            drawGameOver(canvas);
+        }
+    }
+
+    /**
+     * Forces the MENU / GAME_OVER layer to be re-rendered on its next use.
+     * Call when anything it shows (scores, frozen fruits) changes.
+     */
+    private void invalidateStaticLayer() {
+        staticLayerState = null;
+        staticFramePosted = false;
+    }
+
+    private void releaseStaticLayer() {
+        if (staticLayer != null) {
+            staticLayer.recycle();
+            staticLayer = null;
+        }
+        staticLayerCanvas = null;
+        invalidateStaticLayer();
+    }
+
+    private void drawMenu(Canvas canvas) {
         // ===== DRAW LOGO =====
         if (logo != null) {
             int logoWidth = screenWidth / 2 + 150;
@@ -654,50 +545,21 @@ public class  GameView extends SurfaceView implements Runnable {
 
     private void drawGame() {
         // Draw fruits
-        for (Fruit fruit : fruits) {
+        for (Fruit fruit : simulation.getFruits()) {
             fruit.draw(canvas, paint);
         }
         splatter.draw(canvas, paint);
         swipePath.draw(canvas, paint);
 
-        // Draw HUD with custom font
-        if (gameFont != null) paint.setTypeface(gameFont);
-        paint.setColor(Color.WHITE);
-        paint.setTextSize(60);
-        paint.setTextAlign(Paint.Align.LEFT);
-        canvas.drawText("Score: " + score, 50, 100, paint);
-
-        if (gameMode == GameMode.CLASSIC) {
-            canvas.drawText("Lives: " + lives, 50, 200, paint);
-        } else {
-            int secondsLeft = (int) (timeRemaining / 1000);
-            canvas.drawText("Time: " + secondsLeft + "s", 50, 200, paint);
-        }
-
-        // Draw combo with title font for dramatic effect
-        if (combo > 1) {
-            if (titleFont != null) paint.setTypeface(titleFont);
-            paint.setTextSize(80);
-            paint.setColor(Color.YELLOW);
-            paint.setTextAlign(Paint.Align.CENTER);
-            canvas.drawText("COMBO x" + combo + "!", screenWidth / 2f, 150, paint);
-        }
-
-        // Draw FPS
-        if (gameFont != null) paint.setTypeface(gameFont);
-        paint.setColor(Color.WHITE);
-        paint.setTextSize(40);
-        paint.setTextAlign(Paint.Align.LEFT);
-        canvas.drawText("FPS: " + fps, 50, screenHeight - 50, paint);
-
-        // Reset to defaults
-        paint.setTypeface(Typeface.DEFAULT);
-        paint.setTextAlign(Paint.Align.LEFT);
+        // Draw HUD (cached paints and text, no per-frame strings)
+        hud.draw(canvas, screenWidth, screenHeight, gameMode,
+                simulation.getScore(), simulation.getLives(), simulation.getTimeRemaining(),
+                simulation.getCombo(), fps);
     }
 
-    private void drawGameOver() {
+    private void drawGameOver(Canvas canvas) {
         // Draw final fruits (fading out)
-        for (Fruit fruit : fruits) {
+        for (Fruit fruit : simulation.getFruits()) {
             fruit.draw(canvas, paint);
         }
 
@@ -716,31 +578,17 @@ public class  GameView extends SurfaceView implements Runnable {
         if (gameFont != null) paint.setTypeface(gameFont);
         paint.setColor(Color.WHITE);
         paint.setTextSize(70);
-        canvas.drawText("Final Score: " + score, screenWidth / 2f, screenHeight / 3f + 100, paint);
+        canvas.drawText("Final Score: " + simulation.getScore(), screenWidth / 2f, screenHeight / 3f + 100, paint);
 
         // Max combo
+        int maxCombo = simulation.getMaxCombo();
         if (maxCombo > 1) {
             paint.setTextSize(50);
             canvas.drawText("Best Combo: x" + maxCombo, screenWidth / 2f, screenHeight / 3f + 180, paint);
         }
 
         // High score notification
-        boolean isHighScore = false;
-        if (gameMode == GameMode.CLASSIC && score > highScoreClassic) {
-            isHighScore = true;
-            highScoreClassic = score;
-            if (prefs != null) {
-                prefs.edit().putInt("highScoreClassic", highScoreClassic).apply();
-            }
-        } else if (gameMode == GameMode.ARCADE && score > highScoreArcade) {
-            isHighScore = true;
-            highScoreArcade = score;
-            if (prefs != null) {
-                prefs.edit().putInt("highScoreArcade", highScoreArcade).apply();
-            }
-        }
-
-        if (isHighScore) {
+        if (isNewHighScore) {
             if (titleFont != null) paint.setTypeface(titleFont);
             paint.setColor(Color.YELLOW);
             paint.setTextSize(60);
@@ -810,238 +658,94 @@ public class  GameView extends SurfaceView implements Runnable {
     }
 
 
-    /**
-     * Initializes the SoundPool for sound effects
-     */
-    private void intializeSounds(Context context) {
-        // Create SoundPool
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-            AudioAttributes audioAttributes = new AudioAttributes.Builder()
-                    .setUsage(AudioAttributes.USAGE_GAME).setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
-                    .build();
-
-            soundPool = new SoundPool.Builder()
-                    .setMaxStreams(5)
-                    .setAudioAttributes(audioAttributes)
-                    .build();
-        } else {
-            //Fallback for older Android versions
-            soundPool = new SoundPool(5, AudioManager.STREAM_MUSIC, 0);
-        }
-
-        // Load sound effects
-        try {
-            sliceSound1 = soundPool.load(context, R.raw.slice1, 1);
-            sliceSound2 = soundPool.load(context, R.raw.slice2, 1);
-            sliceSound3 = soundPool.load(context, R.raw.slice3, 1);
-            bombSound = soundPool.load(context, R.raw.explosion, 1);
-            crackSound = soundPool.load(context, R.raw.crack, 1);
-            penaltySound = soundPool.load(context, R.raw.penalty, 1);
-        } catch (Exception e) {
-            e.printStackTrace();
-            // Sounds fail to load, game will continue without sound
-        }
-    }
-
-    /**
-     * Initializes background music
-     */
-    private void initializeMusic(Context context) {
-        try {
-            //Load classic mode music
-            backgroundMusic = MediaPlayer.create(context, R.raw.game_music);
-            if (backgroundMusic != null) {
-                backgroundMusic.setLooping(true);
-                backgroundMusic.setVolume(.60f, .60f);
-                Log.d(TAG, "✓ Classic music loaded!");
-            }
-
-            //Load arcade mode music
-            arcadeMusic = MediaPlayer.create(context, R.raw.arcade_music);
-            if (arcadeMusic != null) {
-                arcadeMusic.setLooping(true);
-                arcadeMusic.setVolume(1.0f, 1.0f);
-                Log.d(TAG, "✓ Arcade music loaded!");
-            }
-
-            //Load menu music
-            menuMusic = MediaPlayer.create(context, R.raw.menu_music);
-            if (menuMusic != null) {
-                menuMusic.setLooping(true);
-                menuMusic.setVolume(.50f, .50f);
-                Log.d(TAG, "✓ Menu music loaded!");
-            }
-
-            //Load game over music
-            gameOverMusic = MediaPlayer.create(context, R.raw.game_over);  // ← ADD THIS
-            if (gameOverMusic != null) {
-                gameOverMusic.setLooping(false);  // Don't loop - play once
-                gameOverMusic.setVolume(1.0f, 1.0f);
-                Log.d(TAG, "✓ Game over music loaded!");
-            } else {
-                Log.e(TAG, "✗ Game over music is NULL");
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "✗ Music loading failed!", e);
-        }
-    }
-
     /**
      * Plays a random slice sound
      */
     private void playSliceSound() {
-        if (!soundEnabled || soundPool == null) return;
+        if (!soundEnabled || audio == null) return;
 
         //randomly choose one of the three slice sounds
-        int soundId;
+        int sound;
         int randomChoice = random.nextInt(3);
 
         switch (randomChoice) {
             case 0:
-                soundId = sliceSound1;
+                sound = AudioEngine.SFX_SLICE_1;
                 break;
             case 1:
-                soundId = sliceSound2;
+                sound = AudioEngine.SFX_SLICE_2;
                 break;
             default:
-                soundId = sliceSound3;
+                sound = AudioEngine.SFX_SLICE_3;
                 break;
 
         }
 
-        soundPool.play(soundId, 1.0f, 1.0f, 1, 0, 1.0f);
+        audio.playSound(sound);
     }
 
     /**
      * Plays crack sound (for partial hits)
      */
     private void playCrackSound() {
-        if (!soundEnabled || soundPool == null) return;
-        soundPool.play(crackSound, 0.8f, 0.8f, 1, 0, 1.0f);
+        if (!soundEnabled || audio == null) return;
+        audio.playSound(AudioEngine.SFX_CRACK);
     }
 
     /**
      * plays penalty sound
      */
     private void playPenaltySound() {
-        if (!soundEnabled || soundPool == null) return;
-        soundPool.play(penaltySound, 1.0f, 1.0f, 1, 0, 1.0f);
+        if (!soundEnabled || audio == null) return;
+        audio.playSound(AudioEngine.SFX_PENALTY);
     }
 
     /**
      * plays bomb explosion sound
      */
     private void playBombSound() {
-        if (!soundEnabled || soundPool == null) return;
-        soundPool.play(bombSound, 1.0f, 1.0f, 1, 0, 1.0f);
+        if (!soundEnabled || audio == null) return;
+        audio.playSound(AudioEngine.SFX_BOMB);
     }
 
     /**
      * starts new music
      */
     private void startMenuMusic() {
-        if (!musicEnabled) {
+        if (!musicEnabled || audio == null) {
             Log.d(TAG, "Music disabled");
             return;
         }
 
-        // Stop ALL music first
-        stopAllGameMusic();
-
-        if (menuMusic != null && !menuMusic.isPlaying()) {
-            menuMusic.start();
-            Log.d(TAG, "✓ Menu music started!");
-        } else {
-            Log.e(TAG, "✗ Menu music failed - null or already playing");
-        }
+        // Stops every other track first
+        audio.playMusic(AudioEngine.TRACK_MENU);
     }
 
     private void startGameMusic() {
-        Log.d(TAG, "=== startGameMusic() called ===");
-        Log.d(TAG, "Current gameMode: " + gameMode);
-        Log.d(TAG, "musicEnabled: " + musicEnabled);
+        Log.d(TAG, "startGameMusic() mode=" + gameMode + " musicEnabled=" + musicEnabled);
 
-        if (!musicEnabled) {
-            Log.d(TAG, "Music disabled - returning");
+        if (!musicEnabled || audio == null) {
             return;
         }
 
-        // Stop ALL music first
-        Log.d(TAG, "Stopping all music...");
-        stopMenuMusic();
-        stopAllGameMusic();
-
-        resetMusicSpeed();
-
-        // Start ONLY the correct music based on mode
+        // Start ONLY the correct music based on mode; the engine stops the rest
+        // and resets the tempo to 1.0x once the track is playing
         if (gameMode == GameMode.ARCADE) {
-            Log.d(TAG, "Should start ARCADE music only");
-
-            // Make sure classic music is NOT playing
-            if (backgroundMusic != null && backgroundMusic.isPlaying()) {
-                backgroundMusic.pause();
-                Log.d(TAG, "Stopped classic music");
-            }
-
-            // Start arcade music
-            if (arcadeMusic != null) {
-                arcadeMusic.start();
-                Log.d(TAG, "✓ Arcade music started!");
-            } else {
-                Log.e(TAG, "✗ Arcade music is NULL!");
-            }
-
+            audio.playMusic(AudioEngine.TRACK_ARCADE);
         } else if (gameMode == GameMode.CLASSIC) {
-            Log.d(TAG, "Should start CLASSIC music only");
-
-            // Make sure arcade music is NOT playing
-            if (arcadeMusic != null && arcadeMusic.isPlaying()) {
-                arcadeMusic.pause();
-                Log.d(TAG, "Stopped arcade music");
-            }
-
-            // Start classic music
-            if (backgroundMusic != null) {
-                backgroundMusic.start();
-                Log.d(TAG, "✓ Classic music started!");
-            } else {
-                Log.e(TAG, "✗ Classic music is NULL!");
-            }
-
+            audio.playMusic(AudioEngine.TRACK_CLASSIC);
         } else {
             Log.e(TAG, "✗ Unknown game mode: " + gameMode);
         }
-
-        Log.d(TAG, "=== startGameMusic() complete ===");
     }
 
     /**
-     * stops all game music (both classic and arcade) - FORCE STOP
+     * stops all game music (both classic and arcade)
      */
     private void stopAllGameMusic() {
-        try {
-            if (backgroundMusic != null) {
-                if (backgroundMusic.isPlaying()) {
-                    backgroundMusic.stop();
-                    backgroundMusic.prepare();  // Prepare it for next start
-                    Log.d(TAG, "Classic music STOPPED");
-                }
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error stopping classic music", e);
-        }
-
-        try {
-            if (arcadeMusic != null) {
-                if (arcadeMusic.isPlaying()) {
-                    arcadeMusic.stop();
-                    arcadeMusic.prepare();  // Prepare it for next start
-                    Log.d(TAG, "Arcade music STOPPED");
-                }
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error stopping arcade music", e);
-        }
+        if (audio == null) return;
+        audio.stopMusic(AudioEngine.TRACK_CLASSIC);
+        audio.stopMusic(AudioEngine.TRACK_ARCADE);
     }
 
 
@@ -1050,30 +754,16 @@ public class  GameView extends SurfaceView implements Runnable {
     }
 
     private void stopMenuMusic() {
-        if (menuMusic != null) {
-            if (menuMusic.isPlaying()) {
-                menuMusic.pause();
-                menuMusic.seekTo(0);
-            }
-            Log.d(TAG, "Menu music stopped");
-        }
+        if (audio == null) return;
+        audio.stopMusic(AudioEngine.TRACK_MENU);
     }
 
     /**
      * pause all music
      */
     public void pauseAllMusic() {
-        if (backgroundMusic != null && backgroundMusic.isPlaying()) {
-            backgroundMusic.pause();
-        }
-        if (arcadeMusic != null && arcadeMusic.isPlaying()) {  // ← ADD THIS
-            arcadeMusic.pause();
-        }
-        if (menuMusic != null && menuMusic.isPlaying()) {
-            menuMusic.pause();
-        }
-        if (gameOverMusic != null && gameOverMusic.isPlaying()) {  // ← ADD THIS
-            gameOverMusic.pause();
+        if (audio != null) {
+            audio.pauseMusic();
         }
     }
 
@@ -1081,143 +771,55 @@ public class  GameView extends SurfaceView implements Runnable {
      * resumes music based on game state
      */
     public void resumeMusic() {
-        if (!musicEnabled) return;
+        if (!musicEnabled || audio == null) return;
 
         if (gameState == GameState.PLAYING) {
-            if (gameMode == GameMode.ARCADE) {
-                // Resume arcade music
-                if (arcadeMusic != null && !arcadeMusic.isPlaying()) {
-                    arcadeMusic.start();
-                }
-            } else {
-                // Resume classic music
-                if (backgroundMusic != null && !backgroundMusic.isPlaying()) {
-                    backgroundMusic.start();
-                }
-            }
+            audio.resumeMusic(gameMode == GameMode.ARCADE
+                    ? AudioEngine.TRACK_ARCADE : AudioEngine.TRACK_CLASSIC);
         } else if (gameState == GameState.MENU) {
-            if (menuMusic != null && !menuMusic.isPlaying()) {
-                menuMusic.start();
-            }
+            audio.resumeMusic(AudioEngine.TRACK_MENU);
         }
     }
 
 
-    private void spawnFruit() {
-        if (screenWidth == 0 || screenHeight == 0) return;
-
-        int x, startY;
-        float velocityX, velocityY;
-
-        // ===== RANDOM SPAWN LOCATIONS (4 types) =====
-        int spawnType = random.nextInt(4);
-
-        switch (spawnType) {
-            case 0: // Spawn from BOTTOM
-                x = random.nextInt(screenWidth - 100) + 50;
-                startY = screenHeight + 50;
-                velocityX = random.nextFloat() * 6 - 3;
-                velocityY = -currentFruitSpeed - random.nextFloat() * 15;
-                break;
-
-            case 1: // Spawn from LEFT
-                x = -50;
-                startY = screenHeight / 2 + random.nextInt(screenHeight / 3);
-                velocityX = 10 + random.nextFloat() * 8;
-                velocityY = -15 - random.nextFloat() * 10;
-                break;
-
-            case 2: // Spawn from RIGHT
-                x = screenWidth + 50;
-                startY = screenHeight / 2 + random.nextInt(screenHeight / 3);
-                velocityX = -10 - random.nextFloat() * 8;
-                velocityY = -15 - random.nextFloat() * 10;
-                break;
-
-            case 3: // Spawn from TOP (drop down)
-                x = random.nextInt(screenWidth - 100) + 50;
-                startY = -50;
-                velocityX = random.nextFloat() * 10 - 5;
-                velocityY = 5 + random.nextFloat() * 5;
-                break;
-
-            default:
-                x = random.nextInt(screenWidth - 100) + 50;
-                startY = screenHeight + 50;
-                velocityX = random.nextFloat() * 6 - 3;
-                velocityY = -25 - random.nextFloat() * 15;
-                break;
-        }
-
-        // ===== BOMB SPAWN LOGIC =====
-        boolean spawnBomb = false;
-        if (gameMode == GameMode.CLASSIC) {
-            spawnBomb = random.nextFloat() < 0.15;
-        } else {
-            spawnBomb = random.nextFloat() < 0.10;
-        }
-
-        if (spawnBomb) {
-            fruits.add(new Fruit(x, startY, velocityX, velocityY, Color.BLACK, Fruit.FruitType.BOMB));
-        } else if (gameMode == GameMode.ARCADE && random.nextInt(100) < 6) {
-            // 6% chance - GOLDEN APPLE (Arcade only!)
-            fruits.add(new Fruit(x, startY, velocityX, velocityY, Color.rgb(255, 215, 0), Fruit.FruitType.GOLDEN_APPLE));
-        } else {
-            int itemChance = random.nextInt(100);
-
-            if (itemChance < 15) {
-                fruits.add(new Fruit(x, startY, velocityX, velocityY, Color.rgb(34, 139, 34), Fruit.FruitType.BROCCOLI));
-            } else {
-                Fruit.FruitType[] types = {
-                        Fruit.FruitType.APPLE,
-                        Fruit.FruitType.COCONUT,
-                        Fruit.FruitType.STARFRUIT,
-                        Fruit.FruitType.BANANA
-                };
-
-                if (gameMode == GameMode.ARCADE && random.nextFloat() < 0.10) {
-                    types = new Fruit.FruitType[]{Fruit.FruitType.BANANA};
-                }
-
-                Fruit.FruitType type = types[random.nextInt(types.length)];
-
-                int color;
-                switch (type) {
-                    case APPLE:
-                        color = Color.RED;
-                        break;
-                    case COCONUT:
-                        color = Color.rgb(139, 69, 19);
-                        break;
-                    case STARFRUIT:
-                        color = Color.rgb(255, 215, 0);
-                        break;
-                    case BANANA:
-                        color = Color.YELLOW;
-                        break;
-                    default:
-                        color = Color.RED;
-                }
-
-                fruits.add(new Fruit(x, startY, velocityX, velocityY, color, type));
+    private void gameOver() {
+        // Record high scores before the game over screen is composed
+        int score = simulation.getScore();
+        isNewHighScore = false;
+        if (gameMode == GameMode.CLASSIC && score > highScoreClassic) {
+            isNewHighScore = true;
+            highScoreClassic = score;
+            if (prefs != null) {
+                prefs.edit().putInt("highScoreClassic", highScoreClassic).apply();
+            }
+        } else if (gameMode == GameMode.ARCADE && score > highScoreArcade) {
+            isNewHighScore = true;
+            highScoreArcade = score;
+            if (prefs != null) {
+                prefs.edit().putInt("highScoreArcade", highScoreArcade).apply();
             }
         }
-    }
 
+        // Score, fruits and (for the menu) high scores changed
+        invalidateStaticLayer();
 
-    private void gameOver() {
         gameState = GameState.GAME_OVER;
-        isDoublePoints = false;
         stopGameMusic();
         startGameOverMusic();
     }
 
     @Override
     public boolean onTouchEvent(MotionEvent event) {
-        float touchX = event.getX();
-        float touchY = event.getY();
+        handleTouch(event.getAction(), event.getX(), event.getY());
+        return true;
+    }
 
-        switch (event.getAction()) {
+    /**
+     * Touch handling without a MotionEvent, also used to replay recorded traces.
+     * Call on the UI thread, like onTouchEvent.
+     */
+    void handleTouch(int action, float touchX, float touchY) {
+        switch (action) {
             case MotionEvent.ACTION_DOWN:
                 if (gameState == GameState.MENU) {
                     if (classicButton != null && classicButton.contains(touchX, touchY)) {
@@ -1243,7 +845,7 @@ public class  GameView extends SurfaceView implements Runnable {
                         startGameMusic();
                     } else if (menuButton != null && menuButton.contains(touchX, touchY)) {
                         gameState = GameState.MENU;
-                        fruits.clear();
+                        simulation.reset(gameMode);
                         stopGameOverMusic();
                         stopGameMusic();
                         startMenuMusic();
@@ -1263,7 +865,6 @@ public class  GameView extends SurfaceView implements Runnable {
                 }
                 break;
         }
-        return true;
     }
 
     public void pause() {
@@ -1278,6 +879,8 @@ public class  GameView extends SurfaceView implements Runnable {
     }
 
     public void resume() {
+        // The surface may have been recreated while paused, so post at least one frame
+        staticFramePosted = false;
         isPlaying = true;
         gameThread = new Thread(this);
         gameThread.start();
@@ -1285,129 +888,51 @@ public class  GameView extends SurfaceView implements Runnable {
 
 
     public void releaseResources() {
-        // Release SoundPool
-        if (soundPool != null) {
-            soundPool.release();
-            soundPool = null;
-        }
+        // Release fruit sprite atlas
+        FruitSprites.release();
 
-        // Release Classic music
-        if (backgroundMusic != null) {
-            if (backgroundMusic.isPlaying()) {
-                backgroundMusic.stop();
-            }
-            backgroundMusic.release();
-            backgroundMusic = null;
-        }
-
-        // Release Arcade music - ADD THIS
-        if (arcadeMusic != null) {
-            if (arcadeMusic.isPlaying()) {
-                arcadeMusic.stop();
-            }
-            arcadeMusic.release();
-            arcadeMusic = null;
-        }
-
-        // Release Menu music
-        if (menuMusic != null) {
-            if (menuMusic.isPlaying()) {
-                menuMusic.stop();
-            }
-            menuMusic.release();
-            menuMusic = null;
-        }
+        // Release cached menu/game over layer
+        releaseStaticLayer();
 
-        // Release Game Over music
-        if (gameOverMusic != null) {
-            if (gameOverMusic.isPlaying()) gameOverMusic.stop();
-            gameOverMusic.release();
-            gameOverMusic = null;
+        // Release SoundPool and music players, then the audio thread
+        if (audio != null) {
+            audio.release();
+            audio = null;
         }
     }
 
     /**
-     * Adjusts music playback speed based on difficulty multiplier
+     * Adjusts music playback speed based on difficulty multiplier.
+     * Called every frame; the engine's tempo controller throttles the actual player updates.
      */
     private void updateMusicSpeed() {
-        if (!musicEnabled) return;
-        if (android.os.Build.VERSION.SDK_INT < android.os.Build.VERSION_CODES.M) {
-            // Playback speed control only available on Android 6.0+
-            return;
-        }
-
-        try {
-            // Calculate music speed (1.0x to 1.5x max)
-            // difficultyMultiplier ranges from 1.0 to 2.0+
-            float musicSpeed = 1.0f + ((difficultyMultiplier - 1.0f) * 0.5f);
-            musicSpeed = Math.min(musicSpeed, 1.5f);  // Cap at 1.5x speed
-
-            // Apply to the currently playing music
-            if (gameMode == GameMode.ARCADE && arcadeMusic != null && arcadeMusic.isPlaying()) {
-                arcadeMusic.setPlaybackParams(arcadeMusic.getPlaybackParams().setSpeed(musicSpeed));
-                Log.d(TAG, "Arcade music speed: " + musicSpeed + "x");
-            } else if (gameMode == GameMode.CLASSIC && backgroundMusic != null && backgroundMusic.isPlaying()) {
-                backgroundMusic.setPlaybackParams(backgroundMusic.getPlaybackParams().setSpeed(musicSpeed));
-                Log.d(TAG, "Classic music speed: " + musicSpeed + "x");
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to adjust music speed", e);
-        }
+        if (!musicEnabled || audio == null) return;
 
-    }
-
-    /**
-     * Resets music playback speed to normal (1.0x)
-     */
-    private void resetMusicSpeed() {
-        if (android.os.Build.VERSION.SDK_INT < android.os.Build.VERSION_CODES.M) return;
-
-        try {
-            if (backgroundMusic != null) {
-                backgroundMusic.setPlaybackParams(backgroundMusic.getPlaybackParams().setSpeed(1.0f));
-            }
-            if (arcadeMusic != null) {
-                arcadeMusic.setPlaybackParams(arcadeMusic.getPlaybackParams().setSpeed(1.0f));
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to reset music speed", e);
-        }
+        // Calculate music speed (1.0x to 1.5x max)
+        // difficultyMultiplier ranges from 1.0 to 2.0+
+        float musicSpeed = 1.0f + ((simulation.getDifficultyMultiplier() - 1.0f) * 0.5f);
+        audio.setMusicSpeed(musicSpeed);
     }
 
     /**
      * Starts game over music
      */
     private void startGameOverMusic() {
-        if (!musicEnabled) {
+        if (!musicEnabled || audio == null) {
             Log.d(TAG, "Music disabled");
             return;
         }
 
-        // Stop all other music
-        stopMenuMusic();
-        stopAllGameMusic();
-
-        // Start game over music
-        if (gameOverMusic != null) {
-            if (gameOverMusic.isPlaying()) {
-                gameOverMusic.seekTo(0);  // Restart from beginning
-            }
-            gameOverMusic.start();
-            Log.d(TAG, "✓ Game over music started!");
-        } else {
-            Log.e(TAG, "✗ Game over music is NULL!");
-        }
+        // Stops all other music, plays from the beginning
+        audio.playMusic(AudioEngine.TRACK_GAME_OVER);
     }
 
     /**
      * Stops game over music
      */
     private void stopGameOverMusic() {
-        if (gameOverMusic != null && gameOverMusic.isPlaying()) {
-            gameOverMusic.pause();
-            gameOverMusic.seekTo(0);
-            Log.d(TAG, "Game over music stopped");
-        }
+        if (audio == null) return;
+        audio.stopMusic(AudioEngine.TRACK_GAME_OVER);
     }
 
     /**
@@ -1420,11 +945,6 @@ public class  GameView extends SurfaceView implements Runnable {
         canvas.drawRect(0, 0, screenWidth, screenHeight, paint);
         paint.setAlpha(255);
 
-        // Calculate remaining time
-        long elapsed = System.currentTimeMillis() - doublePointsStartTime;
-        long remaining = doublePointsDuration - elapsed;
-        float secondsLeft = remaining / 1000f;
-
         // Draw "2X POINTS" text with pulsing effect
         paint.setColor(Color.rgb(255, 215, 0));
 
@@ -1440,7 +960,7 @@ public class  GameView extends SurfaceView implements Runnable {
 
         // Draw timer
         paint.setTextSize(60);
-        canvas.drawText(String.format("%.1fs", secondsLeft), screenWidth / 2f, 380, paint);
+        hud.drawDoublePointsTimer(canvas, simulation.getDoublePointsRemaining(), screenWidth / 2f, 380, paint);
 
         paint.setTextAlign(Paint.Align.LEFT);
     }
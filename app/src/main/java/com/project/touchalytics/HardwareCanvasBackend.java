@@ -0,0 +1,40 @@
+package com.project.touchalytics;
+
+import android.graphics.Canvas;
+import android.os.Build;
+import android.view.SurfaceHolder;
+
+import androidx.annotation.RequiresApi;
+
+/**
+ * GPU-accelerated canvas from {@link SurfaceHolder#lockHardwareCanvas()}.
+ *
+ * Locking through the holder (not its Surface) holds the holder's surface lock until
+ * the frame is posted, so surfaceDestroyed() cannot release the surface mid-frame.
+ * The returned canvas starts with undefined contents, so every frame must cover
+ * the whole surface (GameView always starts with the background).
+ */
+@RequiresApi(Build.VERSION_CODES.O)
+class HardwareCanvasBackend implements RenderBackend {
+
+    private final SurfaceHolder holder;
+
+    HardwareCanvasBackend(SurfaceHolder holder) {
+        this.holder = holder;
+    }
+
+    @Override
+    public String name() {
+        return "GPU";
+    }
+
+    @Override
+    public Canvas lockCanvas() {
+        return holder.lockHardwareCanvas();
+    }
+
+    @Override
+    public void unlockCanvasAndPost(Canvas canvas) {
+        holder.unlockCanvasAndPost(canvas);
+    }
+}
@@ -0,0 +1,157 @@
+package com.project.touchalytics;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+
+/**
+ * Draws the in-game HUD (score, lives/time, combo, FPS and render backend) without
+ * per-frame allocation.
+ *
+ * Each text style has its own pre-configured Paint, and each label keeps its text
+ * in a reusable char buffer that is only rewritten when the displayed value changes.
+ */
+class HudRenderer {
+
+    private final Paint statPaint;   // score, lives, time
+    private final Paint comboPaint;
+    private final Paint fpsPaint;
+
+    private final CachedLabel scoreLabel = new CachedLabel("Score: ", "");
+    private final CachedLabel livesLabel = new CachedLabel("Lives: ", "");
+    private final CachedLabel timeLabel = new CachedLabel("Time: ", "s");
+    private final CachedLabel comboLabel = new CachedLabel("COMBO x", "!");
+    private CachedLabel fpsLabel = new CachedLabel("FPS: ", "");
+    private final CachedLabel doublePointsLabel = new CachedLabel("", "s", 1);  // tenths of a second
+
+    HudRenderer(Typeface gameFont, Typeface titleFont) {
+        statPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        if (gameFont != null) statPaint.setTypeface(gameFont);
+        statPaint.setColor(Color.WHITE);
+        statPaint.setTextSize(60);
+        statPaint.setTextAlign(Paint.Align.LEFT);
+
+        comboPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        if (titleFont != null) comboPaint.setTypeface(titleFont);
+        comboPaint.setColor(Color.YELLOW);
+        comboPaint.setTextSize(80);
+        comboPaint.setTextAlign(Paint.Align.CENTER);
+
+        fpsPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        if (gameFont != null) fpsPaint.setTypeface(gameFont);
+        fpsPaint.setColor(Color.WHITE);
+        fpsPaint.setTextSize(40);
+        fpsPaint.setTextAlign(Paint.Align.LEFT);
+    }
+
+    /**
+     * Shows the active rendering backend next to the FPS counter, e.g. "FPS: 60 (GPU)".
+     */
+    void setBackendName(String name) {
+        fpsLabel = new CachedLabel("FPS: ", " (" + name + ")");
+    }
+
+    /**
+     * Draws the HUD for the current frame.
+     */
+    void draw(Canvas canvas, int screenWidth, int screenHeight, GameMode gameMode,
+              int score, int lives, long timeRemainingMs, int combo, long fps) {
+        scoreLabel.draw(canvas, score, 50, 100, statPaint);
+
+        if (gameMode == GameMode.CLASSIC) {
+            livesLabel.draw(canvas, lives, 50, 200, statPaint);
+        } else {
+            timeLabel.draw(canvas, timeRemainingMs / 1000, 50, 200, statPaint);
+        }
+
+        // Draw combo with title font for dramatic effect
+        if (combo > 1) {
+            comboLabel.draw(canvas, combo, screenWidth / 2f, 150, comboPaint);
+        }
+
+        fpsLabel.draw(canvas, fps, 50, screenHeight - 50, fpsPaint);
+    }
+
+    /**
+     * Draws the double-points countdown, e.g. "4.2s", in the caller's paint.
+     * The text is only rebuilt when the displayed tenth of a second changes.
+     */
+    void drawDoublePointsTimer(Canvas canvas, long remainingMs, float x, float y, Paint paint) {
+        long tenths = (Math.max(0L, remainingMs) + 50) / 100;  // rounded like "%.1f"
+        doublePointsLabel.draw(canvas, tenths, x, y, paint);
+    }
+
+    /**
+     * "prefix + number + suffix" text held in a fixed char buffer. With decimals > 0 the
+     * value is fixed-point: 42 with one decimal reads "4.2".
+     */
+    private static class CachedLabel {
+        private static final int MAX_DIGITS = 21;  // enough for any long, with sign and point
+
+        private final char[] buffer;
+        private final int prefixLength;
+        private final char[] suffix;
+        private final int decimals;
+        private int length;
+        private long value;
+        private boolean valid = false;
+
+        CachedLabel(String prefix, String suffix) {
+            this(prefix, suffix, 0);
+        }
+
+        CachedLabel(String prefix, String suffix, int decimals) {
+            this.prefixLength = prefix.length();
+            this.suffix = suffix.toCharArray();
+            this.decimals = decimals;
+            this.buffer = new char[prefixLength + MAX_DIGITS + this.suffix.length];
+            prefix.getChars(0, prefixLength, buffer, 0);
+        }
+
+        void draw(Canvas canvas, long newValue, float x, float y, Paint paint) {
+            if (!valid || newValue != value) {
+                update(newValue);
+            }
+            canvas.drawText(buffer, 0, length, x, y, paint);
+        }
+
+        /**
+         * Rewrites the digits and suffix after the prefix.
+         */
+        private void update(long newValue) {
+            value = newValue;
+            valid = true;
+
+            int pos = prefixLength;
+            long v = newValue;
+            if (v < 0) {
+                buffer[pos++] = '-';
+            } else {
+                v = -v;  // work in negatives so Long.MIN_VALUE is safe
+            }
+
+            // Count digits (keeping a leading zero before the point), then fill them from the right
+            int digits = 1;
+            for (long t = v / 10; t != 0; t /= 10) {
+                digits++;
+            }
+            digits = Math.max(digits, decimals + 1);
+            int end = pos + digits + (decimals > 0 ? 1 : 0);
+            int written = 0;
+            for (int i = end - 1; i >= pos; i--) {
+                if (decimals > 0 && written == decimals) {
+                    buffer[i] = '.';
+                    written++;
+                    continue;
+                }
+                buffer[i] = (char) ('0' - (v % 10));
+                v /= 10;
+                written++;
+            }
+
+            System.arraycopy(suffix, 0, buffer, end, suffix.length);
+            length = end + suffix.length;
+        }
+    }
+}
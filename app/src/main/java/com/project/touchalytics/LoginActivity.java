@@ -30,6 +30,7 @@ import com.project.touchalytics.data.Features;
 
 
 
+import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.io.BufferedReader;
@@ -39,6 +40,8 @@ import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.Socket;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.security.MessageDigest;
@@ -700,6 +703,17 @@ public class LoginActivity extends AppCompatActivity {
                                 System.out.println("Parsed userID from server: " + userID);
                                 System.out.println("Parsed swipeCount from server: " + swipeCount);
 
+                                // Optional: the features the server's model uses (REQUIRED_FEATURES)
+                                JSONArray required = json.optJSONArray("requiredFeatures");
+                                List<String> requiredFeatures = null;
+                                if (required != null) {
+                                    requiredFeatures = new ArrayList<>();
+                                    for (int i = 0; i < required.length(); i++) {
+                                        requiredFeatures.add(required.optString(i));
+                                    }
+                                }
+                                MainActivity.getInstance().setRequiredFeatures(requiredFeatures);
+
                                 Snackbar.make(primaryButton, "Login successful", Snackbar.LENGTH_SHORT).show();
 
                                 // Decide which training phase based on TOTAL swipeCount
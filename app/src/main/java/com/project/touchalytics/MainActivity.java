@@ -7,14 +7,22 @@ import android.util.Log;
 import android.view.MotionEvent;
 import android.widget.Toast;
 
+import com.project.touchalytics.data.FeatureRegistry;
 import com.project.touchalytics.data.Features;
+import com.project.touchalytics.data.GestureType;
 import com.project.touchalytics.data.Stroke;
+import com.project.touchalytics.data.StrokeQualityGate;
 
 import org.json.JSONObject;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
 import java.net.Socket;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
 
 import com.google.gson.JsonObject;
 import com.project.touchalytics.RetrofitClient;
@@ -28,6 +36,7 @@ import retrofit2.Response;
  * Touch analytics manager (singleton, NOT an Android Activity).
  *
  * - Collects strokes from training UIs (NewsMediaActivity, FruitNinjaActivity, WordleActivity)
+ * - Rejects degenerate strokes (see Constants.STROKE_QUALITY_GATE) and counts them
  * - Extracts Features
  * - Tracks per-phase strokeCount
  * - Sends strokes to the Python server in TRAINING mode only
@@ -50,6 +59,9 @@ public class MainActivity {
     private int matchedCount = 0;
     private int notMatchedCount = 0;
 
+    // Strokes rejected by the quality gate, per reason
+    private final StrokeRejectionMetrics rejections = new StrokeRejectionMetrics();
+
     // Per-phase minimum for “training complete” (e.g., 30, 40, 20)
     private int minStrokeCount = Constants.MIN_STROKE_COUNT; // default fallback
 
@@ -58,6 +70,22 @@ public class MainActivity {
 
     private TouchAnalyticsListener listener;
 
+    // Features the authentication model uses; all of them until the server says otherwise
+    private FeatureRegistry authFeatures = FeatureRegistry.all();
+
+    // Series a compact tap record reads: all but the resampled path (see TapPolicy.COMPACT)
+    private static final Set<FeatureRegistry.Series> TAP_SERIES = EnumSet.of(FeatureRegistry.Series.POINTS,
+            FeatureRegistry.Series.SEGMENTS, FeatureRegistry.Series.VELOCITY_SKETCH);
+
+    // Non-null while a touch trace is being recorded; saveTraceRecording() writes it to traceFile
+    private TouchTraceRecorder traceRecorder;
+    private File traceFile;
+
+    // Where strokes are sent (a local stub server when replaying traces in tests)
+    private String fstoreHost = SERVER_BASE_URL;
+    private int fstorePort = Constants.SERVER_PORT;
+    private RetrofitClient.ApiService authApi;  // null: the default RetrofitClient
+
     public interface TouchAnalyticsListener {
         void onStrokeCountUpdated(long newCount);
         void onVerificationResult(boolean matched, int matchedCount, int notMatchedCount);
@@ -132,6 +160,16 @@ public class MainActivity {
         this.listener = listener;
         this.freeMode = freeMode;
 
+        if (context != null) {
+            rejections.attach(context.getApplicationContext()
+                    .getSharedPreferences(StrokeRejectionMetrics.PREFS, Context.MODE_PRIVATE));
+        }
+
+        if (Constants.RECORD_TOUCH_TRACES && traceRecorder == null && context != null) {
+            startTraceRecording(new File(context.getApplicationContext().getFilesDir(),
+                    "touch-trace-" + System.currentTimeMillis() + ".ttrc"));
+        }
+
         if (this.userID == null || this.userID < 0) {
             Toast.makeText(context.getApplicationContext(),
                     "Invalid User ID for Touch Analytics.",
@@ -162,16 +200,29 @@ public class MainActivity {
         }
         this.matchedCount = 0;
         this.notMatchedCount = 0;
+        rejections.resetSession();
 
         if (this.listener != null) {
             this.listener.onStrokeCountUpdated(strokeCount);
         }
     }
 
+    /**
+     * Sends FSTORE exchanges and /authenticate calls to the given servers instead of the
+     * ones in {@link Constants}, e.g. a local stub when replaying traces in tests.
+     * @param authApi The /authenticate client, or null for the default RetrofitClient.
+     */
+    void useServers(String host, int port, RetrofitClient.ApiService authApi) {
+        this.fstoreHost = host;
+        this.fstorePort = port;
+        this.authApi = authApi;
+    }
+
     public void reset() {
         strokeCount = 0L;
         matchedCount = 0;
         notMatchedCount = 0;
+        rejections.resetSession();
         minStrokeCount = Constants.MIN_STROKE_COUNT;
         freeMode = false;
         Log.i(LOG_TAG, "TouchAnalyticsManager state has been reset.");
@@ -189,31 +240,93 @@ public class MainActivity {
         return notMatchedCount;
     }
 
+    /**
+     * @return How many strokes the quality gate rejected since the last initialize/reset.
+     */
+    public int getRejectedCount() {
+        return rejections.sessionTotal();
+    }
+
+    /**
+     * @return How many strokes the quality gate rejected for the given reason.
+     */
+    public int getRejectedCount(StrokeQualityGate.Rejection reason) {
+        return rejections.sessionCount(reason);
+    }
+
+    /**
+     * @return The per-reason rejection metrics, including the counts kept across sessions.
+     */
+    public StrokeRejectionMetrics getRejectionMetrics() {
+        return rejections;
+    }
+
     public boolean isFreeMode() {
         return freeMode;
     }
 
+    /**
+     * Limits the features computed and sent for authentication (FREE mode) to the
+     * ones the server's model uses. TRAINING strokes still compute every feature,
+     * since each DB row stores them all.
+     * @param names The model's REQUIRED_FEATURES (DB column names), or null or empty for
+     *              all features.
+     */
+    public void setRequiredFeatures(Collection<String> names) {
+        if (names == null) {
+            authFeatures = FeatureRegistry.all();
+            return;
+        }
+        if (names.isEmpty()) {
+            // An empty list would authenticate with no features at all
+            Log.w(LOG_TAG, "Server sent no required features; computing all of them.");
+            authFeatures = FeatureRegistry.all();
+            return;
+        }
+        try {
+            authFeatures = FeatureRegistry.of(names);
+            Log.i(LOG_TAG, "Authenticating with " + authFeatures.active().size() +
+                    " features, reading " + authFeatures.requiredSeries());
+        } catch (IllegalArgumentException e) {
+            Log.w(LOG_TAG, "Required features not recognized; computing all of them.", e);
+            authFeatures = FeatureRegistry.all();
+        }
+    }
+
     // ----------------------------------------------------------------------
     // Touch handling
     // ----------------------------------------------------------------------
 
     public void handleTouchEvent(MotionEvent event) {
-        switch (event.getAction()) {
+        if (traceRecorder != null) {
+            traceRecorder.record(event);
+        }
+        handleTouch(event.getAction(), event.getEventTime(), event.getX(), event.getY(),
+                event.getPressure(), event.getSize(), event.getTouchMajor(), event.getTouchMinor());
+    }
+
+    /**
+     * Touch handling without a MotionEvent, so recorded traces can be replayed
+     * through the same stroke/feature/network path (see {@link TouchTraceReplayer}).
+     */
+    public void handleTouch(int action, long eventTime, float x, float y,
+                            float pressure, float size, float touchMajor, float touchMinor) {
+        switch (action) {
             case MotionEvent.ACTION_DOWN:
-                currentStroke = new Stroke();
-                currentStroke.setStartTime(event.getEventTime());
-                currentStroke.addPointWithEvent(event);
+                currentStroke = new Stroke(Constants.GEOMETRY_KERNEL);
+                currentStroke.setStartTime(eventTime);
+                currentStroke.addPoint(x, y, eventTime, pressure, size, touchMajor, touchMinor);
                 break;
 
             case MotionEvent.ACTION_MOVE:
                 if (currentStroke != null) {
-                    currentStroke.addPointWithEvent(event);
+                    currentStroke.addPoint(x, y, eventTime, pressure, size, touchMajor, touchMinor);
                 }
                 break;
 
             case MotionEvent.ACTION_UP:
                 if (currentStroke != null) {
-                    currentStroke.setEndTime(event.getEventTime());
+                    currentStroke.setEndTime(eventTime);
                     completeStroke();
                 }
                 currentStroke = null;
@@ -221,6 +334,47 @@ public class MainActivity {
         }
     }
 
+    /**
+     * Starts capturing every event passed to {@link #handleTouchEvent} into a touch trace.
+     * Replaces any recording in progress.
+     * @param file Where {@link #saveTraceRecording()} writes the trace.
+     */
+    public void startTraceRecording(File file) {
+        traceRecorder = new TouchTraceRecorder();
+        traceFile = file;
+        Log.i(LOG_TAG, "Touch trace recording started: " + file);
+    }
+
+    /**
+     * Writes the trace recorded so far to its file, replacing the previous save, and keeps
+     * recording. Read it back with {@link TouchTrace#read} to replay it.
+     * @return The file written, or null if no recording is running or the write failed.
+     */
+    public File saveTraceRecording() {
+        if (traceRecorder == null) return null;
+        try {
+            traceRecorder.writeTo(traceFile);
+            Log.i(LOG_TAG, "Touch trace saved: " + traceRecorder.size() + " events to " + traceFile);
+            return traceFile;
+        } catch (IOException e) {
+            Log.e(LOG_TAG, "Failed to save touch trace to " + traceFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stops capturing touch events.
+     * @return The recording (write it out with {@link TouchTraceRecorder#writeTo}), or null if none was running.
+     */
+    TouchTraceRecorder stopTraceRecording() {
+        TouchTraceRecorder recorder = traceRecorder;
+        traceRecorder = null;
+        if (recorder != null) {
+            Log.i(LOG_TAG, "Touch trace recording stopped: " + recorder.size() + " events.");
+        }
+        return recorder;
+    }
+
     /**
      * Build Features from the current stroke, bump the local strokeCount,
      * notify the UI listener, and:
@@ -239,39 +393,38 @@ public class MainActivity {
             return; // do not build/send
         }
 
-        Features features = new Features();
+        // Taps are classified from the stroke's running state, before any feature work
+        GestureType gesture = GestureType.classify(currentStroke);
+
+        // ---- Quality gate: degenerate strokes are neither counted nor sent ----
+        StrokeQualityGate.Rejection rejection = gesture == GestureType.TAP
+                ? Constants.STROKE_QUALITY_GATE.checkTap(currentStroke)
+                : Constants.STROKE_QUALITY_GATE.check(currentStroke);
+        if (rejection != null) {
+            rejections.record(rejection);
+            Log.i(LOG_TAG, "Stroke rejected (" + rejection + "): " +
+                    currentStroke.getPoints().size() + " points | rejected so far: " +
+                    getRejectedCount(rejection) + " " + rejection + ", " + getRejectedCount() + " total");
+            return;
+        }
 
-        features.setUserID(userID);
-        features.setStrokeDuration(currentStroke.getEndTime() - currentStroke.getStartTime());
-        features.setMidStrokeArea(currentStroke.calculateMidStrokeArea());
-        features.setMidStrokePressure(currentStroke.calculateMidStrokePressure());
-        features.setDirectionEndToEnd(currentStroke.calculateDirectionEndToEnd());
-        features.setAverageDirection(currentStroke.calculateAverageDirection());
-        features.setAverageVelocity(currentStroke.calculateAverageVelocity());
-        features.setPairwiseVelocityPercentile(currentStroke.calculatePairwiseVelocityPercentile(50));
-        features.setStartX(currentStroke.getStartX());
-        features.setStopX(currentStroke.getStopX());
-        features.setStartY(currentStroke.getStartY());
-        features.setStopY(currentStroke.getStopY());
-        features.setTouchArea(currentStroke.calculateTotalTouchArea());
-        features.setAverageTouchArea(currentStroke.calculateAverageTouchArea());
-        features.setMaxVelocity(currentStroke.calculateMaxVelocity());
-        features.setMinVelocity(currentStroke.calculateMinVelocity());
-        features.setAverageAcceleration(currentStroke.calculateAverageAcceleration());
-        features.setAverageDeceleration(currentStroke.calculateAverageDeceleration());
-        features.setTrajectoryLength(currentStroke.calculateTrajectoryLength());
-        features.setCurvature(currentStroke.calculateAveragePathDeviation());
-        features.setVelocityVariance(currentStroke.calculateVelocityVariance());
-        features.setAngleChangeRate(currentStroke.calculateAngleChangeRate());
-        features.setMaxPressure(currentStroke.calculateMaxPressure());
-        features.setMinPressure(currentStroke.calculateMinPressure());
-        features.setInitPressure(currentStroke.calculateInitPressure());
-        features.setPressureChangeRate(currentStroke.calculatePressureChangeRate());
-        features.setPressureVariance(currentStroke.calculatePressureVariance());
-        features.setXDis(currentStroke.calculateXDisplacement());
-        features.setYDis(currentStroke.calculateYDisplacement());
-        features.setMaxIdleTime(currentStroke.calculateMaxIdleTime());
-        features.setStraightnessRatio(currentStroke.calculateStraightnessRatio());
+        FeatureRegistry registry = featuresFor(gesture, freeMode, authFeatures, Constants.TAP_POLICY);
+        if (registry == null) {
+            Log.i(LOG_TAG, "Tap dropped by policy.");
+            return;
+        }
+
+        // Oversized strokes (e.g. long scrolls) are reduced to a bounded number of points
+        Stroke stroke = currentStroke;
+        if (Constants.STROKE_SIMPLIFIER != null) {
+            stroke = Constants.STROKE_SIMPLIFIER.simplify(currentStroke);
+            if (stroke != currentStroke) {
+                Log.i(LOG_TAG, "Simplified stroke: " + currentStroke.getPoints().size() +
+                        " -> " + stroke.getPoints().size() + " points");
+            }
+        }
+
+        Features features = extractFeatures(stroke, userID, registry);
 
         Log.i(LOG_TAG, "Collected Features: " + features.toString());
 
@@ -291,13 +444,52 @@ public class MainActivity {
 
         // TRAINING ONLY: send to Python
         if (!freeMode) {
-            sendToPython(features);
+            sendToPython(features, registry);
         } else {
             Log.i(LOG_TAG, "Free mode active: NOT sending features to server/DB.");
-            sendForAuthentication(features);
+            sendForAuthentication(features, registry);
+        }
+    }
+
+
+    /**
+     * Picks the features to compute for a stroke that passed the quality gate. FREE mode
+     * only authenticates, so only the model's features are needed, and a compact tap skips
+     * the resampled ones; TRAINING always computes every feature, as each DB row stores them all.
+     * @param gesture The stroke's {@link GestureType#classify classification}.
+     * @return The registry, or null if the stroke is a tap dropped by the policy.
+     */
+    static FeatureRegistry featuresFor(GestureType gesture, boolean freeMode, FeatureRegistry authFeatures,
+                                       TapPolicy tapPolicy) {
+        FeatureRegistry registry = freeMode ? authFeatures : FeatureRegistry.all();
+
+        if (gesture == GestureType.TAP) {
+            if (tapPolicy == TapPolicy.DROP) {
+                return null;
+            }
+            if (tapPolicy == TapPolicy.COMPACT && freeMode) {
+                registry = registry.withSeries(TAP_SERIES);
+            }
         }
+        return registry;
+    }
+
+    /**
+     * Computes every feature of a finished stroke.
+     * Has no side effects, so load tests can call it directly.
+     */
+    static Features extractFeatures(Stroke stroke, Integer userID) {
+        return extractFeatures(stroke, userID, FeatureRegistry.all());
     }
 
+    /**
+     * Computes the registry's active features of a finished stroke; the rest stay 0.
+     */
+    static Features extractFeatures(Stroke stroke, Integer userID, FeatureRegistry registry) {
+        Features features = new Features();
+        features.setUserID(userID);
+        return registry.extract(stroke, features);
+    }
 
     /**
      * Ask the Python server how many strokes are currently stored for this user.
@@ -318,7 +510,7 @@ public class MainActivity {
             } catch (InterruptedException ignored) {
             }
             try {
-                Socket socket = new Socket(SERVER_BASE_URL, Constants.SERVER_PORT);
+                Socket socket = new Socket(fstoreHost, fstorePort);
                 DataOutputStream dos = new DataOutputStream(socket.getOutputStream());
                 DataInputStream dis = new DataInputStream(socket.getInputStream());
 
@@ -367,49 +559,22 @@ public class MainActivity {
 
 
 
-    private JSONObject featuresToJSON(Features features) {
+    static JSONObject featuresToJSON(Features features) {
+        return featuresToJSON(features, FeatureRegistry.all());
+    }
+
+    /**
+     * Builds the FSTORE record with only the registry's active features, so features
+     * that were not computed (e.g. for a compact tap record) are left out rather than sent as 0.
+     */
+    static JSONObject featuresToJSON(Features features, FeatureRegistry registry) {
         JSONObject obj = new JSONObject();
         try {
             // ---- EXACTLY MATCHING DB COLUMN NAMES ----
             obj.put("userID", features.getUserID());
-            obj.put("strokeDuration", features.getStrokeDuration());
-            obj.put("midStrokeArea", features.getMidStrokeArea());
-            obj.put("midStrokePress", features.getMidStrokePressure());
-
-            obj.put("dirEndToEnd", features.getDirectionEndToEnd());
-            obj.put("aveDir", features.getAverageDirection());
-            obj.put("aveVelo", features.getAverageVelocity());
-            obj.put("pairwiseVeloPercent", features.getPairwiseVelocityPercentile());
-
-            obj.put("startX", features.getStartX());
-            obj.put("startY", features.getStartY());
-            obj.put("stopX", features.getStopX());
-            obj.put("stopY", features.getStopY());
-
-            obj.put("touchArea", features.getTouchArea());
-            obj.put("maxVelo", features.getMaxVelocity());
-            obj.put("minVelo", features.getMinVelocity());
-
-            obj.put("accel", features.getAverageAcceleration());
-            obj.put("decel", features.getAverageDeceleration());
-
-            obj.put("trajLength", features.getTrajectoryLength());
-            obj.put("curvature", features.getCurvature());
-            obj.put("veloVariance", features.getVelocityVariance());
-            obj.put("angleChangeRate", features.getAngleChangeRate());
-
-            obj.put("maxPress", features.getMaxPressure());
-            obj.put("minPress", features.getMinPressure());
-            obj.put("initPress", features.getInitPressure());
-            obj.put("pressChangeRate", features.getPressureChangeRate());
-            obj.put("pressVariance", features.getPressureVariance());
-
-            obj.put("maxIdleTime", features.getMaxIdleTime());
-            obj.put("straightnessRatio", features.getStraightnessRatio());
-
-            obj.put("xDisplacement", features.getXDis());
-            obj.put("yDisplacement", features.getYDis());
-            obj.put("aveTouchArea", features.getAverageTouchArea());
+            for (FeatureRegistry.Feature feature : registry.active()) {
+                obj.put(feature.name, feature.read(features));
+            }
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -422,35 +587,17 @@ public class MainActivity {
      *
      *   FSTORE|{ ...features JSON... }
      */
-    private void sendToPython(Features features) {
+    private void sendToPython(Features features, FeatureRegistry registry) {
         new Thread(() -> {
             try {
-                Socket socket = new Socket(SERVER_BASE_URL, Constants.SERVER_PORT);
-                DataOutputStream dos = new DataOutputStream(socket.getOutputStream());
-                DataInputStream dis = new DataInputStream(socket.getInputStream());
-
                 // Convert Features to JSON string
-                String jsonString = featuresToJSON(features).toString();
-
-                // Prefix with FSTORE| so the server can route it
-                String payload = "FSTORE|" + jsonString;
-                byte[] bytes = payload.getBytes("UTF-8");
-
-                dos.write(bytes);
-                dos.flush();
+                String jsonString = featuresToJSON(features, registry).toString();
 
-                // Read response (optional)
-                byte[] buffer = new byte[1024];
-                int read = dis.read(buffer);
-                if (read > 0) {
-                    String response = new String(buffer, 0, read, "UTF-8");
+                String response = sendFstore(fstoreHost, fstorePort, jsonString);
+                if (response != null) {
                     Log.i(TAG, "Server Response (features): " + response);
                 }
 
-                dos.close();
-                dis.close();
-                socket.close();
-
             } catch (Exception e) {
                 e.printStackTrace();
                 Log.e(TAG, "Error sending features to Python server", e);
@@ -458,55 +605,60 @@ public class MainActivity {
         }).start();
     }
 
-    private void sendForAuthentication(Features features) {
+    /**
+     * One FSTORE exchange with the socket server: "FSTORE|json" out, one reply chunk back.
+     * Blocks; call off the UI thread.
+     * @return The server's reply, or null if it closed without replying.
+     */
+    static String sendFstore(String host, int port, String featuresJson) throws IOException {
+        try (Socket socket = new Socket(host, port)) {
+            DataOutputStream dos = new DataOutputStream(socket.getOutputStream());
+            DataInputStream dis = new DataInputStream(socket.getInputStream());
+
+            // Prefix with FSTORE| so the server can route it
+            String payload = "FSTORE|" + featuresJson;
+            byte[] bytes = payload.getBytes("UTF-8");
+
+            dos.write(bytes);
+            dos.flush();
+
+            // Read response (optional)
+            byte[] buffer = new byte[1024];
+            int read = dis.read(buffer);
+            return read > 0 ? new String(buffer, 0, read, "UTF-8") : null;
+        }
+    }
+
+    /**
+     * Builds the /authenticate request body.
+     */
+    static JsonObject featuresToAuthJson(Features features) {
+        return featuresToAuthJson(features, FeatureRegistry.all());
+    }
 
+    /**
+     * Builds the /authenticate request body with only the registry's active features.
+     */
+    static JsonObject featuresToAuthJson(Features features, FeatureRegistry registry) {
         // Build JSON using DB column / REQUIRED_FEATURES names
         JsonObject payload = new JsonObject();
 
         payload.addProperty("userID", features.getUserID());
-        payload.addProperty("strokeDuration", features.getStrokeDuration());
-        payload.addProperty("midStrokeArea", features.getMidStrokeArea());
-        payload.addProperty("midStrokePress", features.getMidStrokePressure());
-
-        payload.addProperty("dirEndToEnd", features.getDirectionEndToEnd());
-        payload.addProperty("aveDir", features.getAverageDirection());
-        payload.addProperty("aveVelo", features.getAverageVelocity());
-        payload.addProperty("pairwiseVeloPercent", features.getPairwiseVelocityPercentile());
-
-        payload.addProperty("startX", features.getStartX());
-        payload.addProperty("startY", features.getStartY());
-        payload.addProperty("stopX", features.getStopX());
-        payload.addProperty("stopY", features.getStopY());
-
-        payload.addProperty("touchArea", features.getTouchArea());
-        payload.addProperty("maxVelo", features.getMaxVelocity());
-        payload.addProperty("minVelo", features.getMinVelocity());
-
-        payload.addProperty("accel", features.getAverageAcceleration());
-        payload.addProperty("decel", features.getAverageDeceleration());
-
-        payload.addProperty("trajLength", features.getTrajectoryLength());
-        payload.addProperty("curvature", features.getCurvature());
-        payload.addProperty("veloVariance", features.getVelocityVariance());
-        payload.addProperty("angleChangeRate", features.getAngleChangeRate());
+        for (FeatureRegistry.Feature feature : registry.active()) {
+            payload.addProperty(feature.name, feature.read(features));
+        }
 
-        payload.addProperty("maxPress", features.getMaxPressure());
-        payload.addProperty("minPress", features.getMinPressure());
-        payload.addProperty("initPress", features.getInitPressure());
-        payload.addProperty("pressChangeRate", features.getPressureChangeRate());
-        payload.addProperty("pressVariance", features.getPressureVariance());
+        return payload;
+    }
 
-        payload.addProperty("maxIdleTime", features.getMaxIdleTime());
-        payload.addProperty("straightnessRatio", features.getStraightnessRatio());
+    private void sendForAuthentication(Features features, FeatureRegistry registry) {
 
-        payload.addProperty("xDisplacement", features.getXDis());
-        payload.addProperty("yDisplacement", features.getYDis());
-        payload.addProperty("aveTouchArea", features.getAverageTouchArea());
+        JsonObject payload = featuresToAuthJson(features, registry);
 
         Log.i(TAG, "Auth request JSON (Retrofit): " + payload.toString());
 
-        RetrofitClient.ApiService apiService =
-                RetrofitClient.getClient().create(RetrofitClient.ApiService.class);
+        RetrofitClient.ApiService apiService = authApi != null ? authApi
+                : RetrofitClient.getClient().create(RetrofitClient.ApiService.class);
 
         Call<JsonObject> call = apiService.sendFeatures(features.getUserID(), payload);
 
@@ -0,0 +1,163 @@
+package com.project.touchalytics;
+
+import android.media.MediaPlayer;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+import android.os.SystemClock;
+import android.util.Log;
+
+/**
+ * Applies difficulty-driven music speed changes off the game thread.
+ *
+ * The game loop may call {@link #requestSpeed(float)} every frame; that call only does
+ * arithmetic and volatile reads/writes. Speed is quantized to QUANTUM steps, a new step is
+ * only taken once the target moves HYSTERESIS past the current one, and the actual
+ * setPlaybackParams() call (a binder IPC into mediaserver) runs on the audio
+ * thread at most once per MIN_UPDATE_INTERVAL_MS.
+ *
+ * {@link AudioEngine} tells it when the game track pauses and resumes, so a change
+ * requested while paused simply waits for {@link #resume} instead of polling the player.
+ */
+class MusicTempoController implements Handler.Callback {
+
+    private static final String TAG = "FruitNinja";
+
+    private static final float MIN_SPEED = 1.0f;
+    private static final float MAX_SPEED = 1.5f;
+    private static final float QUANTUM = 0.05f;                 // speed steps
+    private static final float HYSTERESIS = QUANTUM * 0.75f;    // distance past a step before moving
+    private static final long MIN_UPDATE_INTERVAL_MS = 1000;    // max one IPC per second
+
+    private static final int MSG_APPLY = 1;
+
+    private final Handler handler;
+
+    // Written by the game/audio threads, read on the audio thread
+    private volatile MediaPlayer player;
+    private volatile float targetSpeed = MIN_SPEED;
+
+    // Game thread only; reset() asks the game thread to clear it through resetPending
+    private float requestedStep = MIN_SPEED;
+    private volatile boolean resetPending = false;
+
+    // Audio thread only (lastApplyTime is also read by the game thread)
+    private float appliedSpeed = MIN_SPEED;
+    private volatile long lastApplyTime = 0;
+    private boolean paused = false;
+
+    /**
+     * @param looper Looper of the thread that owns the players (see {@link AudioEngine}).
+     */
+    MusicTempoController(Looper looper) {
+        handler = new Handler(looper, this);
+    }
+
+    /**
+     * Sets the player whose speed is controlled (null for none) and treats it as running at 1.0x.
+     */
+    void setPlayer(MediaPlayer mediaPlayer) {
+        player = mediaPlayer;
+        paused = false;
+        reset();
+    }
+
+    /**
+     * Detaches the player if it is the one being controlled, e.g. when its track stops.
+     */
+    void detach(MediaPlayer mediaPlayer) {
+        if (player == mediaPlayer) {
+            setPlayer(null);
+        }
+    }
+
+    /**
+     * Holds back speed changes while the music is paused; they stay pending until
+     * {@link #resume}. Call on the audio thread.
+     */
+    void pause() {
+        paused = true;
+        handler.removeMessages(MSG_APPLY);
+    }
+
+    /**
+     * Continues controlling a player that kept its speed across a pause, applying any
+     * change requested meanwhile. Call on the audio thread.
+     */
+    void resume(MediaPlayer mediaPlayer) {
+        player = mediaPlayer;
+        paused = false;
+        if (targetSpeed != appliedSpeed) {
+            scheduleApply();
+        }
+    }
+
+    /**
+     * Forgets any pending change; call after the player's speed was reset to 1.0x.
+     * Safe from any thread: the game thread drops its last requested step on its next
+     * {@link #requestSpeed} and asks again, so a change removed here is not lost.
+     */
+    void reset() {
+        targetSpeed = MIN_SPEED;
+        handler.removeCallbacksAndMessages(null);
+        handler.post(() -> appliedSpeed = MIN_SPEED);
+        resetPending = true;
+    }
+
+    /**
+     * Requests a playback speed. Cheap enough to call every frame.
+     * @param speed Desired speed; clamped to [1.0, 1.5].
+     */
+    void requestSpeed(float speed) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) return;
+
+        if (resetPending) {
+            resetPending = false;
+            requestedStep = MIN_SPEED;
+        }
+
+        speed = Math.max(MIN_SPEED, Math.min(MAX_SPEED, speed));
+        if (Math.abs(speed - requestedStep) < HYSTERESIS) return;
+
+        requestedStep = Math.round(speed / QUANTUM) * QUANTUM;
+        targetSpeed = requestedStep;
+        scheduleApply();
+    }
+
+    private void scheduleApply() {
+        if (!handler.hasMessages(MSG_APPLY)) {
+            long wait = lastApplyTime + MIN_UPDATE_INTERVAL_MS - SystemClock.uptimeMillis();
+            handler.sendEmptyMessageDelayed(MSG_APPLY, Math.max(0, wait));
+        }
+    }
+
+    /**
+     * Detaches the player and drops pending changes.
+     */
+    void release() {
+        player = null;
+        handler.removeCallbacksAndMessages(null);
+    }
+
+    @Override
+    public boolean handleMessage(Message msg) {
+        if (msg.what != MSG_APPLY) return false;
+
+        MediaPlayer mediaPlayer = player;
+        float speed = targetSpeed;
+        // Setting a non-zero speed on a paused player would start it, so while paused
+        // the change stays pending and resume() reschedules it
+        if (mediaPlayer == null || paused || speed == appliedSpeed) return true;
+
+        try {
+            mediaPlayer.setPlaybackParams(mediaPlayer.getPlaybackParams().setSpeed(speed));
+            appliedSpeed = speed;
+            lastApplyTime = SystemClock.uptimeMillis();
+            Log.d(TAG, "Music speed: " + speed + "x");
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to adjust music speed", e);
+        }
+        return true;
+    }
+}
@@ -120,6 +120,14 @@ public class NewsMediaActivity extends AppCompatActivity implements MainActivity
         fabPrevious.setOnClickListener(v -> webView.goBack());
     }
 
+    @Override
+    protected void onPause() {
+        super.onPause();
+        if (touchManager != null) {
+            touchManager.saveTraceRecording();  // no-op unless Constants.RECORD_TOUCH_TRACES
+        }
+    }
+
     @Override
     protected void onSaveInstanceState(@NonNull Bundle outState) {
         super.onSaveInstanceState(outState);
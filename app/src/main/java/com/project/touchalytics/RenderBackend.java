@@ -0,0 +1,37 @@
+package com.project.touchalytics;
+
+import android.graphics.Canvas;
+import android.os.Build;
+import android.view.SurfaceHolder;
+
+/**
+ * Where GameView gets its per-frame canvas from.
+ *
+ * The hardware backend (API 26+) records draw calls for the GPU; the software
+ * backend rasterizes everything on the CPU and is the fallback for older devices
+ * or surfaces that refuse a hardware canvas.
+ */
+interface RenderBackend {
+
+    /**
+     * @return Short name shown in the frame-time overlay.
+     */
+    String name();
+
+    /**
+     * @return A canvas covering the whole surface, or null if none is available this frame.
+     */
+    Canvas lockCanvas();
+
+    void unlockCanvasAndPost(Canvas canvas);
+
+    /**
+     * Picks the fastest backend this device supports.
+     */
+    static RenderBackend select(SurfaceHolder holder) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            return new HardwareCanvasBackend(holder);
+        }
+        return new SoftwareCanvasBackend(holder);
+    }
+}
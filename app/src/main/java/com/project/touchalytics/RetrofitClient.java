@@ -26,14 +26,23 @@ public class RetrofitClient {
      */
     public static Retrofit getClient() {
         if (retrofit == null) {
-            retrofit = new Retrofit.Builder()
-                    .baseUrl("http://" + Constants.SERVER_BASE_URL + ":" + Constants.AUTH_SERVER_PORT) // Base URL for the API
-                    .addConverterFactory(GsonConverterFactory.create()) // Convert JSON to Java object
-                    .build();
+            retrofit = create("http://" + Constants.SERVER_BASE_URL + ":" + Constants.AUTH_SERVER_PORT); // Base URL for the API
         }
         return retrofit;
     }
 
+    /**
+     * Creates a separate Retrofit client for another server (e.g. a local stub in load tests).
+     * @param baseUrl The server's base URL, e.g. "http://127.0.0.1:5000".
+     * @return A new Retrofit client with the Gson converter.
+     */
+    public static Retrofit create(String baseUrl) {
+        return new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .addConverterFactory(GsonConverterFactory.create()) // Convert JSON to Java object
+                .build();
+    }
+
     /**
      * Interface defining the API endpoints.
      */
@@ -0,0 +1,31 @@
+package com.project.touchalytics;
+
+import android.graphics.Canvas;
+import android.view.SurfaceHolder;
+
+/**
+ * CPU-rasterized canvas from {@link SurfaceHolder#lockCanvas()}.
+ */
+class SoftwareCanvasBackend implements RenderBackend {
+
+    private final SurfaceHolder holder;
+
+    SoftwareCanvasBackend(SurfaceHolder holder) {
+        this.holder = holder;
+    }
+
+    @Override
+    public String name() {
+        return "CPU";
+    }
+
+    @Override
+    public Canvas lockCanvas() {
+        return holder.lockCanvas();
+    }
+
+    @Override
+    public void unlockCanvasAndPost(Canvas canvas) {
+        holder.unlockCanvasAndPost(canvas);
+    }
+}
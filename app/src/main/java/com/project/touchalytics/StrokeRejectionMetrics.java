@@ -0,0 +1,75 @@
+package com.project.touchalytics;
+
+import android.content.SharedPreferences;
+
+import com.project.touchalytics.data.StrokeQualityGate;
+
+/**
+ * Per-reason counts of strokes rejected by the {@link StrokeQualityGate}: for the current
+ * session (since the last initialize/reset) and, once attached to SharedPreferences,
+ * over the app's lifetime, so rejection rates can be read back after a training run.
+ */
+public final class StrokeRejectionMetrics {
+
+    /** SharedPreferences file holding the lifetime counts. */
+    static final String PREFS = "stroke_metrics";
+
+    private static final StrokeQualityGate.Rejection[] REASONS = StrokeQualityGate.Rejection.values();
+
+    private final int[] sessionCounts = new int[REASONS.length];
+    private SharedPreferences prefs;  // null: session counts only
+
+    /**
+     * Keeps the lifetime counts in the given preferences from now on.
+     */
+    void attach(SharedPreferences prefs) {
+        this.prefs = prefs;
+    }
+
+    /**
+     * Counts one rejected stroke.
+     */
+    void record(StrokeQualityGate.Rejection reason) {
+        sessionCounts[reason.ordinal()]++;
+        if (prefs != null) {
+            String key = key(reason);
+            prefs.edit().putLong(key, prefs.getLong(key, 0L) + 1).apply();
+        }
+    }
+
+    void resetSession() {
+        for (int i = 0; i < sessionCounts.length; i++) {
+            sessionCounts[i] = 0;
+        }
+    }
+
+    /**
+     * @return Strokes rejected for the reason in this session.
+     */
+    public int sessionCount(StrokeQualityGate.Rejection reason) {
+        return sessionCounts[reason.ordinal()];
+    }
+
+    /**
+     * @return Strokes rejected for any reason in this session.
+     */
+    public int sessionTotal() {
+        int total = 0;
+        for (int count : sessionCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * @return Strokes rejected for the reason since the counts were first kept, or the
+     *         session count if no preferences are attached.
+     */
+    public long lifetimeCount(StrokeQualityGate.Rejection reason) {
+        return prefs != null ? prefs.getLong(key(reason), 0L) : sessionCount(reason);
+    }
+
+    private static String key(StrokeQualityGate.Rejection reason) {
+        return "rejected_" + reason.name();
+    }
+}
@@ -0,0 +1,194 @@
+package com.project.touchalytics;
+
+/**
+ * Fixed-size history of recent swipe points plus the collision test run against it.
+ * Pure Java (no Android graphics) so the geometry can be exercised off-device.
+ *
+ * Collision is incremental: each frame only the segments added since the previous
+ * frame are tested against each fruit's swept circle. The bounding box of those new
+ * segments rejects fruits nowhere near them before the exact segment-segment test.
+ */
+public class SwipeTrail {
+
+    // Only the most recent points are kept for drawing and collision
+    static final int MAX_POINTS = 50;
+
+    // Circular buffer of recent coordinates; oldest point lives at head
+    private final float[] xs = new float[MAX_POINTS];
+    private final float[] ys = new float[MAX_POINTS];
+    private int head = 0;
+    private int count = 0;
+
+    // Incremental collision window. Points are numbered 0..pointsAdded-1 since clear();
+    // segment n joins points n-1 and n.
+    private int pointsAdded = 0;
+    private int testedThrough = 0;   // last segment handed to a collision frame
+    private int frameFirstSeg = 1;
+    private int frameLastSeg = 0;    // empty window when frameLastSeg < frameFirstSeg
+    private float frameMinX, frameMinY, frameMaxX, frameMaxY;
+
+    /**
+     * Removes all points.
+     */
+    public void clear() {
+        head = 0;
+        count = 0;
+        pointsAdded = 0;
+        testedThrough = 0;
+        frameFirstSeg = 1;
+        frameLastSeg = 0;
+    }
+
+    /**
+     * Appends a point, overwriting the oldest one once the buffer is full (O(1)).
+     */
+    public void addPoint(float x, float y) {
+        int slot;
+        if (count < MAX_POINTS) {
+            slot = (head + count) % MAX_POINTS;
+            count++;
+        } else {
+            // Buffer full: drop the oldest point by advancing head
+            slot = head;
+            head = (head + 1) % MAX_POINTS;
+        }
+        xs[slot] = x;
+        ys[slot] = y;
+        pointsAdded++;
+    }
+
+    /**
+     * @return Number of points currently in the trail.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @param i Point index, 0 being the oldest.
+     * @return X coordinate of that point.
+     */
+    public float getX(int i) {
+        return xs[(head + i) % MAX_POINTS];
+    }
+
+    /**
+     * @param i Point index, 0 being the oldest.
+     * @return Y coordinate of that point.
+     */
+    public float getY(int i) {
+        return ys[(head + i) % MAX_POINTS];
+    }
+
+    /**
+     * Starts a collision frame: the segments added since the previous frame become
+     * the only ones {@link #intersectsSwept} tests. Call once per game update.
+     * @return Number of new segments in this frame.
+     */
+    public int beginCollisionFrame() {
+        // Segments whose start point was already evicted from the buffer can't be tested
+        int oldestSeg = pointsAdded - count + 1;
+        frameFirstSeg = Math.max(testedThrough + 1, oldestSeg);
+        frameLastSeg = pointsAdded - 1;
+        testedThrough = Math.max(testedThrough, frameLastSeg);
+
+        if (frameLastSeg < frameFirstSeg) return 0;
+
+        // Bounds of the new segments, for a cheap reject per fruit
+        int idx = slotOfPoint(frameFirstSeg - 1);
+        frameMinX = frameMaxX = xs[idx];
+        frameMinY = frameMaxY = ys[idx];
+        for (int seg = frameFirstSeg; seg <= frameLastSeg; seg++) {
+            idx = slotOfPoint(seg);
+            float x = xs[idx];
+            float y = ys[idx];
+            if (x < frameMinX) frameMinX = x;
+            if (x > frameMaxX) frameMaxX = x;
+            if (y < frameMinY) frameMinY = y;
+            if (y > frameMaxY) frameMaxY = y;
+        }
+        return frameLastSeg - frameFirstSeg + 1;
+    }
+
+    /**
+     * Tests this frame's new segments against a circle swept from (x0, y0) to (x1, y1),
+     * i.e. the capsule covering the fruit's motion over the frame. Old segments are never
+     * retested, so a fruit moving under an earlier part of the swipe is not hit.
+     * @return true if a new segment comes within radius of the fruit's path.
+     */
+    public boolean intersectsSwept(float x0, float y0, float x1, float y1, float radius) {
+        if (frameLastSeg < frameFirstSeg) return false;
+
+        // Reject if the capsule's bounds miss the new segments' bounds
+        if (Math.max(x0, x1) + radius < frameMinX || Math.min(x0, x1) - radius > frameMaxX
+                || Math.max(y0, y1) + radius < frameMinY || Math.min(y0, y1) - radius > frameMaxY) {
+            return false;
+        }
+
+        float radiusSq = radius * radius;
+        for (int seg = frameFirstSeg; seg <= frameLastSeg; seg++) {
+            int a = slotOfPoint(seg - 1);
+            int b = slotOfPoint(seg);
+            if (segmentDistanceSq(xs[a], ys[a], xs[b], ys[b], x0, y0, x1, y1) <= radiusSq) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int slotOfPoint(int seq) {
+        int logical = seq - (pointsAdded - count);
+        return (head + logical) % MAX_POINTS;
+    }
+
+    /**
+     * Squared minimum distance between segments P1-Q1 and P2-Q2
+     * (closest-point-of-approach between two segments, degenerate segments allowed).
+     */
+    static float segmentDistanceSq(float p1x, float p1y, float q1x, float q1y,
+                                   float p2x, float p2y, float q2x, float q2y) {
+        float d1x = q1x - p1x, d1y = q1y - p1y;
+        float d2x = q2x - p2x, d2y = q2y - p2y;
+        float rx = p1x - p2x, ry = p1y - p2y;
+        float a = d1x * d1x + d1y * d1y;
+        float e = d2x * d2x + d2y * d2y;
+        float f = d2x * rx + d2y * ry;
+
+        float s, t;
+        if (a == 0f && e == 0f) {
+            // Both segments are points
+            return rx * rx + ry * ry;
+        }
+        if (a == 0f) {
+            s = 0f;
+            t = clamp01(f / e);
+        } else {
+            float c = d1x * rx + d1y * ry;
+            if (e == 0f) {
+                t = 0f;
+                s = clamp01(-c / a);
+            } else {
+                float b = d1x * d2x + d1y * d2y;
+                float denom = a * e - b * b;
+                // Parallel segments: any s works, pick the start
+                s = denom != 0f ? clamp01((b * f - c * e) / denom) : 0f;
+                t = (b * s + f) / e;
+                if (t < 0f) {
+                    t = 0f;
+                    s = clamp01(-c / a);
+                } else if (t > 1f) {
+                    t = 1f;
+                    s = clamp01((b - c) / a);
+                }
+            }
+        }
+
+        float cx = (p1x + d1x * s) - (p2x + d2x * t);
+        float cy = (p1y + d1y * s) - (p2y + d2y * t);
+        return cx * cx + cy * cy;
+    }
+
+    private static float clamp01(float v) {
+        return v < 0f ? 0f : (v > 1f ? 1f : v);
+    }
+}
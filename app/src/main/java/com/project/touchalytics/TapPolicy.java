@@ -0,0 +1,22 @@
+package com.project.touchalytics;
+
+/**
+ * What happens to strokes classified as a {@link com.project.touchalytics.data.GestureType#TAP}
+ * (see {@link Constants#TAP_POLICY}).
+ */
+public enum TapPolicy {
+    /** Compute every feature, like any other stroke. */
+    EXTRACT,
+    /**
+     * When authenticating (FREE mode), compute every required feature except the two read
+     * from the resampled path (angle and pressure change rate), skipping the resampling;
+     * those two are left out of the request rather than sent as 0. TRAINING taps still
+     * compute every feature, since each DB row stores them all.
+     */
+    COMPACT,
+    /**
+     * Ignore taps entirely: no features, no upload, no stroke count. Only suitable where
+     * taps are not the strokes being trained on (Wordle training is mostly taps).
+     */
+    DROP
+}
@@ -0,0 +1,113 @@
+package com.project.touchalytics;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * A recorded touch session: the MotionEvent stream seen by the touch handlers,
+ * reduced to the fields they read, in a compact binary format.
+ *
+ * Format (big-endian, as written by DataOutputStream):
+ * <pre>
+ *   int   MAGIC ("TTRC")
+ *   short VERSION
+ *   long  base event time (ms, MotionEvent.getEventTime() of the first event)
+ *   repeated until EOF (30 bytes each):
+ *     short action        (MotionEvent.getAction(), including the pointer index bits)
+ *     int   time offset   (ms since base)
+ *     float x, y, pressure, size, touchMajor, touchMinor
+ * </pre>
+ * Traces are parsed into parallel primitive arrays once, so replay does no I/O or allocation.
+ */
+class TouchTrace {
+
+    static final int MAGIC = 0x54545243;  // "TTRC"
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 4 + 2 + 8;
+    static final int RECORD_BYTES = 2 + 4 + 6 * 4;
+
+    /**
+     * Receives replayed touch samples; same fields as the live touch handlers use.
+     */
+    interface Sink {
+        void onTouch(int action, long eventTime, float x, float y,
+                     float pressure, float size, float touchMajor, float touchMinor);
+    }
+
+    final long baseTime;
+    final int count;
+    final short[] actions;
+    final long[] eventTimes;
+    final float[] xs, ys, pressures, sizes, touchMajors, touchMinors;
+
+    private TouchTrace(long baseTime, int count, short[] actions, long[] eventTimes,
+                       float[] xs, float[] ys, float[] pressures, float[] sizes,
+                       float[] touchMajors, float[] touchMinors) {
+        this.baseTime = baseTime;
+        this.count = count;
+        this.actions = actions;
+        this.eventTimes = eventTimes;
+        this.xs = xs;
+        this.ys = ys;
+        this.pressures = pressures;
+        this.sizes = sizes;
+        this.touchMajors = touchMajors;
+        this.touchMinors = touchMinors;
+    }
+
+    /**
+     * @return Time from the first to the last event, in ms.
+     */
+    long durationMs() {
+        return count == 0 ? 0 : eventTimes[count - 1] - eventTimes[0];
+    }
+
+    /**
+     * Parses a whole trace. The stream is read to EOF but not closed.
+     * @throws IOException If the stream isn't a trace or a record is truncated.
+     */
+    static TouchTrace read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) throw new IOException("Not a touch trace");
+        short version = data.readShort();
+        if (version != VERSION) throw new IOException("Unsupported touch trace version " + version);
+        long baseTime = data.readLong();
+
+        int capacity = 256;
+        short[] actions = new short[capacity];
+        long[] times = new long[capacity];
+        float[][] values = new float[6][capacity];
+        int count = 0;
+
+        while (true) {
+            int high = data.read();
+            if (high < 0) break;  // clean end of trace
+
+            if (count == capacity) {
+                capacity *= 2;
+                actions = Arrays.copyOf(actions, capacity);
+                times = Arrays.copyOf(times, capacity);
+                for (int v = 0; v < values.length; v++) {
+                    values[v] = Arrays.copyOf(values[v], capacity);
+                }
+            }
+
+            try {
+                actions[count] = (short) ((high << 8) | data.readUnsignedByte());
+                times[count] = baseTime + data.readInt();
+                for (float[] column : values) {
+                    column[count] = data.readFloat();
+                }
+            } catch (EOFException e) {
+                throw new IOException("Truncated touch trace record " + count, e);
+            }
+            count++;
+        }
+
+        return new TouchTrace(baseTime, count, actions, times,
+                values[0], values[1], values[2], values[3], values[4], values[5]);
+    }
+}
@@ -0,0 +1,94 @@
+package com.project.touchalytics;
+
+import android.view.MotionEvent;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Records touch events into an in-memory {@link TouchTrace}.
+ *
+ * Recording only appends 30 bytes per event to a growable buffer, so it is safe to
+ * leave on the UI thread; the trace is written out in one go with {@link #writeTo}.
+ * Not thread-safe: record from one thread.
+ */
+class TouchTraceRecorder implements TouchTrace.Sink {
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream out = new DataOutputStream(buffer);
+    private boolean started = false;
+    private long baseTime;
+    private int count = 0;
+
+    /**
+     * Appends one event (the current sample, as the touch handlers see it).
+     */
+    void record(MotionEvent event) {
+        onTouch(event.getAction(), event.getEventTime(), event.getX(), event.getY(),
+                event.getPressure(), event.getSize(), event.getTouchMajor(), event.getTouchMinor());
+    }
+
+    @Override
+    public void onTouch(int action, long eventTime, float x, float y,
+                        float pressure, float size, float touchMajor, float touchMinor) {
+        try {
+            if (!started) {
+                baseTime = eventTime;
+                out.writeInt(TouchTrace.MAGIC);
+                out.writeShort(TouchTrace.VERSION);
+                out.writeLong(baseTime);
+                started = true;
+            }
+            out.writeShort(action);
+            out.writeInt((int) (eventTime - baseTime));
+            out.writeFloat(x);
+            out.writeFloat(y);
+            out.writeFloat(pressure);
+            out.writeFloat(size);
+            out.writeFloat(touchMajor);
+            out.writeFloat(touchMinor);
+            count++;
+        } catch (IOException e) {
+            // ByteArrayOutputStream doesn't throw
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @return Number of events recorded so far.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Writes the trace recorded so far. An empty recording still writes the header,
+     * so it reads back as a trace with no events.
+     */
+    void writeTo(OutputStream stream) throws IOException {
+        if (!started) {
+            DataOutputStream header = new DataOutputStream(stream);
+            header.writeInt(TouchTrace.MAGIC);
+            header.writeShort(TouchTrace.VERSION);
+            header.writeLong(0L);
+            header.flush();
+            return;
+        }
+        out.flush();
+        buffer.writeTo(stream);
+    }
+
+    /**
+     * Writes the trace recorded so far to a file, replacing it.
+     */
+    void writeTo(File file) throws IOException {
+        try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(file))) {
+            writeTo(stream);
+        }
+    }
+}
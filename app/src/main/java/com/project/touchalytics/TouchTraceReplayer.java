@@ -0,0 +1,44 @@
+package com.project.touchalytics;
+
+/**
+ * Feeds a {@link TouchTrace} into a touch handler, either at the recorded pace
+ * (scaled by a speed factor) or as fast as possible.
+ *
+ * Runs on the calling thread and sleeps between events when paced, so use a
+ * background thread for paced replays. Sinks that touch UI state (GameView)
+ * must hop to the UI thread themselves.
+ */
+class TouchTraceReplayer {
+
+    private final TouchTrace trace;
+
+    TouchTraceReplayer(TouchTrace trace) {
+        this.trace = trace;
+    }
+
+    /**
+     * Replays the whole trace. Events keep their recorded event times, so the
+     * durations and velocities derived from them match the original session.
+     * @param speed 1 for the original pace, 4 for four times faster, 0 (or less) for no pacing.
+     * @return Wall-clock time the replay took, in ns.
+     * @throws InterruptedException If the thread is interrupted while pacing; no further events are sent.
+     */
+    long replay(TouchTrace.Sink sink, float speed) throws InterruptedException {
+        long start = System.nanoTime();
+        if (trace.count == 0) return 0;
+        long firstEventTime = trace.eventTimes[0];
+
+        for (int i = 0; i < trace.count; i++) {
+            if (speed > 0) {
+                long dueNs = start + (long) ((trace.eventTimes[i] - firstEventTime) * 1_000_000L / speed);
+                long waitNs = dueNs - System.nanoTime();
+                if (waitNs > 0) {
+                    Thread.sleep(waitNs / 1_000_000L, (int) (waitNs % 1_000_000L));
+                }
+            }
+            sink.onTouch(trace.actions[i], trace.eventTimes[i], trace.xs[i], trace.ys[i],
+                    trace.pressures[i], trace.sizes[i], trace.touchMajors[i], trace.touchMinors[i]);
+        }
+        return System.nanoTime() - start;
+    }
+}
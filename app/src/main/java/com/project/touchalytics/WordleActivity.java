@@ -5,15 +5,12 @@ import android.content.Intent;
 import android.content.SharedPreferences;
 import android.graphics.PorterDuff;
 import android.os.Bundle;
+import android.util.Base64;
+import android.util.Log;
 import android.util.TypedValue;
 import android.view.Gravity;
 import android.view.View;
 import android.view.ViewGroup;
-import android.view.textservice.SentenceSuggestionsInfo;
-import android.view.textservice.SpellCheckerSession;
-import android.view.textservice.SuggestionsInfo;
-import android.view.textservice.TextInfo;
-import android.view.textservice.TextServicesManager;
 import android.widget.Button;
 import android.widget.GridLayout;
 import android.widget.ImageView;
@@ -27,12 +24,16 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 import androidx.core.widget.TextViewCompat;
 
-import java.util.HashMap;
+import java.io.IOException;
 import java.util.Locale;
 import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
 
 public class WordleActivity extends AppCompatActivity
-        implements SpellCheckerSession.SpellCheckerSessionListener, MainActivity.TouchAnalyticsListener {
+        implements MainActivity.TouchAnalyticsListener {
+
+    private static final String TAG = "WordleActivity";
 
     private static final int ROWS = 6;
     private static final int COLS = 5;
@@ -40,7 +41,17 @@ public class WordleActivity extends AppCompatActivity
 
     private final TextView[][] cells = new TextView[ROWS][COLS];
 
-    private final String[] ANSWERS = new String[]{
+    private final WordleScorer scorer = new WordleScorer();
+    private final int[] rowStates = new int[COLS];
+
+    // Letter keys by letter index (0 = A) and key tint per scorer state, set up in wireKeyboard()
+    private final Button[] letterKeys = new Button[WordleScorer.LETTERS];
+    private final int[] keyColors = new int[3];
+
+    private static final String ANSWER_PREFS = "wordle_answers";
+
+    // Only used if the bundled answer bank fails to load
+    static final String[] ANSWERS = new String[]{
             "about","other","which","their","there","first","would","these","could","sound",
             "thing","think","right","place","three","green","apple","lemon","grape","melon",
             "chair","table","candy","sweet","spice","ghost","plain","crane","trace","adore"
@@ -51,9 +62,9 @@ public class WordleActivity extends AppCompatActivity
     private int currentCol = 0;
     private boolean gameOver = false;
 
-    private SpellCheckerSession spellSession;
-    private String pendingGuess = null;
-    private boolean waitingOnSpell = false;
+    // Valid guesses; null if the bundled list failed to load, then every guess is accepted
+    private WordleDictionary dictionary;
+    private WordleAnswerBank answerBank;
 
     private MainActivity touchManager;
     private int userId;
@@ -180,19 +191,61 @@ public class WordleActivity extends AppCompatActivity
 
         wireKeyboard();
 
-        target = ANSWERS[new Random().nextInt(ANSWERS.length)];
+        try {
+            dictionary = WordleDictionary.load(getResources(), R.raw.wordle_words);
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to load Wordle dictionary, accepting all guesses", e);
+        }
 
-        TextServicesManager tsm =
-                (TextServicesManager) getSystemService(TEXT_SERVICES_MANAGER_SERVICE);
-        if (tsm != null) {
-            spellSession = tsm.newSpellCheckerSession(null, Locale.US, this, true);
+        try {
+            answerBank = new WordleAnswerBank(WordleDictionary.load(getResources(), R.raw.wordle_answers));
+            restoreUsedAnswers();
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to load Wordle answer bank, using built-in answers", e);
         }
+
+        target = nextTarget();
     }
 
     @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (spellSession != null) spellSession.close();
+    protected void onPause() {
+        super.onPause();
+        if (touchManager != null) {
+            touchManager.saveTraceRecording();  // no-op unless Constants.RECORD_TOUCH_TRACES
+        }
+    }
+
+    /**
+     * Picks the next answer for this user and day, skipping answers they already had.
+     */
+    private String nextTarget() {
+        if (answerBank == null) {
+            return ANSWERS[new Random().nextInt(ANSWERS.length)];
+        }
+
+        long now = System.currentTimeMillis();
+        long day = TimeUnit.MILLISECONDS.toDays(now + TimeZone.getDefault().getOffset(now));
+        int index = answerBank.pick(userId, day);
+        saveUsedAnswers();
+        return answerBank.wordAt(index);
+    }
+
+    private void restoreUsedAnswers() {
+        String saved = getSharedPreferences(ANSWER_PREFS, MODE_PRIVATE)
+                .getString("used_" + userId, null);
+        if (saved == null) return;
+
+        try {
+            answerBank.restoreUsed(Base64.decode(saved, Base64.NO_WRAP));
+        } catch (IllegalArgumentException e) {
+            Log.w(TAG, "Discarding corrupt used-answer bitmap", e);
+        }
+    }
+
+    private void saveUsedAnswers() {
+        getSharedPreferences(ANSWER_PREFS, MODE_PRIVATE).edit()
+                .putString("used_" + userId, Base64.encodeToString(answerBank.saveUsed(), Base64.NO_WRAP))
+                .apply();
     }
 
     private void prepRow(LinearLayout row) {
@@ -257,6 +310,9 @@ public class WordleActivity extends AppCompatActivity
         b.setPadding((int) dp(6), (int) dp(8), (int) dp(6), (int) dp(8));
 
         b.setTag(code);
+        if (code.length() == 1 && WordleScorer.letterIndex(code.charAt(0)) >= 0) {
+            letterKeys[WordleScorer.letterIndex(code.charAt(0))] = b;
+        }
         b.setOnClickListener(v -> onKeyPress((String) v.getTag()));
 
         b.setOnTouchListener((v, event) -> {
@@ -285,6 +341,10 @@ public class WordleActivity extends AppCompatActivity
         addKeysToRow(row3, "ZXCVBNM", 1f);
         addSpacer(row3, 0.25f);
         addKeyButton(row3, "DEL", 1.7f, true, false, true);
+
+        keyColors[WordleScorer.ABSENT] = getColor(R.color.absent);
+        keyColors[WordleScorer.PRESENT] = getColor(R.color.present);
+        keyColors[WordleScorer.CORRECT] = getColor(R.color.correct);
     }
 
     private float dp(float d) {
@@ -333,10 +393,8 @@ public class WordleActivity extends AppCompatActivity
         }
         String guess = sb.toString();
 
-        if (spellSession != null && !waitingOnSpell) {
-            waitingOnSpell = true;
-            pendingGuess = guess;
-            spellSession.getSuggestions(new TextInfo(guess), 5);
+        if (dictionary != null && !dictionary.contains(guess)) {
+            Toast.makeText(this, "That doesn\'t look like a real word.", Toast.LENGTH_SHORT).show();
             return;
         }
 
@@ -363,77 +421,32 @@ public class WordleActivity extends AppCompatActivity
     }
 
     private void colorRow(String guess, String answer) {
-        char[] g = guess.toCharArray();
-        char[] a = answer.toCharArray();
-
-        HashMap<Character, Integer> freq = new HashMap<>();
-        for (char ch : a) {
-            freq.put(ch, freq.getOrDefault(ch, 0) + 1);
-        }
-
-        int[] state = new int[COLS];
-        for (int i = 0; i < COLS; i++) {
-            if (g[i] == a[i]) {
-                state[i] = 2;
-                freq.put(g[i], freq.get(g[i]) - 1);
-            }
-        }
-
-        for (int i = 0; i < COLS; i++) {
-            if (state[i] == 0) {
-                char ch = g[i];
-                if (freq.getOrDefault(ch, 0) > 0) {
-                    state[i] = 1;
-                    freq.put(ch, freq.get(ch) - 1);
-                }
-            }
-        }
+        int changedKeys = scorer.score(guess, answer, rowStates);
 
         for (int i = 0; i < COLS; i++) {
             TextView tv = cells[currentRow][i];
-            if (state[i] == 2) {
+            if (rowStates[i] == WordleScorer.CORRECT) {
                 tv.setBackground(getDrawable(R.drawable.tile_correct));
-                setKeyboardTint(g[i], R.color.correct);
-            } else if (state[i] == 1) {
+            } else if (rowStates[i] == WordleScorer.PRESENT) {
                 tv.setBackground(getDrawable(R.drawable.tile_present));
-                setKeyboardTint(g[i], R.color.present);
             } else {
                 tv.setBackground(getDrawable(R.drawable.tile_absent));
-                setKeyboardTint(g[i], R.color.absent);
             }
         }
-    }
 
-    private void setKeyboardTint(char ch, int colorRes) {
-        int color = getColor(colorRes);
-
-        int[] rows = new int[]{R.id.row1, R.id.row2, R.id.row3};
-        for (int rowId : rows) {
-            ViewGroup row = findViewById(rowId);
-            for (int i = 0; i < row.getChildCount(); i++) {
-                View v = row.getChildAt(i);
-                if (v instanceof Button) {
-                    Button b = (Button) v;
-                    String t = b.getText().toString().toUpperCase(Locale.US);
-                    if (t.length() == 1 && t.charAt(0) == Character.toUpperCase(ch)) {
-                        Integer existing = (Integer) b.getTag(R.id.key_color_tag);
-                        int rank = rankColor(colorRes);
-                        int existingRank = existing == null ? -1 : existing;
-                        if (rank > existingRank) {
-                            b.getBackground().setColorFilter(color, PorterDuff.Mode.SRC_ATOP);
-                            b.setTag(R.id.key_color_tag, rank);
-                        }
-                    }
-                }
+        // Only keys whose colour went up are touched
+        for (int letter = 0; changedKeys != 0; letter++, changedKeys >>>= 1) {
+            if ((changedKeys & 1) != 0) {
+                setKeyboardTint(letter);
             }
         }
     }
 
-    private int rankColor(int colorRes) {
-        if (colorRes == R.color.absent) return 0;
-        if (colorRes == R.color.present) return 1;
-        if (colorRes == R.color.correct) return 2;
-        return -1;
+    private void setKeyboardTint(int letter) {
+        Button b = letterKeys[letter];
+        if (b != null) {
+            b.getBackground().setColorFilter(keyColors[scorer.keyState(letter)], PorterDuff.Mode.SRC_ATOP);
+        }
     }
 
     public void onNewGame(View v) {
@@ -446,65 +459,21 @@ public class WordleActivity extends AppCompatActivity
         }
         resetKeyboardTints();
 
-        target = ANSWERS[new Random().nextInt(ANSWERS.length)];
+        target = nextTarget();
         currentRow = 0;
         currentCol = 0;
         gameOver = false;
     }
 
     private void resetKeyboardTints() {
-        int[] rows = new int[]{R.id.row1, R.id.row2, R.id.row3};
-        for (int rowId : rows) {
-            ViewGroup row = findViewById(rowId);
-            for (int i = 0; i < row.getChildCount(); i++) {
-                View v = row.getChildAt(i);
-                if (v instanceof Button) {
-                    Button b = (Button) v;
-                    b.getBackground().clearColorFilter();
-                    b.setTag(R.id.key_color_tag, null);
-                }
+        for (Button b : letterKeys) {
+            if (b != null) {
+                b.getBackground().clearColorFilter();
             }
         }
+        scorer.resetKeys();
     }
 
-    @Override
-    public void onGetSuggestions(final SuggestionsInfo[] results) {
-        boolean looksValid = true;
-
-        if (results != null && results.length > 0) {
-            SuggestionsInfo info = results[0];
-            int attrs = info.getSuggestionsAttributes();
-
-            boolean inDict = (attrs & SuggestionsInfo.RESULT_ATTR_IN_THE_DICTIONARY) != 0;
-            boolean suggestedSame = false;
-            for (int i = 0; i < info.getSuggestionsCount(); i++) {
-                String s = info.getSuggestionAt(i);
-                if (s != null && pendingGuess != null &&
-                        s.equalsIgnoreCase(pendingGuess)) {
-                    suggestedSame = true;
-                    break;
-                }
-            }
-            looksValid = inDict || suggestedSame;
-        }
-
-        final boolean finalLooksValid = looksValid;
-        runOnUiThread(() -> {
-            waitingOnSpell = false;
-            if (pendingGuess == null) return;
-
-            if (finalLooksValid) {
-                acceptGuess(pendingGuess);
-            } else {
-                Toast.makeText(this, "That doesn\'t look like a real word.", Toast.LENGTH_SHORT).show();
-            }
-            pendingGuess = null;
-        });
-    }
-
-    @Override
-    public void onGetSentenceSuggestions(SentenceSuggestionsInfo[] results) { /* Not used */ }
-
     @Override
     public void onStrokeCountUpdated(long newCount) {
         updateStatusBar(newCount, touchManager.getMatchedCount(), touchManager.getNotMatchedCount());
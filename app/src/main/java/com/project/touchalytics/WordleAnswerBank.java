@@ -0,0 +1,153 @@
+package com.project.touchalytics;
+
+/**
+ * Chooses Wordle answers from the bundled answer list without repeats.
+ *
+ * The list itself stays memory-mapped (see {@link WordleDictionary}); only the chosen
+ * word is ever turned into a String. Which answers a user has already had is kept in
+ * a bitmap with one bit per word, which the caller persists between sessions.
+ *
+ * Selection is seeded by user and day: each (user, day) pair walks the list in its
+ * own fixed order, taking the first answer not yet used. Once every answer has been
+ * used the bitmap is cleared and a new cycle starts.
+ */
+final class WordleAnswerBank {
+
+    private final WordleDictionary words;
+    private final long[] used;
+    private int usedCount;
+
+    WordleAnswerBank(WordleDictionary words) {
+        this.words = words;
+        this.used = new long[(words.size() + 63) / 64];
+    }
+
+    /**
+     * @return The number of answers in the bank.
+     */
+    int size() {
+        return words.size();
+    }
+
+    /**
+     * @return The answer at an index returned by {@link #pick}.
+     */
+    String wordAt(int index) {
+        return words.wordAt(index);
+    }
+
+    /**
+     * Picks the next unused answer for this user and day and marks it used.
+     * @param day Days since the epoch in the user's time zone.
+     * @return Index of the chosen answer.
+     */
+    int pick(int userId, long day) {
+        int n = words.size();
+        if (usedCount >= n) {
+            clearUsed();
+        }
+
+        long seed = mix(((long) userId << 32) ^ day);
+        int start = (int) Long.remainderUnsigned(seed, n);
+        int stride = coprimeStride(seed >>> 32, n);
+
+        // stride is coprime with n, so n steps visit every index exactly once
+        int index = start;
+        for (int i = 0; i < n && isUsed(index); i++) {
+            index = (int) ((index + (long) stride) % n);
+        }
+
+        markUsed(index);
+        return index;
+    }
+
+    boolean isUsed(int index) {
+        return (used[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return The number of answers used in the current cycle.
+     */
+    int usedCount() {
+        return usedCount;
+    }
+
+    /**
+     * @return The used-answer bitmap, little-endian: bit (i % 8) of byte (i / 8) is answer i.
+     */
+    byte[] saveUsed() {
+        byte[] bytes = new byte[(words.size() + 7) / 8];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (used[i >>> 3] >>> ((i & 7) * 8));
+        }
+        return bytes;
+    }
+
+    /**
+     * Restores a bitmap from {@link #saveUsed()}. A bitmap saved for a bank of a
+     * different size (e.g. an older app version) is ignored.
+     * @return Whether the bitmap was restored.
+     */
+    boolean restoreUsed(byte[] bytes) {
+        if (bytes == null || bytes.length != (words.size() + 7) / 8) return false;
+
+        clearUsed();
+        for (int i = 0; i < bytes.length; i++) {
+            used[i >>> 3] |= (bytes[i] & 0xFFL) << ((i & 7) * 8);
+        }
+        // Drop any bits past the end of the bank
+        int tail = words.size() & 63;
+        if (tail != 0) {
+            used[used.length - 1] &= (1L << tail) - 1;
+        }
+        for (long bits : used) {
+            usedCount += Long.bitCount(bits);
+        }
+        return true;
+    }
+
+    private void markUsed(int index) {
+        if (!isUsed(index)) {
+            used[index >>> 6] |= 1L << index;
+            usedCount++;
+        }
+    }
+
+    private void clearUsed() {
+        for (int i = 0; i < used.length; i++) {
+            used[i] = 0;
+        }
+        usedCount = 0;
+    }
+
+    /**
+     * @return A step in [1, n) sharing no factor with n (1 when n is 1).
+     */
+    private static int coprimeStride(long seed, int n) {
+        if (n <= 2) return 1;
+        int stride = 1 + (int) Long.remainderUnsigned(seed, n - 1);
+        while (gcd(stride, n) != 1) {
+            stride = stride % (n - 1) + 1;
+        }
+        return stride;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /**
+     * SplitMix64 finalizer: spreads nearby (user, day) pairs over the whole range.
+     */
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
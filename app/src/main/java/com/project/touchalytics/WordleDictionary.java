@@ -0,0 +1,131 @@
+package com.project.touchalytics;
+
+import android.content.res.AssetFileDescriptor;
+import android.content.res.Resources;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Bundled sorted list of five-letter words: the valid Wordle guesses, and the answer
+ * bank (see {@link WordleAnswerBank}).
+ *
+ * Each word is stored as a base-26 number (a = 0 ... z = 25, first letter most
+ * significant), so numeric order is alphabetical order and the list is just a sorted
+ * int array. The file is memory-mapped straight out of the APK and searched in
+ * place, so a lookup is a binary search with no allocation.
+ *
+ * File format (big-endian): MAGIC, word count, then the sorted codes.
+ */
+final class WordleDictionary {
+
+    static final int MAGIC = 0x57524435;  // "WRD5"
+    static final int WORD_LENGTH = 5;
+    static final int HEADER_BYTES = 8;
+
+    private final IntBuffer codes;
+
+    private WordleDictionary(IntBuffer codes) {
+        this.codes = codes;
+    }
+
+    /**
+     * Maps a dictionary from raw resources. The resource must be stored uncompressed
+     * (see androidResources.noCompress in the app's build file).
+     */
+    static WordleDictionary load(Resources res, int resId) throws IOException {
+        try (AssetFileDescriptor afd = res.openRawResourceFd(resId);
+             FileInputStream in = afd.createInputStream()) {
+            ByteBuffer map = in.getChannel().map(
+                    FileChannel.MapMode.READ_ONLY, afd.getStartOffset(), afd.getLength());
+            // The mapping stays valid after the channel is closed
+            return read(map);
+        }
+    }
+
+    /**
+     * Wraps a dictionary held in a buffer, without copying it.
+     * @throws IOException If the header is wrong or the buffer is truncated.
+     */
+    static WordleDictionary read(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt(buffer.position()) != MAGIC) {
+            throw new IOException("Not a Wordle dictionary");
+        }
+        int count = buffer.getInt(buffer.position() + 4);
+        if (count < 0 || buffer.remaining() < HEADER_BYTES + (long) count * 4) {
+            throw new IOException("Truncated Wordle dictionary: " + count + " words");
+        }
+
+        ByteBuffer body = buffer.duplicate();
+        body.position(buffer.position() + HEADER_BYTES);
+        body.limit(body.position() + count * 4);
+        return new WordleDictionary(body.slice().asIntBuffer());
+    }
+
+    /**
+     * @return The number of words.
+     */
+    int size() {
+        return codes.limit();
+    }
+
+    /**
+     * @return Whether the word (case-insensitive) is in the dictionary.
+     */
+    boolean contains(CharSequence word) {
+        int code = encode(word);
+        if (code < 0) return false;
+
+        int low = 0;
+        int high = codes.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = codes.get(mid);
+            if (value < code) {
+                low = mid + 1;
+            } else if (value > code) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The word at the given position in alphabetical order (lower case).
+     */
+    String wordAt(int index) {
+        return decode(codes.get(index));
+    }
+
+    /**
+     * @return The word's base-26 code, or -1 if it isn't five letters a-z / A-Z.
+     */
+    static int encode(CharSequence word) {
+        if (word.length() != WORD_LENGTH) return -1;
+
+        int code = 0;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            int letter = WordleScorer.letterIndex(word.charAt(i));
+            if (letter < 0) return -1;
+            code = code * WordleScorer.LETTERS + letter;
+        }
+        return code;
+    }
+
+    /**
+     * @return The lower-case word for a code from {@link #encode}.
+     */
+    static String decode(int code) {
+        char[] word = new char[WORD_LENGTH];
+        for (int i = WORD_LENGTH - 1; i >= 0; i--) {
+            word[i] = (char) ('a' + code % WordleScorer.LETTERS);
+            code /= WordleScorer.LETTERS;
+        }
+        return new String(word);
+    }
+}
@@ -0,0 +1,96 @@
+package com.project.touchalytics;
+
+/**
+ * Wordle guess scoring and keyboard state without any allocation or views.
+ *
+ * Letter counts live in a reused 26-int array, and the best state each letter has
+ * reached so far (the colour of its keyboard key) in a second one. WordleActivity
+ * only touches the keys whose state actually changed.
+ */
+final class WordleScorer {
+
+    static final int UNKNOWN = -1;
+    static final int ABSENT = 0;
+    static final int PRESENT = 1;
+    static final int CORRECT = 2;
+
+    static final int LETTERS = 26;
+
+    private final int[] remaining = new int[LETTERS];
+    private final int[] keyStates = new int[LETTERS];
+
+    WordleScorer() {
+        resetKeys();
+    }
+
+    /**
+     * Scores a guess against the answer (case-insensitive, equal lengths).
+     * Exact matches are taken first, so a repeated letter is only PRESENT as many
+     * times as the answer still has unmatched copies of it.
+     * @param out Receives ABSENT, PRESENT or CORRECT for each position.
+     * @return Bitmask (bit = letter index) of letters whose key state went up.
+     */
+    int score(CharSequence guess, CharSequence answer, int[] out) {
+        int length = answer.length();
+
+        for (int i = 0; i < LETTERS; i++) {
+            remaining[i] = 0;
+        }
+        for (int i = 0; i < length; i++) {
+            int letter = letterIndex(answer.charAt(i));
+            if (letter >= 0) remaining[letter]++;
+        }
+
+        // Exact matches consume their letter first
+        for (int i = 0; i < length; i++) {
+            int letter = letterIndex(guess.charAt(i));
+            if (letter >= 0 && letter == letterIndex(answer.charAt(i))) {
+                out[i] = CORRECT;
+                remaining[letter]--;
+            } else {
+                out[i] = ABSENT;
+            }
+        }
+
+        int changed = 0;
+        for (int i = 0; i < length; i++) {
+            int letter = letterIndex(guess.charAt(i));
+            if (letter < 0) continue;
+
+            if (out[i] == ABSENT && remaining[letter] > 0) {
+                out[i] = PRESENT;
+                remaining[letter]--;
+            }
+            if (out[i] > keyStates[letter]) {
+                keyStates[letter] = out[i];
+                changed |= 1 << letter;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return Best state the letter's key has reached, or UNKNOWN if it hasn't been guessed.
+     */
+    int keyState(int letter) {
+        return keyStates[letter];
+    }
+
+    /**
+     * Forgets all keyboard state for a new game.
+     */
+    void resetKeys() {
+        for (int i = 0; i < LETTERS; i++) {
+            keyStates[i] = UNKNOWN;
+        }
+    }
+
+    /**
+     * @return 0-25 for a-z / A-Z, otherwise -1.
+     */
+    static int letterIndex(char c) {
+        if (c >= 'a' && c <= 'z') return c - 'a';
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        return -1;
+    }
+}
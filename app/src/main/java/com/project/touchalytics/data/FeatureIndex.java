@@ -0,0 +1,72 @@
+package com.project.touchalytics.data;
+
+/**
+ * Fixed slot of each stroke feature in a {@link FeatureVector}.
+ *
+ * The layout is part of the wire and model format: slots are in DB column order and
+ * {@link #ordinal()} is the index into the vector. Never reorder or remove constants;
+ * add new features at the end and bump {@link #VERSION}.
+ */
+public enum FeatureIndex {
+    STROKE_DURATION("strokeDuration"),
+    MID_STROKE_AREA("midStrokeArea"),
+    MID_STROKE_PRESSURE("midStrokePress"),
+
+    DIRECTION_END_TO_END("dirEndToEnd"),
+    AVERAGE_DIRECTION("aveDir"),
+    AVERAGE_VELOCITY("aveVelo"),
+    PAIRWISE_VELOCITY_PERCENTILE("pairwiseVeloPercent"),
+
+    START_X("startX"),
+    START_Y("startY"),
+    STOP_X("stopX"),
+    STOP_Y("stopY"),
+
+    TOUCH_AREA("touchArea"),
+    MAX_VELOCITY("maxVelo"),
+    MIN_VELOCITY("minVelo"),
+
+    AVERAGE_ACCELERATION("accel"),
+    AVERAGE_DECELERATION("decel"),
+
+    TRAJECTORY_LENGTH("trajLength"),
+    CURVATURE("curvature"),
+    VELOCITY_VARIANCE("veloVariance"),
+    ANGLE_CHANGE_RATE("angleChangeRate"),
+
+    MAX_PRESSURE("maxPress"),
+    MIN_PRESSURE("minPress"),
+    INIT_PRESSURE("initPress"),
+    PRESSURE_CHANGE_RATE("pressChangeRate"),
+    PRESSURE_VARIANCE("pressVariance"),
+
+    MAX_IDLE_TIME("maxIdleTime"),
+    STRAIGHTNESS_RATIO("straightnessRatio"),
+
+    X_DISPLACEMENT("xDisplacement"),
+    Y_DISPLACEMENT("yDisplacement"),
+    AVERAGE_TOUCH_AREA("aveTouchArea");
+
+    /** Layout version; bump whenever a constant is added. */
+    public static final int VERSION = 1;
+
+    /** Number of slots in a vector. */
+    public static final int COUNT = values().length;
+
+    /** DB column / REQUIRED_FEATURES name. */
+    public final String column;
+
+    FeatureIndex(String column) {
+        this.column = column;
+    }
+
+    /**
+     * @return The slot for a DB column name, or null if there is none.
+     */
+    public static FeatureIndex forColumn(String column) {
+        for (FeatureIndex index : values()) {
+            if (index.column.equals(column)) return index;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,263 @@
+package com.project.touchalytics.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Catalogue of the stroke features, and the subset of them that is currently needed.
+ *
+ * Each {@link Feature} owns one {@link FeatureIndex} slot, keyed by its DB column /
+ * REQUIRED_FEATURES name, and knows how to compute itself from a {@link Stroke} and
+ * which derived series of the stroke it reads. Stroke builds those series lazily on
+ * first use, so extracting only the active features never builds a series that no
+ * active feature needs (e.g. the distance resampling behind the angle and pressure
+ * change rates).
+ *
+ * Features that are not active are left at 0 in the {@link Features} object.
+ */
+public final class FeatureRegistry {
+
+    /**
+     * Derived per-stroke data that features share.
+     */
+    public enum Series {
+        /** The raw touch points only. */
+        POINTS,
+        /** Per-segment distances, headings and velocities. */
+        SEGMENTS,
+        /** The path resampled at a fixed spatial step. */
+        RESAMPLED,
+        /** Streaming sketch of pairwise velocities, filled as points are added. */
+        VELOCITY_SKETCH
+    }
+
+    /**
+     * Computes one feature of a stroke.
+     */
+    public interface Extractor {
+        float extract(Stroke stroke);
+    }
+
+    /**
+     * Descriptor of a single feature.
+     */
+    public static final class Feature {
+        public final FeatureIndex index;
+        public final String name;
+        public final Series series;
+        private final Extractor extractor;
+
+        Feature(FeatureIndex index, Series series, Extractor extractor) {
+            this.index = index;
+            this.name = index.column;
+            this.series = series;
+            this.extractor = extractor;
+        }
+
+        /**
+         * Computes this feature of the stroke into its slot of out.
+         */
+        public void extract(Stroke stroke, Features out) {
+            out.vector().set(index, extractor.extract(stroke));
+        }
+
+        public float read(Features features) {
+            return features.vector().get(index);
+        }
+    }
+
+    // Every known feature, in FeatureIndex (DB column) order
+    private static final Feature[] FEATURES = new Feature[FeatureIndex.COUNT];
+
+    static {
+        add(FeatureIndex.STROKE_DURATION, Series.POINTS, s -> s.getEndTime() - s.getStartTime());
+        add(FeatureIndex.MID_STROKE_AREA, Series.POINTS, Stroke::calculateMidStrokeArea);
+        add(FeatureIndex.MID_STROKE_PRESSURE, Series.POINTS, Stroke::calculateMidStrokePressure);
+
+        add(FeatureIndex.DIRECTION_END_TO_END, Series.POINTS, Stroke::calculateDirectionEndToEnd);
+        add(FeatureIndex.AVERAGE_DIRECTION, Series.SEGMENTS, Stroke::calculateAverageDirection);
+        add(FeatureIndex.AVERAGE_VELOCITY, Series.SEGMENTS, Stroke::calculateAverageVelocity);
+        add(FeatureIndex.PAIRWISE_VELOCITY_PERCENTILE, Series.VELOCITY_SKETCH,
+                s -> s.calculatePairwiseVelocityPercentile(50));
+
+        add(FeatureIndex.START_X, Series.POINTS, Stroke::getStartX);
+        add(FeatureIndex.START_Y, Series.POINTS, Stroke::getStartY);
+        add(FeatureIndex.STOP_X, Series.POINTS, Stroke::getStopX);
+        add(FeatureIndex.STOP_Y, Series.POINTS, Stroke::getStopY);
+
+        add(FeatureIndex.TOUCH_AREA, Series.POINTS, Stroke::calculateTotalTouchArea);
+        add(FeatureIndex.MAX_VELOCITY, Series.SEGMENTS, Stroke::calculateMaxVelocity);
+        add(FeatureIndex.MIN_VELOCITY, Series.SEGMENTS, Stroke::calculateMinVelocity);
+
+        add(FeatureIndex.AVERAGE_ACCELERATION, Series.SEGMENTS, Stroke::calculateAverageAcceleration);
+        add(FeatureIndex.AVERAGE_DECELERATION, Series.SEGMENTS, Stroke::calculateAverageDeceleration);
+
+        add(FeatureIndex.TRAJECTORY_LENGTH, Series.SEGMENTS, Stroke::calculateTrajectoryLength);
+        add(FeatureIndex.CURVATURE, Series.POINTS, Stroke::calculateAveragePathDeviation);
+        add(FeatureIndex.VELOCITY_VARIANCE, Series.SEGMENTS, Stroke::calculateVelocityVariance);
+        add(FeatureIndex.ANGLE_CHANGE_RATE, Series.RESAMPLED, Stroke::calculateAngleChangeRate);
+
+        add(FeatureIndex.MAX_PRESSURE, Series.POINTS, Stroke::calculateMaxPressure);
+        add(FeatureIndex.MIN_PRESSURE, Series.POINTS, Stroke::calculateMinPressure);
+        add(FeatureIndex.INIT_PRESSURE, Series.POINTS, Stroke::calculateInitPressure);
+        add(FeatureIndex.PRESSURE_CHANGE_RATE, Series.RESAMPLED, Stroke::calculatePressureChangeRate);
+        add(FeatureIndex.PRESSURE_VARIANCE, Series.POINTS, Stroke::calculatePressureVariance);
+
+        add(FeatureIndex.MAX_IDLE_TIME, Series.SEGMENTS, Stroke::calculateMaxIdleTime);
+        add(FeatureIndex.STRAIGHTNESS_RATIO, Series.SEGMENTS, Stroke::calculateStraightnessRatio);
+
+        add(FeatureIndex.X_DISPLACEMENT, Series.POINTS, Stroke::calculateXDisplacement);
+        add(FeatureIndex.Y_DISPLACEMENT, Series.POINTS, Stroke::calculateYDisplacement);
+        add(FeatureIndex.AVERAGE_TOUCH_AREA, Series.POINTS, Stroke::calculateAverageTouchArea);
+    }
+
+    private static void add(FeatureIndex index, Series series, Extractor extractor) {
+        FEATURES[index.ordinal()] = new Feature(index, series, extractor);
+    }
+
+    private static final FeatureRegistry ALL = new FeatureRegistry(Arrays.asList(FEATURES));
+
+    private final List<Feature> active;
+
+    private FeatureRegistry(List<Feature> active) {
+        this.active = Collections.unmodifiableList(active);
+    }
+
+    /**
+     * @return A registry with every known feature active.
+     */
+    public static FeatureRegistry all() {
+        return ALL;
+    }
+
+    /**
+     * Builds a registry with only the named features active (e.g. the model's
+     * REQUIRED_FEATURES as delivered at login). Duplicates are ignored and the
+     * features keep the DB column order.
+     * @param names Feature names (DB column names).
+     * @throws IllegalArgumentException If a name is not a known feature.
+     */
+    public static FeatureRegistry of(Collection<String> names) {
+        boolean[] wanted = new boolean[FeatureIndex.COUNT];
+        for (String name : names) {
+            FeatureIndex index = FeatureIndex.forColumn(name);
+            if (index == null) {
+                throw new IllegalArgumentException("Unknown feature: " + name);
+            }
+            wanted[index.ordinal()] = true;
+        }
+        List<Feature> active = new ArrayList<>();
+        for (Feature feature : FEATURES) {
+            if (wanted[feature.index.ordinal()]) {
+                active.add(feature);
+            }
+        }
+        return new FeatureRegistry(active);
+    }
+
+    /**
+     * Narrows this registry to the active features that read only the given series, e.g.
+     * all but {@link Series#RESAMPLED} for a compact record of a tap, which skips
+     * resampling the path.
+     * @return A registry with the remaining features active.
+     */
+    public FeatureRegistry withSeries(Set<Series> series) {
+        List<Feature> remaining = new ArrayList<>();
+        for (Feature feature : active) {
+            if (series.contains(feature.series)) {
+                remaining.add(feature);
+            }
+        }
+        return new FeatureRegistry(remaining);
+    }
+
+    /**
+     * @return The active features, in DB column order.
+     */
+    public List<Feature> active() {
+        return active;
+    }
+
+    /**
+     * @return True if the named feature is computed by {@link #extract}.
+     */
+    public boolean isActive(String name) {
+        for (Feature feature : active) {
+            if (feature.name.equals(name)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return The derived series that the active features read.
+     */
+    public Set<Series> requiredSeries() {
+        Set<Series> series = EnumSet.noneOf(Series.class);
+        for (Feature feature : active) {
+            series.add(feature.series);
+        }
+        return series;
+    }
+
+    /**
+     * Computes the active features of a finished stroke.
+     * @param stroke The stroke.
+     * @param out Receives the computed features; inactive features are not touched.
+     * @return out, for chaining.
+     */
+    public Features extract(Stroke stroke, Features out) {
+        for (Feature feature : active) {
+            feature.extract(stroke, out);
+        }
+        return out;
+    }
+
+    /**
+     * Computes the active features of many finished strokes in parallel on the pool,
+     * e.g. when re-extracting recorded sessions. Each stroke is still computed by one
+     * thread, so the results are identical to calling {@link #extract} on each in turn.
+     * @param strokes The strokes; they must not change while this runs.
+     * @param pool The pool to run on.
+     * @return One Features per stroke, in order (user IDs are not set).
+     */
+    public Features[] extractAll(List<Stroke> strokes, ForkJoinPool pool) {
+        Features[] out = new Features[strokes.size()];
+        pool.invoke(new BatchExtract(strokes, out, 0, out.length));
+        return out;
+    }
+
+    private final class BatchExtract extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int LEAF_STROKES = 8;
+
+        private final List<Stroke> strokes;
+        private final Features[] out;
+        private final int from, to;
+
+        BatchExtract(List<Stroke> strokes, Features[] out, int from, int to) {
+            this.strokes = strokes;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_STROKES) {
+                for (int i = from; i < to; i++) {
+                    out[i] = extract(strokes.get(i), new Features());
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchExtract(strokes, out, from, mid), new BatchExtract(strokes, out, mid, to));
+        }
+    }
+}
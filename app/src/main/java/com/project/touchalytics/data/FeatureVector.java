@@ -0,0 +1,139 @@
+package com.project.touchalytics.data;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * The features of one stroke as a single float[], laid out by {@link FeatureIndex}.
+ *
+ * Model scoring and wire encoding can work on the contiguous array directly instead of
+ * going through one getter per feature. {@link Features} stores its values in one of
+ * these, so {@link Features#vector()} gives access without copying.
+ */
+public class FeatureVector {
+
+    /** Encoded size in bytes (one float per slot). */
+    public static final int BYTES = FeatureIndex.COUNT * Float.BYTES;
+
+    private final float[] values = new float[FeatureIndex.COUNT];
+
+    public float get(FeatureIndex index) {
+        return values[index.ordinal()];
+    }
+
+    public void set(FeatureIndex index, float value) {
+        values[index.ordinal()] = value;
+    }
+
+    /**
+     * @return The backing array (not a copy), indexed by {@link FeatureIndex#ordinal()}.
+     */
+    public float[] values() {
+        return values;
+    }
+
+    /**
+     * Copies all slots into the buffer at its position, advancing it by {@link FeatureIndex#COUNT}.
+     */
+    public void writeTo(FloatBuffer out) {
+        out.put(values);
+    }
+
+    /**
+     * Copies all slots into the buffer at its position in the buffer's byte order,
+     * advancing it by {@link #BYTES}.
+     */
+    public void writeTo(ByteBuffer out) {
+        out.asFloatBuffer().put(values);
+        out.position(out.position() + BYTES);
+    }
+
+    /**
+     * Fills all slots from the buffer at its position, advancing it by {@link FeatureIndex#COUNT}.
+     */
+    public void readFrom(FloatBuffer in) {
+        in.get(values);
+    }
+
+    /**
+     * Fills all slots from the buffer at its position in the buffer's byte order,
+     * advancing it by {@link #BYTES}.
+     */
+    public void readFrom(ByteBuffer in) {
+        in.asFloatBuffer().get(values);
+        in.position(in.position() + BYTES);
+    }
+
+    /**
+     * @return The squared Euclidean distance to another vector.
+     */
+    public float squaredDistance(FeatureVector other) {
+        float sum = 0f;
+        for (int i = 0; i < values.length; i++) {
+            float d = values[i] - other.values[i];
+            sum += d * d;
+        }
+        return sum;
+    }
+
+    /**
+     * @return The Euclidean distance to another vector.
+     */
+    public float distance(FeatureVector other) {
+        return (float) Math.sqrt(squaredDistance(other));
+    }
+
+    /**
+     * Multiplies every slot by the same factor, in place.
+     * @return this, for chaining.
+     */
+    public FeatureVector scale(float factor) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] *= factor;
+        }
+        return this;
+    }
+
+    /**
+     * Multiplies each slot by its own factor, in place (e.g. per-feature model weights).
+     * @param factors One factor per slot, indexed by {@link FeatureIndex#ordinal()}.
+     * @return this, for chaining.
+     */
+    public FeatureVector scale(float[] factors) {
+        if (factors.length != values.length) {
+            throw new IllegalArgumentException("Expected " + values.length + " factors, got " + factors.length);
+        }
+        for (int i = 0; i < values.length; i++) {
+            values[i] *= factors[i];
+        }
+        return this;
+    }
+
+    /**
+     * Copies another vector's slots into this one.
+     */
+    public void copyFrom(FeatureVector other) {
+        System.arraycopy(other.values, 0, values, 0, values.length);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof FeatureVector && Arrays.equals(values, ((FeatureVector) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (FeatureIndex index : FeatureIndex.values()) {
+            if (index.ordinal() > 0) sb.append(", ");
+            sb.append(index.column).append('=').append(values[index.ordinal()]);
+        }
+        return sb.append('}').toString();
+    }
+}
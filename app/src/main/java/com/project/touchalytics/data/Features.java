@@ -6,36 +6,9 @@ package com.project.touchalytics.data;
  */
 public class Features {
     private int userID;
-    private float strokeDuration;
-    private float midStrokeArea;
-    private float midStrokePressure;
-    private float maxPressure; // highest pressure applied
-    private float minPressure; // lowest pressure recorded
-    private float initPressure; // Initial pressure recorded
-    private float pressureChangeRate; // pressure change frequency
-    private float pressureVariance; // pressure variance
-    private float averageTouchArea; // average pixel contact area (px^2)
-    private float touchArea; // total pixel contact area (px^2)
-    private float directionEndToEnd;
-    private float averageDirection;
-    private float averageVelocity;
-    private float maxVelocity; // peak instantaneous velocity (pixels/ms)
-    private float minVelocity; // minimum non-zero instantaneous velocity (pixels/ms)
-    private float velocityVariance; // variance of segment velocities ((pixels/ms)^2)
-    private float pairwiseVelocityPercentile;
-    private float startX;
-    private float stopX;
-    private float startY;
-    private float stopY;
-    private float xdis;     // X axis displacement
-    private float ydis;     // Y axis displacement
-    private float averageAcceleration; // average positive acceleration (pixels/ms^2)
-    private float averageDeceleration; // average deceleration magnitude (pixels/ms^2)
-    private float trajectoryLength; // total distance traveled along stroke path (pixels)
-    private float curvature; // average deviation from straight line (pixels)
-    private float angleChangeRate; // direction change frequency (changes/s)
-    private float maxIdleTime;  // max idle time (ms)
-    private float straightnessRatio;    // straightness ratio
+    // All other features, in FeatureIndex slots (DB column order)
+    private final FeatureVector vector = new FeatureVector();
+
     /**
      * Default constructor for Features.
      */
@@ -62,7 +35,7 @@ public class Features {
      * @return The stroke duration.
      */
     public float getStrokeDuration() {
-        return strokeDuration;
+        return vector.get(FeatureIndex.STROKE_DURATION);
     }
 
     /**
@@ -70,7 +43,7 @@ public class Features {
      * @param strokeDuration The stroke duration in milliseconds.
      */
     public void setStrokeDuration(float strokeDuration) {
-        this.strokeDuration = strokeDuration;
+        vector.set(FeatureIndex.STROKE_DURATION, strokeDuration);
     }
 
     /**
@@ -78,7 +51,7 @@ public class Features {
      * @return The mid-stroke area.
      */
     public float getMidStrokeArea() {
-        return midStrokeArea;
+        return vector.get(FeatureIndex.MID_STROKE_AREA);
     }
 
     /**
@@ -86,7 +59,7 @@ public class Features {
      * @param midStrokeArea The mid-stroke area.
      */
     public void setMidStrokeArea(float midStrokeArea) {
-        this.midStrokeArea = midStrokeArea;
+        vector.set(FeatureIndex.MID_STROKE_AREA, midStrokeArea);
     }
 
     /**
@@ -94,7 +67,7 @@ public class Features {
      * @return The mid-stroke pressure.
      */
     public float getMidStrokePressure() {
-        return midStrokePressure;
+        return vector.get(FeatureIndex.MID_STROKE_PRESSURE);
     }
 
     /**
@@ -102,7 +75,7 @@ public class Features {
      * @param midStrokePressure The mid-stroke pressure.
      */
     public void setMidStrokePressure(float midStrokePressure) {
-        this.midStrokePressure = midStrokePressure;
+        vector.set(FeatureIndex.MID_STROKE_PRESSURE, midStrokePressure);
     }
 
     /**
@@ -110,7 +83,7 @@ public class Features {
      * @return The highest pressure applied.
      */
     public float getMaxPressure() {
-        return maxPressure;
+        return vector.get(FeatureIndex.MAX_PRESSURE);
     }
 
     /**
@@ -118,7 +91,7 @@ public class Features {
      * @param maxPressure The highest pressure applied.
      */
     public void setMaxPressure(float maxPressure) {
-        this.maxPressure = maxPressure;
+        vector.set(FeatureIndex.MAX_PRESSURE, maxPressure);
     }
 
     /**
@@ -126,7 +99,7 @@ public class Features {
      * @return The lowest pressure recorded.
      */
     public float getMinPressure() {
-        return minPressure;
+        return vector.get(FeatureIndex.MIN_PRESSURE);
     }
 
     /**
@@ -134,7 +107,7 @@ public class Features {
      * @param minPressure The lowest pressure recorded.
      */
     public void setMinPressure(float minPressure) {
-        this.minPressure = minPressure;
+        vector.set(FeatureIndex.MIN_PRESSURE, minPressure);
     }
 
     /**
@@ -142,7 +115,7 @@ public class Features {
      * @return The lowest pressure recorded.
      */
     public float getInitPressure() {
-        return initPressure;
+        return vector.get(FeatureIndex.INIT_PRESSURE);
     }
 
     /**
@@ -150,7 +123,7 @@ public class Features {
      * @param initPressure The initial pressure recorded.
      */
     public void setInitPressure(float initPressure) {
-        this.initPressure = initPressure;
+        vector.set(FeatureIndex.INIT_PRESSURE, initPressure);
     }
 
     /**
@@ -158,7 +131,7 @@ public class Features {
      * @return The pressure change rate.
      */
     public float getPressureChangeRate() {
-        return pressureChangeRate;
+        return vector.get(FeatureIndex.PRESSURE_CHANGE_RATE);
     }
 
     /**
@@ -166,7 +139,7 @@ public class Features {
      * @param pressureChangeRate The pressure change rate recorded.
      */
     public void setPressureChangeRate(float pressureChangeRate) {
-        this.pressureChangeRate = pressureChangeRate;
+        vector.set(FeatureIndex.PRESSURE_CHANGE_RATE, pressureChangeRate);
     }
 
     /**
@@ -174,7 +147,7 @@ public class Features {
      * @return The pressure variance.
      */
     public float getPressureVariance() {
-        return pressureVariance;
+        return vector.get(FeatureIndex.PRESSURE_VARIANCE);
     }
 
     /**
@@ -182,7 +155,7 @@ public class Features {
      * @param pressureVariance The pressure variance recorded.
      */
     public void setPressureVariance(float pressureVariance) {
-        this.pressureVariance = pressureVariance;
+        vector.set(FeatureIndex.PRESSURE_VARIANCE, pressureVariance);
     }
 
     /**
@@ -190,7 +163,7 @@ public class Features {
      * @return The total touch contact area (px^2).
      */
     public float getTouchArea() {
-        return touchArea;
+        return vector.get(FeatureIndex.TOUCH_AREA);
     }
 
     /**
@@ -198,7 +171,7 @@ public class Features {
      * @param touchArea The total touch contact area (px^2).
      */
     public void setTouchArea(float touchArea) {
-        this.touchArea = touchArea;
+        vector.set(FeatureIndex.TOUCH_AREA, touchArea);
     }
 
     /**
@@ -206,7 +179,7 @@ public class Features {
      * @return The average touch contact area (px^2).
      */
     public float getAverageTouchArea() {
-        return averageTouchArea;
+        return vector.get(FeatureIndex.AVERAGE_TOUCH_AREA);
     }
 
     /**
@@ -214,7 +187,7 @@ public class Features {
      * @param averageTouchArea The average touch contact area (px^2).
      */
     public void setAverageTouchArea(float averageTouchArea) {
-        this.averageTouchArea = averageTouchArea;
+        vector.set(FeatureIndex.AVERAGE_TOUCH_AREA, averageTouchArea);
     }
 
     /**
@@ -222,7 +195,7 @@ public class Features {
      * @return The end-to-end direction.
      */
     public float getDirectionEndToEnd() {
-        return directionEndToEnd;
+        return vector.get(FeatureIndex.DIRECTION_END_TO_END);
     }
 
     /**
@@ -230,7 +203,7 @@ public class Features {
      * @param directionEndToEnd The end-to-end direction.
      */
     public void setDirectionEndToEnd(float directionEndToEnd) {
-        this.directionEndToEnd = directionEndToEnd;
+        vector.set(FeatureIndex.DIRECTION_END_TO_END, directionEndToEnd);
     }
 
     /**
@@ -238,7 +211,7 @@ public class Features {
      * @return The average direction.
      */
     public float getAverageDirection() {
-        return averageDirection;
+        return vector.get(FeatureIndex.AVERAGE_DIRECTION);
     }
 
     /**
@@ -246,7 +219,7 @@ public class Features {
      * @param averageDirection The average direction.
      */
     public void setAverageDirection(float averageDirection) {
-        this.averageDirection = averageDirection;
+        vector.set(FeatureIndex.AVERAGE_DIRECTION, averageDirection);
     }
 
     /**
@@ -254,7 +227,7 @@ public class Features {
      * @return The average velocity.
      */
     public float getAverageVelocity() {
-        return averageVelocity;
+        return vector.get(FeatureIndex.AVERAGE_VELOCITY);
     }
 
     /**
@@ -262,7 +235,7 @@ public class Features {
      * @param averageVelocity The average velocity.
      */
     public void setAverageVelocity(float averageVelocity) {
-        this.averageVelocity = averageVelocity;
+        vector.set(FeatureIndex.AVERAGE_VELOCITY, averageVelocity);
     }
 
     /**
@@ -270,7 +243,7 @@ public class Features {
      * @return The maximum velocity (pixels/ms).
      */
     public float getMaxVelocity() {
-        return maxVelocity;
+        return vector.get(FeatureIndex.MAX_VELOCITY);
     }
 
     /**
@@ -278,7 +251,7 @@ public class Features {
      * @param maxVelocity The maximum velocity (pixels/ms).
      */
     public void setMaxVelocity(float maxVelocity) {
-        this.maxVelocity = maxVelocity;
+        vector.set(FeatureIndex.MAX_VELOCITY, maxVelocity);
     }
 
     /**
@@ -286,7 +259,7 @@ public class Features {
      * @return The minimum positive velocity (pixels/ms). Returns 0 if none observed.
      */
     public float getMinVelocity() {
-        return minVelocity;
+        return vector.get(FeatureIndex.MIN_VELOCITY);
     }
 
     /**
@@ -294,7 +267,7 @@ public class Features {
      * @param minVelocity The minimum positive velocity (pixels/ms).
      */
     public void setMinVelocity(float minVelocity) {
-        this.minVelocity = minVelocity;
+        vector.set(FeatureIndex.MIN_VELOCITY, minVelocity);
     }
 
     /**
@@ -303,7 +276,7 @@ public class Features {
      * @return The velocity variance.
      */
     public float getVelocityVariance() {
-        return velocityVariance;
+        return vector.get(FeatureIndex.VELOCITY_VARIANCE);
     }
 
     /**
@@ -312,7 +285,7 @@ public class Features {
      * @param velocityVariance The velocity variance.
      */
     public void setVelocityVariance(float velocityVariance) {
-        this.velocityVariance = velocityVariance;
+        vector.set(FeatureIndex.VELOCITY_VARIANCE, velocityVariance);
     }
 
     /**
@@ -320,7 +293,7 @@ public class Features {
      * @return The pairwise velocity percentile.
      */
     public float getPairwiseVelocityPercentile() {
-        return pairwiseVelocityPercentile;
+        return vector.get(FeatureIndex.PAIRWISE_VELOCITY_PERCENTILE);
     }
 
     /**
@@ -328,7 +301,7 @@ public class Features {
      * @param pairwiseVelocityPercentile The pairwise velocity percentile.
      */
     public void setPairwiseVelocityPercentile(float pairwiseVelocityPercentile) {
-        this.pairwiseVelocityPercentile = pairwiseVelocityPercentile;
+        vector.set(FeatureIndex.PAIRWISE_VELOCITY_PERCENTILE, pairwiseVelocityPercentile);
     }
 
     /**
@@ -336,7 +309,7 @@ public class Features {
      * @return The starting X-coordinate.
      */
     public float getStartX() {
-        return startX;
+        return vector.get(FeatureIndex.START_X);
     }
 
     /**
@@ -344,7 +317,7 @@ public class Features {
      * @param startX The starting X-coordinate.
      */
     public void setStartX(float startX) {
-        this.startX = startX;
+        vector.set(FeatureIndex.START_X, startX);
     }
 
     /**
@@ -352,7 +325,7 @@ public class Features {
      * @return The ending X-coordinate.
      */
     public float getStopX() {
-        return stopX;
+        return vector.get(FeatureIndex.STOP_X);
     }
 
     /**
@@ -360,7 +333,7 @@ public class Features {
      * @param stopX The ending X-coordinate.
      */
     public void setStopX(float stopX) {
-        this.stopX = stopX;
+        vector.set(FeatureIndex.STOP_X, stopX);
     }
 
     /**
@@ -368,7 +341,7 @@ public class Features {
      * @return The starting Y-coordinate.
      */
     public float getStartY() {
-        return startY;
+        return vector.get(FeatureIndex.START_Y);
     }
 
     /**
@@ -376,7 +349,7 @@ public class Features {
      * @param startY The starting Y-coordinate.
      */
     public void setStartY(float startY) {
-        this.startY = startY;
+        vector.set(FeatureIndex.START_Y, startY);
     }
 
     /**
@@ -384,7 +357,7 @@ public class Features {
      * @return The x axis displacement.
      */
     public float getXDis() {
-        return xdis;
+        return vector.get(FeatureIndex.X_DISPLACEMENT);
     }
 
     /**
@@ -392,7 +365,7 @@ public class Features {
      * @param xDis The x axis displacement.
      */
     public void setXDis(float xDis) {
-        this.xdis = xDis;
+        vector.set(FeatureIndex.X_DISPLACEMENT, xDis);
     }
 
     /**
@@ -400,7 +373,7 @@ public class Features {
      * @return The y axis displacement.
      */
     public float getYDis() {
-        return ydis;
+        return vector.get(FeatureIndex.Y_DISPLACEMENT);
     }
 
     /**
@@ -408,7 +381,7 @@ public class Features {
      * @param yDis The y axis displacement.
      */
     public void setYDis(float yDis) {
-        this.ydis = yDis;
+        vector.set(FeatureIndex.Y_DISPLACEMENT, yDis);
     }
 
     /**
@@ -416,7 +389,7 @@ public class Features {
      * @return The ending Y-coordinate.
      */
     public float getStopY() {
-        return stopY;
+        return vector.get(FeatureIndex.STOP_Y);
     }
 
     /**
@@ -424,7 +397,7 @@ public class Features {
      * @param stopY The ending Y-coordinate.
      */
     public void setStopY(float stopY) {
-        this.stopY = stopY;
+        vector.set(FeatureIndex.STOP_Y, stopY);
     }
 
     /**
@@ -433,7 +406,7 @@ public class Features {
      * @return The average acceleration.
      */
     public float getAverageAcceleration() {
-        return averageAcceleration;
+        return vector.get(FeatureIndex.AVERAGE_ACCELERATION);
     }
 
     /**
@@ -442,7 +415,7 @@ public class Features {
      * @param averageAcceleration The average acceleration.
      */
     public void setAverageAcceleration(float averageAcceleration) {
-        this.averageAcceleration = averageAcceleration;
+        vector.set(FeatureIndex.AVERAGE_ACCELERATION, averageAcceleration);
     }
 
     /**
@@ -451,7 +424,7 @@ public class Features {
      * @return The average deceleration magnitude.
      */
     public float getAverageDeceleration() {
-        return averageDeceleration;
+        return vector.get(FeatureIndex.AVERAGE_DECELERATION);
     }
 
     /**
@@ -460,7 +433,7 @@ public class Features {
      * @param averageDeceleration The average deceleration magnitude.
      */
     public void setAverageDeceleration(float averageDeceleration) {
-        this.averageDeceleration = averageDeceleration;
+        vector.set(FeatureIndex.AVERAGE_DECELERATION, averageDeceleration);
     }
 
     /**
@@ -470,7 +443,7 @@ public class Features {
      * @return The total path length of the stroke.
      */
     public float getTrajectoryLength() {
-        return trajectoryLength;
+        return vector.get(FeatureIndex.TRAJECTORY_LENGTH);
     }
 
     /**
@@ -480,7 +453,7 @@ public class Features {
      * @param trajectoryLength The total path length of the stroke.
      */
     public void setTrajectoryLength(float trajectoryLength) {
-        this.trajectoryLength = trajectoryLength;
+        vector.set(FeatureIndex.TRAJECTORY_LENGTH, trajectoryLength);
     }
 
     /**
@@ -490,7 +463,7 @@ public class Features {
      * @return The average deviation in pixels.
      */
     public float getCurvature() {
-        return curvature;
+        return vector.get(FeatureIndex.CURVATURE);
     }
 
     /**
@@ -500,7 +473,7 @@ public class Features {
      * @param curvature The average deviation in pixels.
      */
     public void setCurvature(float curvature) {
-        this.curvature = curvature;
+        vector.set(FeatureIndex.CURVATURE, curvature);
     }
 
     /**
@@ -509,7 +482,7 @@ public class Features {
      * @return The direction change frequency.
      */
     public float getAngleChangeRate() {
-        return angleChangeRate;
+        return vector.get(FeatureIndex.ANGLE_CHANGE_RATE);
     }
 
     /**
@@ -518,7 +491,7 @@ public class Features {
      * @param angleChangeRate The direction change frequency.
      */
     public void setAngleChangeRate(float angleChangeRate) {
-        this.angleChangeRate = angleChangeRate;
+        vector.set(FeatureIndex.ANGLE_CHANGE_RATE, angleChangeRate);
     }
 
     /**
@@ -527,7 +500,7 @@ public class Features {
      * @return max idle time
      */
     public float getMaxIdleTime() {
-        return maxIdleTime;
+        return vector.get(FeatureIndex.MAX_IDLE_TIME);
     }
 
     /**
@@ -536,7 +509,7 @@ public class Features {
      * @param maxIdleTime The max idle time
      */
     public void setMaxIdleTime(float maxIdleTime) {
-        this.maxIdleTime = maxIdleTime;
+        vector.set(FeatureIndex.MAX_IDLE_TIME, maxIdleTime);
     }
 
     /**
@@ -544,7 +517,7 @@ public class Features {
      * @return the straightness ratio
      */
     public float getStraightnessRatio() {
-        return straightnessRatio;
+        return vector.get(FeatureIndex.STRAIGHTNESS_RATIO);
     }
 
     /**
@@ -552,7 +525,21 @@ public class Features {
      * @param straightnessRatio The straightness ratio
      */
     public void setStraightnessRatio(float straightnessRatio) {
-        this.straightnessRatio = straightnessRatio;
+        vector.set(FeatureIndex.STRAIGHTNESS_RATIO, straightnessRatio);
+    }
+
+    /**
+     * Gets the features as a dense vector, laid out by {@link FeatureIndex}.
+     * This is the backing storage of this object, not a copy.
+     * @return The feature vector (excluding the user ID).
+     */
+    public FeatureVector vector() {
+        return vector;
+    }
+
+    @Override
+    public String toString() {
+        return "Features{userID=" + userID + ", " + vector.toString().substring(1);
     }
 
 }
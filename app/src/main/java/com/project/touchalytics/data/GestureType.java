@@ -0,0 +1,45 @@
+package com.project.touchalytics.data;
+
+/**
+ * Coarse kind of a finished stroke, decided in O(1) from the state a {@link Stroke}
+ * keeps as points are added, so it can be used at ACTION_UP to skip work on taps
+ * (e.g. Wordle key presses) before any feature is computed.
+ *
+ * Thresholds follow the platform defaults (ViewConfiguration's touch slop and long
+ * press timeout) at a typical phone density.
+ */
+public enum GestureType {
+    /** Short touch that stays within the touch slop. */
+    TAP,
+    /** Touch held within the touch slop for at least the long press timeout. */
+    LONG_PRESS,
+    /** Fast movement beyond the touch slop (flings, slashes). */
+    SWIPE,
+    /** Slower movement beyond the touch slop (drags, scrolls). */
+    SCROLL;
+
+    /** Movement, in pixels, below which a touch has not moved. */
+    public static final float TOUCH_SLOP_PX = 24f;
+    /** Hold time, in milliseconds, after which a touch that has not moved is a long press. */
+    public static final long LONG_PRESS_MS = 500;
+    /** Displacement speed, in pixels per millisecond, from which a moving touch is a swipe. */
+    public static final float SWIPE_MIN_SPEED = 0.5f;
+
+    /**
+     * Classifies a stroke from its point count, duration and maximum displacement.
+     * @param stroke The stroke (normally finished, but any prefix can be classified).
+     * @return The gesture type; an empty or single-point stroke is a TAP.
+     */
+    public static GestureType classify(Stroke stroke) {
+        float displacement = stroke.getMaxDisplacement();
+        long duration = stroke.getPointDuration();
+
+        if (displacement <= TOUCH_SLOP_PX) {
+            return duration >= LONG_PRESS_MS ? LONG_PRESS : TAP;
+        }
+        if (duration <= 0 || displacement / duration >= SWIPE_MIN_SPEED) {
+            return SWIPE;
+        }
+        return SCROLL;
+    }
+}
@@ -0,0 +1,132 @@
+package com.project.touchalytics.data;
+
+/**
+ * Streaming quantile estimator over positive values, backed by a fixed log-scale histogram.
+ *
+ * Values are counted into buckets whose bounds grow by GROWTH (4%), so any quantile is
+ * answered to within about 2% relative error, from constant memory and without keeping
+ * or sorting the values. The exact minimum and maximum are tracked, so the 0th and
+ * 100th percentiles are exact. Values below MIN_VALUE (including 0) share one bucket,
+ * as do values above MAX_VALUE.
+ */
+public class QuantileSketch {
+
+    private static final double MIN_VALUE = 1e-3;
+    private static final double MAX_VALUE = 1e3;
+    private static final double GROWTH = 1.04;
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+
+    /** Underflow bucket, log buckets for [MIN_VALUE, MAX_VALUE), overflow bucket. */
+    static final int BUCKETS = (int) Math.ceil(Math.log(MAX_VALUE / MIN_VALUE) / LOG_GROWTH) + 2;
+
+    private final int[] counts = new int[BUCKETS];
+    private int count;
+    private float min = Float.POSITIVE_INFINITY;
+    private float max = Float.NEGATIVE_INFINITY;
+
+    /**
+     * Adds one value. NaN is ignored.
+     */
+    public void add(float value) {
+        if (Float.isNaN(value)) return;
+
+        counts[bucketOf(value)]++;
+        count++;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    /**
+     * @return The number of values added.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Estimates one percentile, picking the same order statistic as sorting the values
+     * and reading index round((n - 1) * percentile / 100).
+     * @param percentile The percentile to estimate (0-100).
+     * @return The estimate, or 0 if no values were added.
+     */
+    public float percentile(int percentile) {
+        if (count == 0) return 0;
+
+        int rank = rankOf(percentile);
+        int seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen > rank) {
+                return valueOf(b, rank);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Estimates several percentiles in a single pass over the buckets.
+     * @param percentiles Percentiles to estimate (0-100), in ascending order.
+     * @param out Receives one estimate per percentile (0 if no values were added).
+     */
+    public void percentiles(int[] percentiles, float[] out) {
+        if (count == 0) {
+            for (int i = 0; i < percentiles.length; i++) {
+                out[i] = 0;
+            }
+            return;
+        }
+
+        int next = 0;
+        int seen = 0;
+        for (int b = 0; b < BUCKETS && next < percentiles.length; b++) {
+            seen += counts[b];
+            while (next < percentiles.length) {
+                int rank = rankOf(percentiles[next]);
+                if (seen <= rank) break;
+                out[next++] = valueOf(b, rank);
+            }
+        }
+        while (next < percentiles.length) {
+            out[next++] = max;
+        }
+    }
+
+    /**
+     * Removes all values.
+     */
+    public void clear() {
+        for (int b = 0; b < BUCKETS; b++) {
+            counts[b] = 0;
+        }
+        count = 0;
+        min = Float.POSITIVE_INFINITY;
+        max = Float.NEGATIVE_INFINITY;
+    }
+
+    private int rankOf(int percentile) {
+        int p = Math.max(0, Math.min(100, percentile));
+        return Math.round((count - 1) * p / 100.0f);
+    }
+
+    /**
+     * Representative value for a rank that falls in bucket b: the bucket's geometric
+     * midpoint, clamped to the observed range. The extreme ranks return exact values.
+     */
+    private float valueOf(int b, int rank) {
+        if (rank == 0) return min;
+        if (rank == count - 1) return max;
+        if (b == 0) return min;
+        if (b == BUCKETS - 1) return max;
+
+        double lower = MIN_VALUE * Math.pow(GROWTH, b - 1);
+        float mid = (float) (lower * Math.sqrt(GROWTH));
+        return Math.max(min, Math.min(max, mid));
+    }
+
+    private static int bucketOf(float value) {
+        if (value < MIN_VALUE) return 0;
+        if (value >= MAX_VALUE) return BUCKETS - 1;
+        int b = 1 + (int) (Math.log(value / MIN_VALUE) / LOG_GROWTH);
+        return Math.min(b, BUCKETS - 2);
+    }
+}
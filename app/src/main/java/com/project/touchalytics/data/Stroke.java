@@ -5,6 +5,8 @@ import android.view.MotionEvent;
 import androidx.annotation.NonNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -17,13 +19,56 @@ public class Stroke {
     long startTime;
     long endTime;
 
-    List<TouchPoint> points;
+    // Only changed through addTouchPoint, which invalidates the cached series
+    private final List<TouchPoint> points = new ArrayList<>();
+    private final List<TouchPoint> pointsView = Collections.unmodifiableList(points);
+
+    // Geometry primitives (strict by default; see GeometryKernel for the fast mode's error bounds)
+    private final GeometryKernel kernel;
+
+    // Velocities between consecutive points, updated as points are added
+    private final QuantileSketch velocitySketch = new QuantileSketch();
+
+    // Running stats updated as points are added, for the O(1) checks in GestureType and StrokeQualityGate
+    private float maxDisplacementSq = 0f;   // furthest squared distance from the first point
+    private float runningPathLength = 0f;
+    int positiveDtSegments = 0;
+    int negativeDtSegments = 0;
+
+    // Per-segment series shared by the calculate* methods, rebuilt after points are added
+    private final Segments segments = new Segments();
+    private boolean segmentsValid = false;
+
+    // Thresholds shared with StrokeStats, whose chunked results must match these methods
+    static final float IDLE_DIST_PX = 10.0f; // movement up to this is "idle" (calculateMaxIdleTime)
+    static final long MIN_DT_MS = 5;         // velocity variance ignores dt < 5 ms
+    static final float MIN_DIST_PX = 2f;     // velocity variance ignores movement < 2 px
+
+    // Path resampled every RESAMPLE_STEP_PX, shared by the angle and pressure change rates
+    private static final float RESAMPLE_STEP_PX = 5f;
+    private final Resampled resampled = new Resampled();
+    private boolean resampledValid = false;
 
     /**
      * Constructs a new Stroke object with an empty list of touch points.
      */
     public Stroke(){
-        this.points = new ArrayList<>();
+        this(GeometryKernel.STRICT);
+    }
+
+    /**
+     * Constructs a new Stroke object that computes its features with the given geometry kernel.
+     * @param kernel {@link GeometryKernel#STRICT} for the exact results, or {@link GeometryKernel#FAST}.
+     */
+    public Stroke(GeometryKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    /**
+     * @return The geometry kernel this stroke computes its features with.
+     */
+    public GeometryKernel getGeometryKernel() {
+        return kernel;
     }
 
     /**
@@ -63,7 +108,7 @@ public class Stroke {
      * @param event The MotionEvent to extract touch data from.
      */
     public void addPointWithEvent(MotionEvent event) {
-        TouchPoint point = new TouchPoint(
+        addPoint(
                 event.getX(),
                 event.getY(),
                 event.getEventTime(),
@@ -72,15 +117,176 @@ public class Stroke {
                 event.getTouchMajor(),
                 event.getTouchMinor()
         );
+    }
+
+    /**
+     * Adds a new {@link TouchPoint} to the stroke from raw touch values
+     * (e.g. a replayed trace instead of a live {@link MotionEvent}).
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @param timestamp The event time in milliseconds.
+     * @param pressure The touch pressure.
+     * @param size The touch size.
+     * @param touchMajor The major axis of the contact area in pixels.
+     * @param touchMinor The minor axis of the contact area in pixels.
+     */
+    public void addPoint(float x, float y, long timestamp, float pressure, float size,
+                         float touchMajor, float touchMinor) {
+        addTouchPoint(new TouchPoint(x, y, timestamp, pressure, size, touchMajor, touchMinor));
+    }
+
+    /**
+     * Appends a point, feeds the velocity from the previous point into the sketch and
+     * updates the running stats.
+     */
+    private void addTouchPoint(TouchPoint point) {
+        if (!points.isEmpty()) {
+            TouchPoint previous = points.get(points.size() - 1);
+            float timeDelta = point.timestamp - previous.timestamp;
+            float distance = calculateDistance(previous, point);
+            runningPathLength += distance;
+            if (timeDelta > 0) {
+                velocitySketch.add(distance / timeDelta);
+                positiveDtSegments++;
+            } else if (timeDelta < 0) {
+                negativeDtSegments++;
+            }
+            TouchPoint first = points.get(0);
+            float dx = point.x - first.x;
+            float dy = point.y - first.y;
+            maxDisplacementSq = Math.max(maxDisplacementSq, dx * dx + dy * dy);
+        }
         points.add(point);
+        segmentsValid = false;
+        resampledValid = false;
+    }
+
+    /**
+     * @return The per-segment series for the current points, built on first use.
+     */
+    private Segments segments() {
+        if (!segmentsValid) {
+            segments.build(points, kernel);
+            segmentsValid = true;
+        }
+        return segments;
+    }
+
+    /**
+     * Primitive per-segment series (segment i joins point i and point i + 1) and the
+     * sums derived from them, computed in a single pass over the points. Arrays are
+     * reused and only grow.
+     */
+    private static final class Segments {
+        int count;
+        float[] dx = new float[0];
+        float[] dy = new float[0];
+        float[] distance = new float[0];
+        float[] heading = new float[0];     // atan2(dy, dx), radians
+        float[] velocity = new float[0];    // pixels/ms, 0 where dt <= 0
+        long[] dt = new long[0];            // ms
+
+        float pathLength;
+
+        // Accelerations between consecutive segments with dt > 0 (px/ms^2)
+        float accelerationSum;
+        int accelerationCount;
+        float decelerationSum;
+        int decelerationCount;
+
+        void build(List<TouchPoint> points, GeometryKernel kernel) {
+            count = Math.max(0, points.size() - 1);
+            if (dx.length < count) {
+                int capacity = Math.max(count, dx.length * 2);
+                dx = new float[capacity];
+                dy = new float[capacity];
+                distance = new float[capacity];
+                heading = new float[capacity];
+                velocity = new float[capacity];
+                dt = new long[capacity];
+            }
+
+            pathLength = 0;
+            accelerationSum = 0;
+            accelerationCount = 0;
+            decelerationSum = 0;
+            decelerationCount = 0;
+
+            boolean hasPrevious = false;
+            float previousVelocity = 0;
+            float previousDt = 0;
+
+            for (int i = 0; i < count; i++) {
+                TouchPoint a = points.get(i);
+                TouchPoint b = points.get(i + 1);
+                float sx = b.x - a.x;
+                float sy = b.y - a.y;
+                long st = b.timestamp - a.timestamp;
+                float d = kernel.length(sx, sy);
+
+                dx[i] = sx;
+                dy[i] = sy;
+                dt[i] = st;
+                distance[i] = d;
+                heading[i] = kernel.atan2(sy, sx);
+                pathLength += d;
+
+                if (st > 0) {
+                    float v = d / st;
+                    velocity[i] = v;
+
+                    if (hasPrevious) {
+                        float denom = (previousDt + st) * 0.5f;     // average dt, in ms
+                        if (denom > 0f) {
+                            float acc = (v - previousVelocity) / denom;
+                            if (acc > 0f) {
+                                accelerationSum += acc;
+                                accelerationCount++;
+                            } else if (acc < 0f) {
+                                decelerationSum += Math.abs(acc);
+                                decelerationCount++;
+                            }
+                        }
+                    }
+                    hasPrevious = true;
+                    previousVelocity = v;
+                    previousDt = st;
+                } else {
+                    velocity[i] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The furthest the stroke has moved from its first point, in pixels. O(1).
+     */
+    public float getMaxDisplacement() {
+        return (float) Math.sqrt(maxDisplacementSq);
+    }
+
+    /**
+     * @return The path length so far, in pixels. O(1).
+     */
+    public float getPathLength() {
+        return runningPathLength;
+    }
+
+    /**
+     * @return The time between the first and last point, in milliseconds. O(1).
+     */
+    public long getPointDuration() {
+        if (points.isEmpty()) return 0;
+        return points.get(points.size() - 1).timestamp - points.get(0).timestamp;
     }
 
     /**
      * Gets the list of {@link TouchPoint} objects that make up this stroke.
-     * @return A list of {@link TouchPoint} objects.
+     * Add points through the addPoint* methods, which keep cached features up to date.
+     * @return A read-only view of the points.
      */
     public List<TouchPoint> getPoints(){
-        return points;
+        return pointsView;
     }
 
     /**
@@ -109,7 +315,7 @@ public class Stroke {
      */
     public void addPointWithFeatures(float x, float y, long timestamp, float pressure, float size) {
         TouchPoint point = new TouchPoint(x, y, timestamp, pressure, size, 0f, 0f);
-        points.add(point);
+        addTouchPoint(point);
     }
 
     /**
@@ -197,40 +403,26 @@ public class Stroke {
      * @return The distance between the two points.
      */
     private float calculateDistance(TouchPoint p1, TouchPoint p2) {
-        return (float) Math.sqrt(Math.pow(p2.x - p1.x, 2) + Math.pow(p2.y - p1.y, 2));
+        return kernel.length(p2.x - p1.x, p2.y - p1.y);
     }
 
     /**
      * Calculates the specified percentile of pairwise velocities between consecutive points in the stroke.
+     * Estimated from a streaming {@link QuantileSketch} (within about 2%), so no velocities are sorted.
      * @param percentile The percentile to calculate (0-100).
      * @return The velocity at the specified percentile. Returns 0 if there are fewer than 2 points or if all time deltas are zero.
      */
     public float calculatePairwiseVelocityPercentile(int percentile) {
+        return velocitySketch.percentile(percentile);
+    }
 
-        if (points.size() < 2) {
-            return 0;
-        }
-
-        List<Float> velocities = new ArrayList<>();
-
-        for (int i = 1; i < points.size(); i++) {
-            float distance = calculateDistance(points.get(i-1), points.get(i));
-            float timeDelta = points.get(i).timestamp - points.get(i-1).timestamp;
-
-            if (timeDelta > 0) {
-                velocities.add(distance / timeDelta);
-            }
-        }
-
-        if (velocities.isEmpty()) {
-            return 0;
-        }
-
-        velocities.sort(Float::compare);
-
-        int index = Math.round((velocities.size() - 1) * percentile / 100.0f);
-
-        return velocities.get(index);
+    /**
+     * Calculates several percentiles of pairwise velocities in one pass, e.g. {10, 50, 90}.
+     * @param percentiles The percentiles to calculate (0-100), in ascending order.
+     * @param out Receives the velocity at each percentile (0 if there are no valid pairs).
+     */
+    public void calculatePairwiseVelocityPercentiles(int[] percentiles, float[] out) {
+        velocitySketch.percentiles(percentiles, out);
     }
 
     /**
@@ -264,7 +456,7 @@ public class Stroke {
         TouchPoint start = points.get(0);
         TouchPoint end = points.get(points.size() - 1);
 
-        return (float) Math.atan2(end.y - start.y, end.x - start.x);
+        return kernel.atan2(end.y - start.y, end.x - start.x);
     }
 
     /**
@@ -325,15 +517,13 @@ public class Stroke {
     public float calculateAverageDirection() {
         if (points.size() < 2) return 0;
 
+        Segments s = segments();
         float totalDirection = 0;
-        int count = 0;
-
-        for (int i = 1; i < points.size(); i++) {
-            totalDirection += (float) Math.atan2(points.get(i).y - points.get(i-1).y, points.get(i).x - points.get(i-1).x);
-            count++;
+        for (int i = 0; i < s.count; i++) {
+            totalDirection += s.heading[i];
         }
 
-        return totalDirection / count;
+        return totalDirection / s.count;
     }
 
     /**
@@ -344,10 +534,7 @@ public class Stroke {
     public float calculateAverageVelocity() {
         if (points.size() < 2) return 0;
 
-        float totalDistance = 0;
-        for (int i = 1; i < points.size(); i++) {
-            totalDistance += calculateDistance(points.get(i-1), points.get(i));
-        }
+        float totalDistance = segments().pathLength;
 
         long totalTime = points.get(points.size() - 1).timestamp - points.get(0).timestamp;
         if (totalTime == 0) return 0; // Avoid division by zero
@@ -364,17 +551,12 @@ public class Stroke {
             return 0;
         }
 
+        Segments s = segments();
         float maxVelocity = 0;
 
-        for (int i = 1; i < points.size(); i++) {
-            float distance = calculateDistance(points.get(i - 1), points.get(i));
-            float timeDelta = points.get(i).timestamp - points.get(i - 1).timestamp;
-
-            if (timeDelta > 0) {
-                float velocity = distance / timeDelta; // pixels/ms
-                if (velocity > maxVelocity) {
-                    maxVelocity = velocity;
-                }
+        for (int i = 0; i < s.count; i++) {
+            if (s.dt[i] > 0 && s.velocity[i] > maxVelocity) {
+                maxVelocity = s.velocity[i]; // pixels/ms
             }
         }
 
@@ -394,15 +576,13 @@ public class Stroke {
             return 0;
         }
 
+        Segments s = segments();
         float minVelocity = Float.MAX_VALUE;
 
-        for (int i = 1; i < points.size(); i++) {
-            float distance = calculateDistance(points.get(i - 1), points.get(i));
-            long timeDelta = points.get(i).timestamp - points.get(i - 1).timestamp;
-
+        for (int i = 0; i < s.count; i++) {
             // Only consider segments with positive time and movement
-            if (timeDelta > 0) {
-                float velocity = distance / timeDelta; // pixels/ms
+            if (s.dt[i] > 0) {
+                float velocity = s.velocity[i]; // pixels/ms
                 if (velocity > 0f && velocity < minVelocity) {
                     minVelocity = velocity;
                 }
@@ -430,43 +610,9 @@ public class Stroke {
             return 0f;
         }
 
-        // Build per-segment velocities and time deltas (only where dt > 0)
-        List<Float> velocities = new ArrayList<>();
-        List<Float> dts = new ArrayList<>();
-
-        for (int i = 1; i < points.size(); i++) {
-            float distance = calculateDistance(points.get(i - 1), points.get(i));
-            long dtMs = points.get(i).timestamp - points.get(i - 1).timestamp;
-            if (dtMs > 0) {
-                velocities.add(distance / dtMs);        // pixels/ms
-                dts.add((float) dtMs);                  // ms
-            }
-        }
-
-        if (velocities.size() < 2) {
-            return 0f;
-        }
-
-        float sumAcc = 0f;
-        int countAcc = 0;
-
-        for (int i = 0; i < velocities.size() - 1; i++) {
-            float v1 = velocities.get(i);
-            float v2 = velocities.get(i + 1);
-            float dt1 = dts.get(i);
-            float dt2 = dts.get(i + 1);
-            float denom = (dt1 + dt2) * 0.5f;          // average dt, in ms
-
-            if (denom > 0f) {
-                float a = (v2 - v1) / denom;           // px/ms^2
-                if (a > 0f) {
-                    sumAcc += a;
-                    countAcc++;
-                }
-            }
-        }
-
-        return countAcc > 0 ? (sumAcc / countAcc) : 0f;
+        // Summed over consecutive segments with dt > 0 when the series is built
+        Segments s = segments();
+        return s.accelerationCount > 0 ? (s.accelerationSum / s.accelerationCount) : 0f;
     }
 
     /**
@@ -486,43 +632,9 @@ public class Stroke {
             return 0f;
         }
 
-        // Build per-segment velocities and time deltas (only where dt > 0)
-        List<Float> velocities = new ArrayList<>();
-        List<Float> dts = new ArrayList<>();
-
-        for (int i = 1; i < points.size(); i++) {
-            float distance = calculateDistance(points.get(i - 1), points.get(i));
-            long dtMs = points.get(i).timestamp - points.get(i - 1).timestamp;
-            if (dtMs > 0) {
-                velocities.add(distance / dtMs);        // pixels/ms
-                dts.add((float) dtMs);                  // ms
-            }
-        }
-
-        if (velocities.size() < 2) {
-            return 0f;
-        }
-
-        float sumDec = 0f;
-        int countDec = 0;
-
-        for (int i = 0; i < velocities.size() - 1; i++) {
-            float v1 = velocities.get(i);
-            float v2 = velocities.get(i + 1);
-            float dt1 = dts.get(i);
-            float dt2 = dts.get(i + 1);
-            float denom = (dt1 + dt2) * 0.5f;          // average dt, in ms
-
-            if (denom > 0f) {
-                float a = (v2 - v1) / denom;           // px/ms^2
-                if (a < 0f) {
-                    sumDec += Math.abs(a);
-                    countDec++;
-                }
-            }
-        }
-
-        return countDec > 0 ? (sumDec / countDec) : 0f;
+        // Summed over consecutive segments with dt > 0 when the series is built
+        Segments s = segments();
+        return s.decelerationCount > 0 ? (s.decelerationSum / s.decelerationCount) : 0f;
     }
 
     /**
@@ -533,11 +645,7 @@ public class Stroke {
     public float calculateTrajectoryLength() {
         if (points.size() < 2) return 0;
 
-        float totalDistance = 0;
-        for (int i = 1; i < points.size(); i++) {
-            totalDistance += calculateDistance(points.get(i - 1), points.get(i));
-        }
-        return totalDistance;
+        return segments().pathLength;
     }
 
     /**
@@ -569,7 +677,7 @@ public class Stroke {
         float diffX = p.x - projX;
         float diffY = p.y - projY;
 
-        return (float) Math.hypot(diffX, diffY);
+        return kernel.hypot(diffX, diffY);
     }
 
 
@@ -620,21 +728,18 @@ public class Stroke {
             return 0f;
         }
 
-        // Minimal guards (tune lightly if needed)
-        final float MIN_DT_MS   = 5f;  // ignore dt < 5 ms
-        final float MIN_DIST_PX = 2f;  // ignore movement < 2 px
-
         // First pass: collect valid speeds and compute mean/variance via Welford
         int n = 0;
         float mean = 0f;
         float m2   = 0f;
 
-        for (int i = 1; i < points.size(); i++) {
-            float dist = calculateDistance(points.get(i - 1), points.get(i));
-            long  dtMs = points.get(i).timestamp - points.get(i - 1).timestamp;
+        Segments s = segments();
+        for (int i = 0; i < s.count; i++) {
+            float dist = s.distance[i];
+            long  dtMs = s.dt[i];
 
             if (dtMs <= 0) continue;
-            if (dtMs < (long) MIN_DT_MS) continue;
+            if (dtMs < MIN_DT_MS) continue;
             if (dist < MIN_DIST_PX) continue;
 
             float v = dist / (float) dtMs; // px/ms
@@ -674,57 +779,12 @@ public class Stroke {
         // Need at least 3 raw points to form 2 steps
         if (points.size() < 3) return 0f;
 
-        // --- Parameters ---
-        final float STEP_PX        = 5f;  // spatial resampling step
-        final int   PERSIST_STEPS  = 2;   // require new bin to persist this many steps
-        final float MIN_STEP_PX    = 1.0f;
-
-        // 1) Resample path by distance (approx. equal-length steps)
-        List<ResampledPoint> sp = resampleByDistance(STEP_PX);
-        if (sp.size() < 3) return 0f;
-
-        // 2) Quantize headings into 8-direction Freeman chain-code bins
-        final int m = sp.size();
-        int[] bins = new int[m - 1];
-        for (int i = 1; i < m; i++) {
-            float dx = sp.get(i).x - sp.get(i - 1).x;
-            float dy = sp.get(i).y - sp.get(i - 1).y;
-            float len = (float) Math.hypot(dx, dy);
-            if (len < MIN_STEP_PX) {
-                bins[i - 1] = bins[Math.max(0, i - 2)]; // repeat previous bin if step too small
-            } else {
-                float ang = (float) Math.atan2(dy, dx); // [-π, π]
-                bins[i - 1] = quantizeDir8(ang);
-            }
-        }
+        // 1) Resample path by distance, 2) quantize each step's heading
+        int n = fillDirectionBins();
+        if (n < 2) return 0f;
 
         // 3) Count debounced direction transitions
-        int changes = 0;
-        int currentBin = bins[0];
-        int pendingBin = currentBin;
-        int persistCount = 0;
-
-        for (int i = 1; i < bins.length; i++) {
-            int b = bins[i];
-            if (b == currentBin) {
-                // same direction, reset any pending switch
-                pendingBin = currentBin;
-                persistCount = 0;
-            } else {
-                // potential change: require it to persist PERSIST_STEPS
-                if (b == pendingBin) {
-                    persistCount++;
-                } else {
-                    pendingBin = b;
-                    persistCount = 1;
-                }
-                if (persistCount >= PERSIST_STEPS) {
-                    changes++;
-                    currentBin = pendingBin;
-                    persistCount = 0;
-                }
-            }
-        }
+        int changes = StrokeStats.DirectionChanges.count(resampled.bins, n);
 
         // 4) Normalize by duration
         float durationMs = points.get(points.size() - 1).timestamp - points.get(0).timestamp;
@@ -733,87 +793,126 @@ public class Stroke {
     }
 
     /**
-     * Quantizes an angle (radians) into one of 8 compass bins (0..7).
-     * Bin 0 centered on 0 rad (east), increasing counter-clockwise.
+     * Quantizes each step of the resampled path into an 8-direction Freeman chain-code
+     * bin, into {@link #directionBins()}.
+     * @return The number of bins (one per step), or 0 if the path has fewer than 3 resampled points.
      */
-    private int quantizeDir8(float ang) {
-        // Map [-π, π] to [0, 2π), then to 8 bins
-        if (ang < 0) ang += (float) (2.0 * Math.PI);
-        float sector = (float) (2.0 * Math.PI / 8.0);
-        int bin = (int) Math.floor((ang + sector * 0.5f) / sector);
-        if (bin >= 8) bin = 0;
-        return bin;
+    int fillDirectionBins() {
+        final float MIN_STEP_PX = 1.0f;
+
+        Resampled sp = resampled();
+        if (sp.count < 3) return 0;
+
+        final int m = sp.count;
+        int[] bins = sp.bins;
+        for (int i = 1; i < m; i++) {
+            float dx = sp.x[i] - sp.x[i - 1];
+            float dy = sp.y[i] - sp.y[i - 1];
+            if (kernel.shorterThan(dx, dy, MIN_STEP_PX)) {
+                bins[i - 1] = bins[Math.max(0, i - 2)]; // repeat previous bin if step too small
+            } else {
+                bins[i - 1] = kernel.direction8(dx, dy);
+            }
+        }
+        return m - 1;
     }
 
     /**
-     * Helper container for resampled points.
+     * @return The bins filled by {@link #fillDirectionBins()} (reused; valid up to its count).
      */
-    private static class ResampledPoint {
-        final float x;
-        final float y;
-        final long tMs;
-        final float p; // normalized pressure
+    int[] directionBins() {
+        return resampled.bins;
+    }
 
-        ResampledPoint(float x, float y, long tMs, float p) {
-            this.x = x; this.y = y; this.tMs = tMs; this.p = p;
+    /**
+     * @return The path resampled every RESAMPLE_STEP_PX, built on first use.
+     */
+    private Resampled resampled() {
+        if (!resampledValid) {
+            resampled.build(points, RESAMPLE_STEP_PX, kernel);
+            resampledValid = true;
         }
+        return resampled;
     }
 
     /**
-     * Resamples the stroke polyline at approximately fixed spatial steps.
+     * The stroke polyline resampled at approximately fixed spatial steps, held in
+     * primitive arrays that are reused and only grow.
      * Preserves timing by linearly interpolating timestamps along segments.
      * Also interpolates pressure between points.
-     *
-     * @param stepPx Desired step length in pixels.
-     * @return List of resampled points (>= 2 if there was movement).
      */
-    private List<ResampledPoint> resampleByDistance(float stepPx) {
-        List<ResampledPoint> out = new ArrayList<>();
-        if (points.isEmpty()) return out;
-
-        TouchPoint p0 = points.get(0);
-        out.add(new ResampledPoint(p0.x, p0.y, p0.timestamp, p0.pressure));
-
-        float carry = 0f;
-
-        for (int i = 1; i < points.size(); i++) {
-            TouchPoint a = points.get(i - 1);
-            TouchPoint b = points.get(i);
-            float segDx = b.x - a.x;
-            float segDy = b.y - a.y;
-            float segLen = (float) Math.hypot(segDx, segDy);
-            if (segLen <= 0f) continue;
-
-            float ux = segDx / segLen;
-            float uy = segDy / segLen;
-
-            float placedFromA = 0f;
-            while (placedFromA + (stepPx - carry) <= segLen) {
-                float d = placedFromA + (stepPx - carry);
-                float rx = a.x + ux * d;
-                float ry = a.y + uy * d;
-
-                float ratio = d / segLen;
-                long rt = a.timestamp + (long) ((b.timestamp - a.timestamp) * ratio);
-                float rp = a.pressure + (b.pressure - a.pressure) * ratio;
-
-                out.add(new ResampledPoint(rx, ry, rt, rp));
+    private static final class Resampled {
+        int count;
+        float[] x = new float[0];
+        float[] y = new float[0];
+        float[] p = new float[0];   // interpolated pressure
+        long[] t = new long[0];     // ms
+        int[] bins = new int[0];    // scratch for calculateAngleChangeRate, one per step
+
+        /**
+         * @param stepPx Desired step length in pixels.
+         */
+        void build(List<TouchPoint> points, float stepPx, GeometryKernel kernel) {
+            count = 0;
+            if (points.isEmpty()) return;
+
+            TouchPoint p0 = points.get(0);
+            add(p0.x, p0.y, p0.timestamp, p0.pressure);
+
+            float carry = 0f;
+
+            for (int i = 1; i < points.size(); i++) {
+                TouchPoint a = points.get(i - 1);
+                TouchPoint b = points.get(i);
+                float segDx = b.x - a.x;
+                float segDy = b.y - a.y;
+                float segLen = kernel.hypot(segDx, segDy);
+                if (segLen <= 0f) continue;
+
+                float ux = segDx / segLen;
+                float uy = segDy / segLen;
+
+                float placedFromA = 0f;
+                while (placedFromA + (stepPx - carry) <= segLen) {
+                    float d = placedFromA + (stepPx - carry);
+                    float rx = a.x + ux * d;
+                    float ry = a.y + uy * d;
+
+                    float ratio = d / segLen;
+                    long rt = a.timestamp + (long) ((b.timestamp - a.timestamp) * ratio);
+                    float rp = a.pressure + (b.pressure - a.pressure) * ratio;
+
+                    add(rx, ry, rt, rp);
+
+                    placedFromA = d;
+                    carry = 0f;
+                }
 
-                placedFromA = d;
-                carry = 0f;
+                float remaining = segLen - placedFromA;
+                carry = Math.min(stepPx, carry + remaining);
             }
 
-            float remaining = segLen - placedFromA;
-            carry = Math.min(stepPx, carry + remaining);
+            TouchPoint last = points.get(points.size() - 1);
+            if (x[count - 1] != last.x || y[count - 1] != last.y) {
+                add(last.x, last.y, last.timestamp, last.pressure);
+            }
         }
 
-        TouchPoint last = points.get(points.size() - 1);
-        ResampledPoint tail = out.get(out.size() - 1);
-        if (tail.x != last.x || tail.y != last.y) {
-            out.add(new ResampledPoint(last.x, last.y, last.timestamp, last.pressure));
+        private void add(float px, float py, long pt, float pp) {
+            if (count == x.length) {
+                int capacity = Math.max(64, count * 2);
+                x = Arrays.copyOf(x, capacity);
+                y = Arrays.copyOf(y, capacity);
+                p = Arrays.copyOf(p, capacity);
+                t = Arrays.copyOf(t, capacity);
+                bins = new int[capacity];
+            }
+            x[count] = px;
+            y[count] = py;
+            t[count] = pt;
+            p[count] = pp;
+            count++;
         }
-
-        return out;
     }
 
     /**
@@ -834,17 +933,14 @@ public class Stroke {
     public float calculatePressureChangeRate() {
         if (points.size() < 3) return 0f;
 
-        // --- Parameters ---
-        final float STEP_PX = 5f;   // resampling step (pixels)
-
-        // 1) Resample stroke by distance (pressure interpolated)
-        List<ResampledPoint> sp = resampleByDistance(STEP_PX);
-        if (sp.size() < 3) return 0f;
+        // 1) Resample stroke by distance (pressure interpolated), shared with calculateAngleChangeRate
+        Resampled sp = resampled();
+        if (sp.count < 3) return 0f;
 
         // 2) Compute total absolute change in pressure
         float totalChange = 0f;
-        for (int i = 1; i < sp.size(); i++) {
-            totalChange += Math.abs(sp.get(i).p - sp.get(i - 1).p);
+        for (int i = 1; i < sp.count; i++) {
+            totalChange += Math.abs(sp.p[i] - sp.p[i - 1]);
         }
 
         // 3) Normalize by total stroke duration
@@ -951,22 +1047,18 @@ public class Stroke {
     public long calculateMaxIdleTime() {
         if (points.size() < 2) return 0L;
 
-        final float IDLE_DIST_PX = 10.0f; // movement threshold to consider "idle" (pixels)
-
         long currentIdleMs = 0L;
         long maxIdleMs = 0L;
 
-        for (int i = 1; i < points.size(); i++) {
-            TouchPoint a = points.get(i - 1);
-            TouchPoint b = points.get(i);
-
-            long dtMs = b.timestamp - a.timestamp;
+        Segments s = segments();
+        for (int i = 0; i < s.count; i++) {
+            long dtMs = s.dt[i];
             if (dtMs <= 0L) {
                 // Non-positive time delta: skip but do not break any current idle run
                 continue;
             }
 
-            float distPx = calculateDistance(a, b);
+            float distPx = s.distance[i];
             if (distPx <= IDLE_DIST_PX) {
                 // Still idle: accumulate this interval
                 currentIdleMs += dtMs;
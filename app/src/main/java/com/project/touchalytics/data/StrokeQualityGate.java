@@ -0,0 +1,86 @@
+package com.project.touchalytics.data;
+
+/**
+ * Validity check for finished strokes, so degenerate ones (a single point, zero duration,
+ * no usable timestamps) are neither counted nor uploaded. Evaluated in O(1) from the
+ * running stats a {@link Stroke} keeps as points are added, before any feature work.
+ */
+public final class StrokeQualityGate {
+
+    /**
+     * Why a stroke was rejected, in the order the checks run.
+     */
+    public enum Rejection {
+        /** Fewer points than the minimum. */
+        TOO_FEW_POINTS,
+        /** Timestamps go backwards, or no two points are apart in time (every velocity would be 0). */
+        BAD_TIMESTAMPS,
+        /** Shorter than the minimum duration. */
+        TOO_SHORT,
+        /** Path shorter than the minimum length. */
+        TOO_LITTLE_MOVEMENT
+    }
+
+    private final int minPoints;
+    private final long minDurationMs;
+    private final float minPathLengthPx;
+
+    /**
+     * @param minPoints Minimum number of points (at least 1).
+     * @param minDurationMs Minimum time between the first and last point, in milliseconds.
+     * @param minPathLengthPx Minimum path length, in pixels (0 lets taps through).
+     * @throws IllegalArgumentException If a parameter is out of range.
+     */
+    public StrokeQualityGate(int minPoints, long minDurationMs, float minPathLengthPx) {
+        if (minPoints < 1 || minDurationMs < 0 || !(minPathLengthPx >= 0f)) {
+            throw new IllegalArgumentException("Invalid stroke quality thresholds");
+        }
+        this.minPoints = minPoints;
+        this.minDurationMs = minDurationMs;
+        this.minPathLengthPx = minPathLengthPx;
+    }
+
+    /**
+     * Checks a finished stroke.
+     * @param stroke The stroke.
+     * @return null if the stroke is usable, otherwise the first check it failed.
+     */
+    public Rejection check(Stroke stroke) {
+        int points = stroke.getPoints().size();
+        if (points < minPoints) {
+            return Rejection.TOO_FEW_POINTS;
+        }
+        if (hasBadTimestamps(stroke)) {
+            return Rejection.BAD_TIMESTAMPS;
+        }
+        if (stroke.getPointDuration() < minDurationMs) {
+            return Rejection.TOO_SHORT;
+        }
+        if (stroke.getPathLength() < minPathLengthPx) {
+            return Rejection.TOO_LITTLE_MOVEMENT;
+        }
+        return null;
+    }
+
+    /**
+     * Checks a finished stroke classified as a {@link GestureType#TAP}. Taps are routed by
+     * the tap policy instead of being held to the minimums, as a key press without MOVE
+     * events is a single sample; only the timestamps are checked.
+     * @param stroke The stroke.
+     * @return null if the stroke is usable, otherwise {@link Rejection#BAD_TIMESTAMPS}.
+     */
+    public Rejection checkTap(Stroke stroke) {
+        return hasBadTimestamps(stroke) ? Rejection.BAD_TIMESTAMPS : null;
+    }
+
+    private static boolean hasBadTimestamps(Stroke stroke) {
+        return stroke.negativeDtSegments > 0
+                || (stroke.getPoints().size() > 1 && stroke.positiveDtSegments == 0);
+    }
+
+    @Override
+    public String toString() {
+        return "StrokeQualityGate{minPoints=" + minPoints + ", minDurationMs=" + minDurationMs
+                + ", minPathLengthPx=" + minPathLengthPx + '}';
+    }
+}
@@ -0,0 +1,251 @@
+package com.project.touchalytics.data;
+
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Reduces oversized strokes (e.g. long WebView scrolls, which can carry thousands of
+ * MotionEvents) to a bounded number of points before feature extraction, so the cost of
+ * extracting and uploading a stroke has a ceiling.
+ *
+ * Points are dropped in two stages, both working on (x, y, t) with time scaled to pixels
+ * by pxPerMs, so a pause or a change of speed counts as a change of path:
+ *  1) Douglas–Peucker: a point is kept if it lies more than tolerancePx from the
+ *     simplified path.
+ *  2) If more than maxPoints remain, Visvalingam–Whyatt: the points spanning the smallest
+ *     triangles with their neighbours are removed until maxPoints remain.
+ *
+ * The first and last points, the pressure extremes and the bounding box extremes are
+ * never dropped, so the start/stop, displacement, pressure range and mid-stroke area
+ * features are unchanged. StrokeSimplifierTest reports how far the other features drift.
+ */
+public final class StrokeSimplifier {
+
+    // First, last, min/max pressure, min/max x and min/max y
+    private static final int MAX_LOCKED_POINTS = 8;
+
+    private final float tolerancePx;
+    private final float pxPerMs;
+    private final int maxPoints;
+
+    /**
+     * @param tolerancePx Maximum (x, y, t) distance, in pixels, of a dropped point from the
+     *                    simplified path. 0 drops only points lying exactly on it.
+     * @param pxPerMs How many pixels one millisecond counts as.
+     * @param maxPoints Hard cap on the points of a simplified stroke (at least 8).
+     * @throws IllegalArgumentException If a parameter is out of range.
+     */
+    public StrokeSimplifier(float tolerancePx, float pxPerMs, int maxPoints) {
+        if (!(tolerancePx >= 0f) || !(pxPerMs >= 0f)) {
+            throw new IllegalArgumentException("tolerancePx and pxPerMs must be non-negative");
+        }
+        if (maxPoints < MAX_LOCKED_POINTS) {
+            throw new IllegalArgumentException("maxPoints must be at least " + MAX_LOCKED_POINTS);
+        }
+        this.tolerancePx = tolerancePx;
+        this.pxPerMs = pxPerMs;
+        this.maxPoints = maxPoints;
+    }
+
+    public int getMaxPoints() {
+        return maxPoints;
+    }
+
+    @Override
+    public String toString() {
+        return "StrokeSimplifier{tolerancePx=" + tolerancePx + ", pxPerMs=" + pxPerMs
+                + ", maxPoints=" + maxPoints + '}';
+    }
+
+    /**
+     * Simplifies a finished stroke.
+     * @param stroke The stroke; it is not modified.
+     * @return A new stroke with the kept points, the same start/end time and geometry kernel,
+     *         or the stroke itself if no point can be dropped.
+     */
+    public Stroke simplify(Stroke stroke) {
+        List<TouchPoint> points = stroke.getPoints();
+        int n = points.size();
+        if (n < 3) return stroke;
+
+        boolean[] locked = lockExtremes(points);
+        boolean[] keep = locked.clone();
+        int kept = douglasPeucker(points, keep);
+        if (kept > maxPoints) {
+            kept = visvalingam(points, keep, locked, kept);
+        }
+        if (kept == n) return stroke;
+
+        Stroke simplified = new Stroke(stroke.getGeometryKernel());
+        simplified.setStartTime(stroke.getStartTime());
+        simplified.setEndTime(stroke.getEndTime());
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) {
+                TouchPoint p = points.get(i);
+                simplified.addPoint(p.x, p.y, p.timestamp, p.pressure, p.size, p.touchMajor, p.touchMinor);
+            }
+        }
+        return simplified;
+    }
+
+    /**
+     * Marks the points that are never dropped.
+     */
+    private static boolean[] lockExtremes(List<TouchPoint> points) {
+        int n = points.size();
+        int minP = 0, maxP = 0, minX = 0, maxX = 0, minY = 0, maxY = 0;
+        for (int i = 1; i < n; i++) {
+            TouchPoint p = points.get(i);
+            if (p.pressure < points.get(minP).pressure) minP = i;
+            if (p.pressure > points.get(maxP).pressure) maxP = i;
+            if (p.x < points.get(minX).x) minX = i;
+            if (p.x > points.get(maxX).x) maxX = i;
+            if (p.y < points.get(minY).y) minY = i;
+            if (p.y > points.get(maxY).y) maxY = i;
+        }
+
+        boolean[] locked = new boolean[n];
+        locked[0] = locked[n - 1] = true;
+        locked[minP] = locked[maxP] = true;
+        locked[minX] = locked[maxX] = true;
+        locked[minY] = locked[maxY] = true;
+        return locked;
+    }
+
+    /**
+     * Keeps every point further than the tolerance from the simplified path, refining each
+     * span between already kept points (iteratively, as scrolls can be thousands of points long).
+     * @return The number of kept points.
+     */
+    private int douglasPeucker(List<TouchPoint> points, boolean[] keep) {
+        int n = points.size();
+        int[] stack = new int[2 * n];
+        int top = 0;
+        int from = 0;
+        for (int i = 1; i < n; i++) {
+            if (keep[i]) {
+                stack[top++] = from;
+                stack[top++] = i;
+                from = i;
+            }
+        }
+
+        while (top > 0) {
+            int b = stack[--top];
+            int a = stack[--top];
+
+            int farthest = -1;
+            float maxDeviation = tolerancePx;
+            for (int i = a + 1; i < b; i++) {
+                float d = deviation(points.get(i), points.get(a), points.get(b));
+                if (d > maxDeviation) {
+                    maxDeviation = d;
+                    farthest = i;
+                }
+            }
+            if (farthest >= 0) {
+                keep[farthest] = true;
+                stack[top++] = a;
+                stack[top++] = farthest;
+                stack[top++] = farthest;
+                stack[top++] = b;
+            }
+        }
+
+        int kept = 0;
+        for (boolean k : keep) {
+            if (k) kept++;
+        }
+        return kept;
+    }
+
+    /**
+     * Removes the unlocked kept points with the smallest effective area until maxPoints remain.
+     * @return The number of kept points.
+     */
+    private int visvalingam(List<TouchPoint> points, boolean[] keep, boolean[] locked, int kept) {
+        int n = points.size();
+        int[] prev = new int[n];
+        int[] next = new int[n];
+        int last = -1;
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) {
+                prev[i] = last;
+                if (last >= 0) next[last] = i;
+                last = i;
+            }
+        }
+        next[last] = -1;
+
+        // Entries are (area bits << 32 | index); non-negative float bits sort like the floats.
+        // An entry is stale once its point is removed or its area recomputed.
+        int[] areaBits = new int[n];
+        PriorityQueue<Long> queue = new PriorityQueue<>();
+        for (int i = 0; i < n; i++) {
+            if (keep[i] && !locked[i]) {
+                enqueue(queue, areaBits, points, prev[i], i, next[i]);
+            }
+        }
+
+        while (kept > maxPoints) {
+            long head = queue.poll();
+            int i = (int) head;
+            if (!keep[i] || (int) (head >>> 32) != areaBits[i]) continue;
+
+            keep[i] = false;
+            kept--;
+            int p = prev[i];
+            int q = next[i];
+            next[p] = q;
+            prev[q] = p;
+            if (!locked[p]) enqueue(queue, areaBits, points, prev[p], p, q);
+            if (!locked[q]) enqueue(queue, areaBits, points, p, q, next[q]);
+        }
+        return kept;
+    }
+
+    private void enqueue(PriorityQueue<Long> queue, int[] areaBits, List<TouchPoint> points,
+                         int a, int i, int b) {
+        int bits = Float.floatToIntBits(area(points.get(a), points.get(i), points.get(b)));
+        areaBits[i] = bits;
+        queue.add(((long) bits << 32) | i);
+    }
+
+    /**
+     * @return The (x, y, t) distance of p from the segment a-b, in pixels.
+     */
+    float deviation(TouchPoint p, TouchPoint a, TouchPoint b) {
+        float dx = b.x - a.x;
+        float dy = b.y - a.y;
+        float dt = (b.timestamp - a.timestamp) * pxPerMs;
+        float px = p.x - a.x;
+        float py = p.y - a.y;
+        float pt = (p.timestamp - a.timestamp) * pxPerMs;
+
+        float lengthSq = dx * dx + dy * dy + dt * dt;
+        float s = lengthSq == 0f ? 0f : (px * dx + py * dy + pt * dt) / lengthSq;
+        s = Math.max(0f, Math.min(1f, s));
+
+        float ex = px - s * dx;
+        float ey = py - s * dy;
+        float et = pt - s * dt;
+        return (float) Math.sqrt(ex * ex + ey * ey + et * et);
+    }
+
+    /**
+     * @return The area of the (x, y, t) triangle a, p, b, in pixels^2.
+     */
+    private float area(TouchPoint a, TouchPoint p, TouchPoint b) {
+        float ux = p.x - a.x;
+        float uy = p.y - a.y;
+        float ut = (p.timestamp - a.timestamp) * pxPerMs;
+        float vx = b.x - a.x;
+        float vy = b.y - a.y;
+        float vt = (b.timestamp - a.timestamp) * pxPerMs;
+
+        float cx = uy * vt - ut * vy;
+        float cy = ut * vx - ux * vt;
+        float cz = ux * vy - uy * vx;
+        return 0.5f * (float) Math.sqrt(cx * cx + cy * cy + cz * cz);
+    }
+}
@@ -0,0 +1,482 @@
+package com.project.touchalytics.data;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Per-stroke statistics as mergeable partial aggregates, so a very long stroke can be
+ * split into chunks of consecutive points that are reduced in parallel on a
+ * {@link ForkJoinPool}.
+ *
+ * A partial covers points [from, to) and the segments starting at those points. Merging
+ * two adjacent partials fixes up what spans their boundary: the acceleration between the
+ * last timed segment on the left and the first on the right, idle runs continuing across
+ * it, and the debounced direction state (see {@link DirectionChanges}).
+ *
+ * Counts, minima/maxima, idle times and direction changes come out identical to the
+ * sequential {@link Stroke} methods. Sums and Welford moments are merged in double
+ * precision and match the sequential float results to within float rounding; a
+ * reassociated float sum cannot be bit-identical in general. The merge tree depends
+ * only on the chunk size, so for a given chunk size the results are the same on every
+ * run whatever the pool's parallelism.
+ *
+ * Only used offline (bulk re-extraction of recorded sessions); live strokes keep the
+ * sequential Stroke methods so their feature rows never depend on chunking.
+ */
+public final class StrokeStats {
+
+    private int pointCount;
+    private long durationMs;
+
+    private float minPressure = Float.POSITIVE_INFINITY;
+    private float maxPressure = Float.NEGATIVE_INFINITY;
+    private final Moments pressure = new Moments();
+
+    private double touchAreaSum;
+    private int touchAreaCount;
+
+    private int segmentCount;
+    private double pathLength;
+    private double headingSum;
+    private float maxVelocity = 0f;
+    private float minVelocity = Float.MAX_VALUE;
+    private final Moments velocity = new Moments();     // segments passing the variance guards
+
+    // First and last segments with dt > 0, to pair accelerations across chunk boundaries
+    private boolean hasTimedSegment;
+    private float firstVelocity;
+    private long firstDt;
+    private float lastVelocity;
+    private long lastDt;
+    private double accelerationSum;
+    private int accelerationCount;
+    private double decelerationSum;
+    private int decelerationCount;
+
+    // Idle runs touching the chunk's start and end, and the longest one seen
+    private boolean allIdle = true;
+    private long idlePrefixMs;
+    private long idleSuffixMs;
+    private long maxIdleMs;
+
+    private DirectionChanges directionChanges;
+
+    private StrokeStats() { }
+
+    /**
+     * Partial statistics over points [from, to) of a stroke.
+     */
+    static StrokeStats of(List<TouchPoint> points, GeometryKernel kernel, int from, int to) {
+        StrokeStats s = new StrokeStats();
+        s.pointCount = to - from;
+
+        for (int i = from; i < to; i++) {
+            TouchPoint p = points.get(i);
+            if (p.pressure < s.minPressure) s.minPressure = p.pressure;
+            if (p.pressure > s.maxPressure) s.maxPressure = p.pressure;
+            s.pressure.add(p.pressure);
+
+            if (p.touchMajor > 0 && p.touchMinor > 0) {
+                s.touchAreaSum += Math.PI * (p.touchMajor / 2.0) * (p.touchMinor / 2.0);
+                s.touchAreaCount++;
+            }
+        }
+
+        int segmentEnd = Math.min(to, points.size() - 1);
+        long currentIdleMs = 0L;
+        for (int i = from; i < segmentEnd; i++) {
+            TouchPoint a = points.get(i);
+            TouchPoint b = points.get(i + 1);
+            float sx = b.x - a.x;
+            float sy = b.y - a.y;
+            long st = b.timestamp - a.timestamp;
+            float d = kernel.length(sx, sy);
+
+            s.segmentCount++;
+            s.pathLength += d;
+            s.headingSum += kernel.atan2(sy, sx);
+            if (st <= 0) continue;
+
+            float v = d / st;
+            if (v > s.maxVelocity) s.maxVelocity = v;
+            if (v > 0f && v < s.minVelocity) s.minVelocity = v;
+            if (st >= Stroke.MIN_DT_MS && d >= Stroke.MIN_DIST_PX) s.velocity.add(d / (float) st);
+
+            if (!s.hasTimedSegment) {
+                s.hasTimedSegment = true;
+                s.firstVelocity = v;
+                s.firstDt = st;
+            } else {
+                s.addAcceleration(s.lastVelocity, s.lastDt, v, st);
+            }
+            s.lastVelocity = v;
+            s.lastDt = st;
+
+            if (d <= Stroke.IDLE_DIST_PX) {
+                currentIdleMs += st;
+                if (s.allIdle) s.idlePrefixMs = currentIdleMs;
+                if (currentIdleMs > s.maxIdleMs) s.maxIdleMs = currentIdleMs;
+            } else {
+                s.allIdle = false;
+                currentIdleMs = 0L;
+            }
+        }
+        s.idleSuffixMs = currentIdleMs;
+        return s;
+    }
+
+    /**
+     * Merges the partial for the points directly after this one into this partial.
+     * @return this, for chaining.
+     */
+    StrokeStats merge(StrokeStats right) {
+        pointCount += right.pointCount;
+
+        minPressure = Math.min(minPressure, right.minPressure);
+        maxPressure = Math.max(maxPressure, right.maxPressure);
+        pressure.merge(right.pressure);
+        touchAreaSum += right.touchAreaSum;
+        touchAreaCount += right.touchAreaCount;
+
+        segmentCount += right.segmentCount;
+        pathLength += right.pathLength;
+        headingSum += right.headingSum;
+        maxVelocity = Math.max(maxVelocity, right.maxVelocity);
+        minVelocity = Math.min(minVelocity, right.minVelocity);
+        velocity.merge(right.velocity);
+
+        // Boundary fix-up: the acceleration between the last timed segment here and the first on the right
+        if (hasTimedSegment && right.hasTimedSegment) {
+            addAcceleration(lastVelocity, lastDt, right.firstVelocity, right.firstDt);
+        }
+        accelerationSum += right.accelerationSum;
+        accelerationCount += right.accelerationCount;
+        decelerationSum += right.decelerationSum;
+        decelerationCount += right.decelerationCount;
+        if (right.hasTimedSegment) {
+            if (!hasTimedSegment) {
+                firstVelocity = right.firstVelocity;
+                firstDt = right.firstDt;
+            }
+            hasTimedSegment = true;
+            lastVelocity = right.lastVelocity;
+            lastDt = right.lastDt;
+        }
+
+        // Boundary fix-up: an idle run ending here continues into the right's leading run
+        maxIdleMs = Math.max(Math.max(maxIdleMs, right.maxIdleMs), idleSuffixMs + right.idlePrefixMs);
+        if (allIdle) idlePrefixMs += right.idlePrefixMs;
+        idleSuffixMs = right.allIdle ? idleSuffixMs + right.idleSuffixMs : right.idleSuffixMs;
+        allIdle &= right.allIdle;
+        return this;
+    }
+
+    private void addAcceleration(float previousVelocity, long previousDt, float v, long st) {
+        // Same float arithmetic as the sequential pass
+        float denom = ((float) previousDt + st) * 0.5f;
+        if (denom <= 0f) return;
+        float acc = (v - previousVelocity) / denom;
+        if (acc > 0f) {
+            accelerationSum += acc;
+            accelerationCount++;
+        } else if (acc < 0f) {
+            decelerationSum += Math.abs(acc);
+            decelerationCount++;
+        }
+    }
+
+    /**
+     * Reduces a whole stroke, splitting it into chunks of about chunkPoints points that
+     * are computed in parallel on the pool. Direction changes are counted the same way
+     * over the stroke's resampled direction bins.
+     * @param stroke The stroke (its geometry kernel is used); it must not change while this runs.
+     * @param pool The pool to run on.
+     * @param chunkPoints Points (or direction bins) per chunk; smaller chunks are not split further.
+     */
+    public static StrokeStats reduce(Stroke stroke, ForkJoinPool pool, int chunkPoints) {
+        List<TouchPoint> points = stroke.getPoints();
+        GeometryKernel kernel = stroke.getGeometryKernel();
+        if (points.isEmpty()) return new StrokeStats();
+
+        int chunk = Math.max(1, chunkPoints);
+        int bins = stroke.fillDirectionBins();
+        int[] binArray = stroke.directionBins();
+
+        RecursiveTask<DirectionChanges> directionTask = bins >= 2
+                ? new Chunks<>(0, bins, chunk, (from, to) -> DirectionChanges.of(binArray, from, to), DirectionChanges::merge)
+                : null;
+        if (directionTask != null) pool.execute(directionTask);
+
+        StrokeStats stats = pool.invoke(new Chunks<>(0, points.size(), chunk,
+                (from, to) -> of(points, kernel, from, to), StrokeStats::merge));
+        stats.durationMs = points.get(points.size() - 1).timestamp - points.get(0).timestamp;
+        stats.directionChanges = directionTask != null ? directionTask.join() : null;
+        return stats;
+    }
+
+    /**
+     * Splits [from, to) in halves down to chunk-sized leaves and merges the results left to right.
+     */
+    private static final class Chunks<T> extends RecursiveTask<T> {
+        private static final long serialVersionUID = 1L;
+
+        interface Leaf<T> { T of(int from, int to); }
+        interface Merge<T> { T merge(T left, T right); }
+
+        private final int from, to, chunk;
+        private final Leaf<T> leaf;
+        private final Merge<T> merge;
+
+        Chunks(int from, int to, int chunk, Leaf<T> leaf, Merge<T> merge) {
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.leaf = leaf;
+            this.merge = merge;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from <= chunk) {
+                return leaf.of(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            Chunks<T> right = new Chunks<>(mid, to, chunk, leaf, merge);
+            right.fork();
+            T left = new Chunks<>(from, mid, chunk, leaf, merge).compute();
+            return merge.merge(left, right.join());
+        }
+    }
+
+    // ---- Results, with the same edge cases as the Stroke methods ----
+
+    public float minPressure() {
+        return pointCount == 0 ? 0 : minPressure;
+    }
+
+    public float maxPressure() {
+        return pointCount == 0 ? 0 : maxPressure;
+    }
+
+    public float pressureVariance() {
+        return pointCount < 2 ? 0f : (float) pressure.sampleVariance();
+    }
+
+    public float totalTouchArea() {
+        return touchAreaCount > 0 ? (float) touchAreaSum : 0f;
+    }
+
+    public float averageTouchArea() {
+        return touchAreaCount > 0 ? (float) (touchAreaSum / touchAreaCount) : 0f;
+    }
+
+    public float trajectoryLength() {
+        return pointCount < 2 ? 0 : (float) pathLength;
+    }
+
+    public float averageDirection() {
+        return pointCount < 2 ? 0 : (float) (headingSum / segmentCount);
+    }
+
+    public float maxVelocity() {
+        return pointCount < 2 ? 0 : maxVelocity;
+    }
+
+    public float minVelocity() {
+        return pointCount < 2 || minVelocity == Float.MAX_VALUE ? 0 : minVelocity;
+    }
+
+    public float averageAcceleration() {
+        return pointCount < 3 || accelerationCount == 0 ? 0f : (float) (accelerationSum / accelerationCount);
+    }
+
+    public float averageDeceleration() {
+        return pointCount < 3 || decelerationCount == 0 ? 0f : (float) (decelerationSum / decelerationCount);
+    }
+
+    /**
+     * @return CV^2 of the segment velocities, as {@link Stroke#calculateVelocityVariance()}.
+     */
+    public float velocityVariance() {
+        if (velocity.n < 2 || velocity.mean <= 0) return 0f;
+        return (float) (velocity.sampleVariance() / (velocity.mean * velocity.mean));
+    }
+
+    public long maxIdleTime() {
+        return pointCount < 2 ? 0L : maxIdleMs;
+    }
+
+    /**
+     * @return Debounced direction changes per second, as {@link Stroke#calculateAngleChangeRate()}.
+     */
+    public float angleChangeRate() {
+        if (pointCount < 3 || directionChanges == null) return 0f;
+        float duration = durationMs;
+        if (duration <= 0f) return 0f;
+        return (directionChanges.changes() * 1000f) / duration;
+    }
+
+    /**
+     * Count, mean and sum of squared deviations, merged with Chan et al.'s pairwise update.
+     */
+    private static final class Moments {
+        long n;
+        double mean;
+        double m2;
+
+        void add(double x) {
+            n++;
+            double delta = x - mean;
+            mean += delta / n;
+            m2 += delta * (x - mean);
+        }
+
+        void merge(Moments other) {
+            if (other.n == 0) return;
+            if (n == 0) {
+                n = other.n;
+                mean = other.mean;
+                m2 = other.m2;
+                return;
+            }
+            long total = n + other.n;
+            double delta = other.mean - mean;
+            mean += delta * other.n / total;
+            m2 += other.m2 + delta * delta * n * other.n / total;
+            n = total;
+        }
+
+        double sampleVariance() {
+            return n > 1 ? m2 / (n - 1) : 0;
+        }
+    }
+
+    /**
+     * Debounced direction-change counting over Freeman chain-code bins, shared by
+     * {@link Stroke#calculateAngleChangeRate()} and the chunked reduction.
+     *
+     * A change is counted when a new bin persists for PERSIST_STEPS steps. After
+     * PERSIST_STEPS equal bins in a row the state is known whatever came before, so a
+     * chunk counts from its first such run ("sync point") on its own, and a merge only
+     * replays the right chunk's bins up to its sync point from the left chunk's exit state.
+     */
+    static final class DirectionChanges {
+        static final int PERSIST_STEPS = 2;
+
+        private final int[] bins;
+        private int from;
+        private int to;
+        private int sync = -1;      // bin index after which the state is known; -1 if none
+        private int changes;        // changes counted after sync
+        private int currentBin;
+        private int pendingBin;
+        private int persistCount;
+
+        private DirectionChanges(int[] bins) {
+            this.bins = bins;
+        }
+
+        /**
+         * Counts the changes in bins[0, count) sequentially, starting in bins[0]'s direction.
+         */
+        static int count(int[] bins, int count) {
+            return of(bins, 0, count).changes;
+        }
+
+        /**
+         * Partial count over bins[from, to).
+         */
+        static DirectionChanges of(int[] bins, int from, int to) {
+            DirectionChanges d = new DirectionChanges(bins);
+            d.from = from;
+            d.to = to;
+            int start = from == 0 ? 0 : syncPoint(bins, from, to);
+            if (start >= 0) {
+                d.start(start);
+                d.run(start + 1, to);
+            }
+            return d;
+        }
+
+        /**
+         * @return The first index i in [from, to) that ends a run of PERSIST_STEPS equal bins, or -1.
+         */
+        private static int syncPoint(int[] bins, int from, int to) {
+            for (int i = Math.max(from, PERSIST_STEPS - 1); i < to; i++) {
+                boolean run = true;
+                for (int k = 1; k < PERSIST_STEPS && run; k++) {
+                    run = bins[i - k] == bins[i];
+                }
+                if (run) return i;
+            }
+            return -1;
+        }
+
+        private void start(int index) {
+            sync = index;
+            currentBin = bins[index];
+            pendingBin = currentBin;
+            persistCount = 0;
+        }
+
+        private void run(int from, int to) {
+            for (int i = from; i < to; i++) {
+                int b = bins[i];
+                if (b == currentBin) {
+                    // same direction, reset any pending switch
+                    pendingBin = currentBin;
+                    persistCount = 0;
+                } else {
+                    // potential change: require it to persist PERSIST_STEPS
+                    if (b == pendingBin) {
+                        persistCount++;
+                    } else {
+                        pendingBin = b;
+                        persistCount = 1;
+                    }
+                    if (persistCount >= PERSIST_STEPS) {
+                        changes++;
+                        currentBin = pendingBin;
+                        persistCount = 0;
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return The changes counted so far (all of them once merged from bin 0).
+         */
+        int changes() {
+            return changes;
+        }
+
+        /**
+         * Merges the partial for the bins directly after this one into this partial.
+         * @return this, for chaining.
+         */
+        DirectionChanges merge(DirectionChanges right) {
+            if (sync < 0) {
+                // Nothing known here yet: the merged state starts at the right's sync point
+                if (right.sync >= 0) {
+                    sync = right.sync;
+                    changes = right.changes;
+                    currentBin = right.currentBin;
+                    pendingBin = right.pendingBin;
+                    persistCount = right.persistCount;
+                }
+            } else if (right.sync >= 0) {
+                // Boundary fix-up: replay the right's bins up to its sync point, then add its count
+                run(right.from, right.sync + 1);
+                changes += right.changes;
+                currentBin = right.currentBin;
+                pendingBin = right.pendingBin;
+                persistCount = right.persistCount;
+            } else {
+                run(right.from, right.to);
+            }
+            to = right.to;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.project.touchalytics;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Update-cost benchmark for {@link GameSimulation}: steps the game for several
+ * simulated minutes per mode with scripted swipes and reports ns per frame.
+ * Runs on the host (no device needed); results are printed to stdout.
+ *
+ * Simulated length per mode can be raised with -Dsim.minutes=N.
+ * Skipped unless run with -Dbench=true.
+ */
+public class GameSimulationBenchmarkTest {
+
+    private static final long SEED = 20240601L;
+    private static final long WARMUP_MS = 60_000;
+
+    @BeforeClass
+    public static void requireBenchSwitch() {
+        assumeTrue("benchmark, run with -Dbench=true", Boolean.getBoolean("bench"));
+    }
+
+    @Test
+    public void benchmark_updateCostPerFrame() {
+        long minutes = Long.getLong("sim.minutes", 10);
+
+        for (GameMode mode : GameMode.values()) {
+            SimulationHarness harness = new SimulationHarness(SEED, mode);
+
+            // Let the JIT settle on the same code paths before timing
+            harness.runFor(WARMUP_MS);
+
+            long startFrames = harness.frames;
+            long t0 = System.nanoTime();
+            harness.runFor(minutes * 60_000);
+            long elapsedNs = System.nanoTime() - t0;
+            long frames = harness.frames - startFrames;
+
+            assertTrue(frames > 0);
+            System.out.println(String.format(
+                    "GameSimulation %s: %d simulated min, %d frames | %.0f ns/frame | %d slices, %d cracks, %d runs",
+                    mode, minutes, frames, (double) elapsedNs / frames,
+                    harness.slices, harness.cracks, harness.gamesOver));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.project.touchalytics;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for the Android-free game rules in {@link GameSimulation}.
+ */
+public class GameSimulationTest {
+
+    @Test
+    public void sameSeed_replaysFrameForFrame() {
+        SimulationHarness a = new SimulationHarness(1234, GameMode.CLASSIC);
+        SimulationHarness b = new SimulationHarness(1234, GameMode.CLASSIC);
+
+        for (int frame = 0; frame < 3 * 60 * 40; frame++) {
+            a.step();
+            b.step();
+            assertEquals("diverged at frame " + frame, a.checksum(), b.checksum());
+        }
+        assertTrue("script should slice something", a.slices > 0);
+        assertEquals(a.slices, b.slices);
+        assertEquals(a.gamesOver, b.gamesOver);
+    }
+
+    @Test
+    public void arcade_endsAfterSixtySimulatedSeconds() {
+        SimulationHarness.ManualClock clock = new SimulationHarness.ManualClock();
+        GameSimulation simulation = new GameSimulation(clock, new Random(1));
+        simulation.setScreenSize(SimulationHarness.SCREEN_W, SimulationHarness.SCREEN_H);
+        simulation.reset(GameMode.ARCADE);
+
+        clock.now += 59_975;
+        simulation.update();
+        assertFalse(simulation.isOver());
+        assertEquals(25, simulation.getTimeRemaining());
+
+        clock.now += 25;
+        simulation.update();
+        assertTrue(simulation.isOver());
+    }
+
+    @Test
+    public void slicingFruits_buildsComboAndScore() {
+        SimulationHarness.ManualClock clock = new SimulationHarness.ManualClock();
+        GameSimulation simulation = new GameSimulation(clock, new Random(1));
+        simulation.setScreenSize(SimulationHarness.SCREEN_W, SimulationHarness.SCREEN_H);
+        simulation.reset(GameMode.CLASSIC);
+
+        simulation.getFruits().add(new Fruit(300, 1000, 0, 0, 0, Fruit.FruitType.APPLE));
+        simulation.getFruits().add(new Fruit(700, 1000, 0, 0, 0, Fruit.FruitType.BANANA));
+
+        SwipeTrail trail = simulation.getSwipeTrail();
+        trail.addPoint(100, 1000);
+        trail.addPoint(900, 1000);
+        clock.now += 25;
+        simulation.update();
+
+        // 10 for the apple, then 10 + combo bonus 2 for the banana
+        assertEquals(22, simulation.getScore());
+        assertEquals(2, simulation.getCombo());
+
+        // Combo expires after a second without a slice
+        clock.now += 1001;
+        simulation.update();
+        assertEquals(0, simulation.getCombo());
+        assertEquals(2, simulation.getMaxCombo());
+    }
+
+    @Test
+    public void firstHit_countsWithClockStartingAtZero() {
+        SimulationHarness.ManualClock clock = new SimulationHarness.ManualClock();
+        clock.now = 0;
+        GameSimulation simulation = new GameSimulation(clock, new Random(1));
+        simulation.setScreenSize(SimulationHarness.SCREEN_W, SimulationHarness.SCREEN_H);
+        simulation.reset(GameMode.CLASSIC);
+
+        simulation.getFruits().add(new Fruit(500, 1000, 0, 0, 0, Fruit.FruitType.APPLE));
+        SwipeTrail trail = simulation.getSwipeTrail();
+        trail.addPoint(100, 1000);
+        trail.addPoint(900, 1000);
+        clock.now += 25;
+        simulation.update();
+
+        assertEquals(10, simulation.getScore());
+    }
+
+    @Test
+    public void bomb_endsClassicRunOnce() {
+        SimulationHarness.ManualClock clock = new SimulationHarness.ManualClock();
+        GameSimulation simulation = new GameSimulation(clock, new Random(1));
+        simulation.setScreenSize(SimulationHarness.SCREEN_W, SimulationHarness.SCREEN_H);
+        int[] gameOvers = new int[1];
+        simulation.setListener(new GameSimulation.Listener() {
+            @Override
+            public void onFruitSliced(Fruit fruit) { }
+
+            @Override
+            public void onFruitCracked(Fruit fruit) { }
+
+            @Override
+            public void onGameOver() {
+                gameOvers[0]++;
+            }
+        });
+        simulation.reset(GameMode.CLASSIC);
+
+        simulation.getFruits().add(new Fruit(300, 1000, 0, 0, 0, Fruit.FruitType.BOMB));
+        simulation.getFruits().add(new Fruit(700, 1000, 0, 0, 0, Fruit.FruitType.BOMB));
+        simulation.getSwipeTrail().addPoint(100, 1000);
+        simulation.getSwipeTrail().addPoint(900, 1000);
+        clock.now += 25;
+        simulation.update();
+
+        assertTrue(simulation.isOver());
+        assertEquals(1, gameOvers[0]);
+    }
+}
@@ -0,0 +1,38 @@
+package com.project.touchalytics;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for the allocation-free labels in {@link HudRenderer}.
+ */
+public class HudRendererTest {
+
+    /** Keeps the last text drawn from a char buffer. */
+    private static class RecordingCanvas extends Canvas {
+        String last;
+
+        @Override
+        public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+            last = new String(text, index, count);
+        }
+    }
+
+    @Test
+    public void doublePointsTimer_showsRoundedTenths() {
+        HudRenderer hud = new HudRenderer(null, null);
+        RecordingCanvas canvas = new RecordingCanvas();
+        Paint paint = new Paint();
+
+        long[] ms = {10_000, 9_950, 9_949, 4_200, 1_049, 999, 50, 49, 0, -5};
+        String[] expected = {"10.0s", "10.0s", "9.9s", "4.2s", "1.0s", "1.0s", "0.1s", "0.0s", "0.0s", "0.0s"};
+        for (int i = 0; i < ms.length; i++) {
+            hud.drawDoublePointsTimer(canvas, ms[i], 0, 0, paint);
+            assertEquals(ms[i] + " ms", expected[i], canvas.last);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.touchalytics;
+
+import com.google.gson.JsonObject;
+import com.project.touchalytics.data.FeatureIndex;
+import com.project.touchalytics.data.FeatureRegistry;
+import com.project.touchalytics.data.Features;
+import com.project.touchalytics.data.GestureType;
+import com.project.touchalytics.data.Stroke;
+import com.project.touchalytics.data.StrokeQualityGate;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import static android.view.MotionEvent.ACTION_DOWN;
+import static android.view.MotionEvent.ACTION_MOVE;
+import static android.view.MotionEvent.ACTION_UP;
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for the stroke handling in {@link MainActivity} that needs no device.
+ */
+public class MainActivityTest {
+
+    /** A Wordle key press: three points within a few pixels over 60 ms. */
+    private static Stroke tap() {
+        Stroke stroke = new Stroke();
+        stroke.setStartTime(1_000);
+        for (int i = 0; i < 3; i++) {
+            stroke.addPoint(300 + i * 2, 1900, 1_000 + i * 30, 0.5f, 0.1f, 12, 9);
+        }
+        stroke.setEndTime(1_060);
+        return stroke;
+    }
+
+    @Test
+    public void compactTap_trainingRowHasEveryColumn() {
+        Stroke tap = tap();
+        FeatureRegistry registry = MainActivity.featuresFor(GestureType.classify(tap), false,
+                FeatureRegistry.all(), TapPolicy.COMPACT);
+        Features features = MainActivity.extractFeatures(tap, 7, registry);
+
+        JSONObject row = MainActivity.featuresToJSON(features, registry);
+        assertEquals(1 + FeatureIndex.COUNT, row.length());
+        for (FeatureIndex index : FeatureIndex.values()) {
+            assertTrue(index.column, row.has(index.column));
+        }
+    }
+
+    @Test
+    public void compactTap_authenticationSkipsResampledFeatures() {
+        Stroke tap = tap();
+        FeatureRegistry registry = MainActivity.featuresFor(GestureType.classify(tap), true,
+                FeatureRegistry.all(), TapPolicy.COMPACT);
+        JsonObject payload = MainActivity.featuresToAuthJson(MainActivity.extractFeatures(tap, 7, registry), registry);
+
+        assertTrue(payload.has("aveVelo"));
+        assertFalse(payload.has("angleChangeRate"));
+        assertEquals(1 + FeatureIndex.COUNT - 2, payload.size());
+    }
+
+    @Test
+    public void dropPolicy_dropsTapsInEitherMode() {
+        assertNull(MainActivity.featuresFor(GestureType.TAP, false, FeatureRegistry.all(), TapPolicy.DROP));
+        assertNull(MainActivity.featuresFor(GestureType.TAP, true, FeatureRegistry.all(), TapPolicy.DROP));
+        assertSame(FeatureRegistry.all(),
+                MainActivity.featuresFor(GestureType.TAP, true, FeatureRegistry.all(), TapPolicy.EXTRACT));
+    }
+
+    @Test
+    public void motionlessLongPress_isRejectedAndCounted() {
+        MainActivity manager = MainActivity.getInstance();
+        try {
+            manager.initialize(null, 7, null, 1000, 0L, false);
+
+            manager.handleTouch(ACTION_DOWN, 5_000, 300, 1900, 0.5f, 0.1f, 12f, 9f);
+            manager.handleTouch(ACTION_MOVE, 5_600, 300, 1900, 0.5f, 0.1f, 12f, 9f);
+            manager.handleTouch(ACTION_UP, 5_650, 300, 1900, 0.5f, 0.1f, 12f, 9f);
+
+            StrokeQualityGate.Rejection reason = StrokeQualityGate.Rejection.TOO_LITTLE_MOVEMENT;
+            assertEquals(0, manager.getStrokeCount());
+            assertEquals(1, manager.getRejectedCount(reason));
+            assertEquals(1, manager.getRejectionMetrics().lifetimeCount(reason));
+        } finally {
+            manager.reset();
+        }
+        assertEquals(0, manager.getRejectedCount());
+    }
+}
@@ -0,0 +1,182 @@
+package com.project.touchalytics;
+
+import android.view.MotionEvent;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Steps a {@link GameSimulation} on a manual clock at the game loop's frame period,
+ * with scripted swipes aimed at live fruit. Fully deterministic for a given seed.
+ */
+class SimulationHarness implements GameSimulation.Listener {
+
+    static final long FRAME_MS = 25;          // GameView sleeps 25 ms per frame (~40 FPS)
+    static final int SCREEN_W = 1080;
+    static final int SCREEN_H = 2400;
+
+    private static final int SWIPE_EVERY_FRAMES = 12;
+    private static final int SWIPE_FRAMES = 3;  // a slash spans a few frames
+    private static final int POINTS_PER_FRAME = 4;
+    private static final float SWIPE_LENGTH = 700;
+
+    /** Clock that only moves when the harness says so. */
+    static class ManualClock implements GameSimulation.Clock {
+        long now = 1_000_000;
+
+        @Override
+        public long now() {
+            return now;
+        }
+    }
+
+    final ManualClock clock = new ManualClock();
+    final GameSimulation simulation;
+    private final Random script;
+    private final GameMode mode;
+
+    long frames;
+    int slices;
+    int cracks;
+    int gamesOver;
+
+    private int swipeFrame = -1;
+    private float swipeX, swipeY, swipeDx, swipeDy;
+
+    SimulationHarness(long seed, GameMode mode) {
+        this.mode = mode;
+        simulation = new GameSimulation(clock, new Random(seed));
+        simulation.setScreenSize(SCREEN_W, SCREEN_H);
+        simulation.setListener(this);
+        simulation.reset(mode);
+        script = new Random(seed ^ 0x5DEECE66DL);
+    }
+
+    /**
+     * Runs whole frames until the given simulated time has passed; a finished run
+     * restarts in the same mode.
+     */
+    void runFor(long simulatedMs) {
+        long end = clock.now + simulatedMs;
+        while (clock.now < end) {
+            step();
+        }
+    }
+
+    /**
+     * One frame: advance the clock, feed this frame's swipe points, update.
+     */
+    void step() {
+        clock.now += FRAME_MS;
+        scriptSwipe();
+        update();
+    }
+
+    /**
+     * Replays a recorded touch trace instead of the scripted swipes. Events are routed
+     * through a {@link SwipePath} over the simulation's trail, as GameView.handleTouch
+     * does while PLAYING, and the clock advances in whole frames up to each event.
+     */
+    void replay(TouchTrace trace) {
+        if (trace.count == 0) return;
+        SwipePath path = new SwipePath(simulation.getSwipeTrail());
+        long offset = clock.now - trace.eventTimes[0];
+
+        for (int i = 0; i < trace.count; i++) {
+            while (clock.now + FRAME_MS <= trace.eventTimes[i] + offset) {
+                clock.now += FRAME_MS;
+                update();
+            }
+            switch (trace.actions[i]) {
+                case MotionEvent.ACTION_DOWN:
+                    path.startPath(trace.xs[i], trace.ys[i]);
+                    break;
+                case MotionEvent.ACTION_MOVE:
+                    path.addPoint(trace.xs[i], trace.ys[i]);
+                    break;
+                case MotionEvent.ACTION_UP:
+                    path.endPath();
+                    break;
+            }
+        }
+        clock.now += FRAME_MS;
+        update();
+    }
+
+    private void update() {
+        simulation.update();
+        frames++;
+        if (simulation.isOver()) {
+            simulation.reset(mode);
+            swipeFrame = -1;
+        }
+    }
+
+    private void scriptSwipe() {
+        SwipeTrail trail = simulation.getSwipeTrail();
+
+        if (swipeFrame < 0 && frames % SWIPE_EVERY_FRAMES == 0) {
+            Fruit target = pickTarget();
+            if (target == null) return;
+
+            // Slash through where the target is, from a random direction
+            double angle = script.nextDouble() * Math.PI * 2;
+            swipeDx = (float) Math.cos(angle) * SWIPE_LENGTH;
+            swipeDy = (float) Math.sin(angle) * SWIPE_LENGTH;
+            swipeX = target.x - swipeDx / 2;
+            swipeY = target.y - swipeDy / 2;
+            trail.clear();
+            trail.addPoint(swipeX, swipeY);
+            swipeFrame = 0;
+        }
+
+        if (swipeFrame >= 0) {
+            int total = SWIPE_FRAMES * POINTS_PER_FRAME;
+            for (int i = 1; i <= POINTS_PER_FRAME; i++) {
+                float t = (float) (swipeFrame * POINTS_PER_FRAME + i) / total;
+                trail.addPoint(swipeX + swipeDx * t, swipeY + swipeDy * t);
+            }
+            if (++swipeFrame == SWIPE_FRAMES) {
+                swipeFrame = -1;
+            }
+        }
+    }
+
+    private Fruit pickTarget() {
+        List<Fruit> fruits = simulation.getFruits();
+        if (fruits.isEmpty()) return null;
+        Fruit fruit = fruits.get(script.nextInt(fruits.size()));
+        return fruit.isSliced() ? null : fruit;
+    }
+
+    /**
+     * Order-sensitive digest of the visible game state, for replay comparisons.
+     */
+    long checksum() {
+        long h = simulation.getScore();
+        h = h * 31 + simulation.getLives();
+        h = h * 31 + simulation.getCombo();
+        h = h * 31 + Float.floatToIntBits(simulation.getDifficultyMultiplier());
+        for (Fruit fruit : simulation.getFruits()) {
+            h = h * 31 + fruit.getType().ordinal();
+            h = h * 31 + Float.floatToIntBits(fruit.x);
+            h = h * 31 + Float.floatToIntBits(fruit.y);
+        }
+        return h;
+    }
+
+    @Override
+    public void onFruitSliced(Fruit fruit) {
+        slices++;
+    }
+
+    @Override
+    public void onFruitCracked(Fruit fruit) {
+        cracks++;
+    }
+
+    @Override
+    public void onGameOver() {
+        gamesOver++;
+    }
+}
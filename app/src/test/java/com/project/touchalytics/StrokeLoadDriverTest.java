@@ -0,0 +1,165 @@
+package com.project.touchalytics;
+
+import com.google.gson.JsonObject;
+import com.project.touchalytics.data.Features;
+import com.project.touchalytics.data.Stroke;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import retrofit2.Response;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Load driver for the stroke pipeline: synthetic strokes go through the same feature
+ * extraction, serialization, FSTORE socket exchange and /authenticate call that
+ * MainActivity uses, against a {@link StubTouchalyticsServer} on loopback.
+ *
+ * Reports overall throughput and p50/p99/p999 latency for every stage and end to end.
+ * Runs on the host; results are printed to stdout.
+ *
+ * Size can be changed with -Dload.strokes=N, -Dload.threads=N and -Dload.sampleRate=Hz.
+ * Skipped unless run with -Dbench=true.
+ */
+public class StrokeLoadDriverTest {
+
+    private static final long SEED = 20240601L;
+    private static final int USER_ID = 1;
+
+    private static final String[] STAGES = {
+            "generate", "extract", "serialize", "fstore", "authenticate", "end-to-end"
+    };
+    private static final int GENERATE = 0;
+    private static final int EXTRACT = 1;
+    private static final int SERIALIZE = 2;
+    private static final int FSTORE = 3;
+    private static final int AUTHENTICATE = 4;
+    private static final int END_TO_END = 5;
+
+    @BeforeClass
+    public static void requireBenchSwitch() {
+        assumeTrue("benchmark, run with -Dbench=true", Boolean.getBoolean("bench"));
+    }
+
+    @Test
+    public void load_strokePipelineAgainstStubServer() throws Exception {
+        int strokes = Integer.getInteger("load.strokes", 5000);
+        int threads = Integer.getInteger("load.threads", 8);
+        int sampleRate = Integer.getInteger("load.sampleRate", 120);
+
+        // Warm up the JIT and connection paths before the measured run
+        runLoad(Math.min(strokes, 1000), threads, sampleRate, SEED + 1);
+        long[][] latencies = runLoad(strokes, threads, sampleRate, SEED);
+
+        assertEquals(strokes, latencies[END_TO_END].length);
+    }
+
+    /**
+     * Pushes the strokes through the pipeline on a worker pool and prints the report.
+     * @return Per-stage latencies in ns, one row per stage.
+     */
+    private long[][] runLoad(int strokes, int threads, int sampleRate, long seed) throws Exception {
+        long[][] latencies = new long[STAGES.length][strokes];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger matched = new AtomicInteger();
+
+        try (StubTouchalyticsServer server = new StubTouchalyticsServer(threads)) {
+            RetrofitClient.ApiService api = RetrofitClient.create(server.authBaseUrl())
+                    .create(RetrofitClient.ApiService.class);
+
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            long wallStart = System.nanoTime();
+
+            for (int w = 0; w < threads; w++) {
+                // Each worker owns a generator, so strokes don't depend on scheduling
+                SyntheticStrokes generator = new SyntheticStrokes(seed + w, sampleRate, 1080, 2400);
+                pool.execute(() -> {
+                    for (int i; (i = next.getAndIncrement()) < strokes; ) {
+                        try {
+                            if (runOne(i, generator, server, api, latencies)) {
+                                matched.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            throw new RuntimeException("Stroke " + i + " failed", e);
+                        }
+                    }
+                });
+            }
+
+            pool.shutdown();
+            assertTrue("Load run timed out", pool.awaitTermination(10, TimeUnit.MINUTES));
+            long wallNs = System.nanoTime() - wallStart;
+
+            assertEquals(strokes, server.fstoreReceived.get());
+            assertEquals(strokes, server.authReceived.get());
+            assertEquals(strokes, matched.get());
+
+            report(strokes, threads, sampleRate, wallNs, latencies);
+        }
+        return latencies;
+    }
+
+    /**
+     * @return Whether the stub server's decision was a match.
+     */
+    private static boolean runOne(int index, SyntheticStrokes generator, StubTouchalyticsServer server,
+                                  RetrofitClient.ApiService api, long[][] latencies) throws Exception {
+        long t0 = System.nanoTime();
+        Stroke stroke = generator.next(index * 500L);
+        long t1 = System.nanoTime();
+        Features features = MainActivity.extractFeatures(stroke, USER_ID);
+        long t2 = System.nanoTime();
+        String fstoreJson = MainActivity.featuresToJSON(features).toString();
+        JsonObject authJson = MainActivity.featuresToAuthJson(features);
+        long t3 = System.nanoTime();
+        String reply = MainActivity.sendFstore(server.host(), server.fstorePort(), fstoreJson);
+        long t4 = System.nanoTime();
+        Response<JsonObject> response = api.sendFeatures(USER_ID, authJson).execute();
+        long t5 = System.nanoTime();
+
+        assertEquals("OK", reply);
+        assertTrue(response.isSuccessful());
+
+        latencies[GENERATE][index] = t1 - t0;
+        latencies[EXTRACT][index] = t2 - t1;
+        latencies[SERIALIZE][index] = t3 - t2;
+        latencies[FSTORE][index] = t4 - t3;
+        latencies[AUTHENTICATE][index] = t5 - t4;
+        latencies[END_TO_END][index] = t5 - t0;
+
+        return "true".equalsIgnoreCase(response.body().get("match").getAsString());
+    }
+
+    private static void report(int strokes, int threads, int sampleRate, long wallNs, long[][] latencies) {
+        System.out.println(String.format(
+                "Stroke load: %d strokes, %d threads, %d Hz | %.0f strokes/s",
+                strokes, threads, sampleRate, strokes * 1e9 / wallNs));
+
+        for (int stage = 0; stage < STAGES.length; stage++) {
+            long[] sorted = latencies[stage].clone();
+            Arrays.sort(sorted);
+            System.out.println(String.format(
+                    "  %-12s p50 %8.1f us | p99 %8.1f us | p999 %8.1f us",
+                    STAGES[stage],
+                    percentile(sorted, 0.50) / 1e3,
+                    percentile(sorted, 0.99) / 1e3,
+                    percentile(sorted, 0.999) / 1e3));
+        }
+    }
+
+    /**
+     * Nearest-rank percentile of an ascending array.
+     */
+    private static long percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+}
@@ -0,0 +1,153 @@
+package com.project.touchalytics;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the Python backend, listening on loopback only.
+ *
+ * The socket side accepts "FSTORE|{json}" exactly like {@link MainActivity#sendFstore}
+ * sends it and answers "OK" once the JSON object is complete. The HTTP side answers
+ * POST /authenticate/{userID} with a fixed {"match":"true"} decision. Neither does any
+ * real work, so measured latency is the client's extraction and transport cost.
+ */
+class StubTouchalyticsServer implements AutoCloseable {
+
+    private static final byte[] FSTORE_REPLY = "OK".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] AUTH_REPLY =
+            "{\"match\":\"true\",\"message\":\"stub\"}".getBytes(StandardCharsets.UTF_8);
+
+    static {
+        // Without TCP_NODELAY small responses sit behind delayed ACKs (~40 ms each)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final ServerSocket fstoreSocket;
+    private final HttpServer authServer;
+    private final ExecutorService fstoreWorkers;
+    private final ExecutorService authWorkers;
+    private final Thread acceptThread;
+
+    final AtomicLong fstoreReceived = new AtomicLong();
+    final AtomicLong authReceived = new AtomicLong();
+
+    StubTouchalyticsServer(int workerThreads) throws IOException {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+
+        fstoreSocket = new ServerSocket(0, 512, loopback);
+        fstoreWorkers = Executors.newFixedThreadPool(workerThreads);
+        acceptThread = new Thread(this::acceptLoop, "StubFstoreAccept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+
+        authServer = HttpServer.create(new InetSocketAddress(loopback, 0), 512);
+        authWorkers = Executors.newFixedThreadPool(workerThreads);
+        authServer.setExecutor(authWorkers);
+        authServer.createContext("/authenticate/", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                drain(in);
+            }
+            authReceived.incrementAndGet();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, AUTH_REPLY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(AUTH_REPLY);
+            }
+        });
+        authServer.start();
+    }
+
+    String host() {
+        return fstoreSocket.getInetAddress().getHostAddress();
+    }
+
+    int fstorePort() {
+        return fstoreSocket.getLocalPort();
+    }
+
+    /**
+     * @return Base URL for {@link RetrofitClient#create(String)}.
+     */
+    String authBaseUrl() {
+        return "http://" + host() + ":" + authServer.getAddress().getPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        fstoreSocket.close();
+        authServer.stop(0);
+        fstoreWorkers.shutdownNow();
+        authWorkers.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!fstoreSocket.isClosed()) {
+            try {
+                Socket client = fstoreSocket.accept();
+                fstoreWorkers.execute(() -> handleFstore(client));
+            } catch (IOException e) {
+                // Socket closed by close()
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads until the JSON object after the "FSTORE|" prefix is balanced, then replies.
+     * The client keeps its side open while it waits, so EOF can't mark the end.
+     */
+    private void handleFstore(Socket client) {
+        try (Socket socket = client) {
+            InputStream in = socket.getInputStream();
+            byte[] buffer = new byte[4096];
+            int depth = 0;
+            boolean started = false;
+            boolean inString = false;
+            boolean escaped = false;
+
+            read:
+            for (int n; (n = in.read(buffer)) > 0; ) {
+                for (int i = 0; i < n; i++) {
+                    byte b = buffer[i];
+                    if (inString) {
+                        if (escaped) escaped = false;
+                        else if (b == '\\') escaped = true;
+                        else if (b == '"') inString = false;
+                    } else if (b == '"') {
+                        inString = true;
+                    } else if (b == '{') {
+                        depth++;
+                        started = true;
+                    } else if (b == '}' && --depth == 0 && started) {
+                        break read;
+                    }
+                }
+            }
+
+            fstoreReceived.incrementAndGet();
+            OutputStream out = socket.getOutputStream();
+            out.write(FSTORE_REPLY);
+            out.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[4096];
+        while (in.read(buffer) > 0) {
+            // discard
+        }
+    }
+}
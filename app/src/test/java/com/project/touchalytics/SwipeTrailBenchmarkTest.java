@@ -0,0 +1,216 @@
+package com.project.touchalytics;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Microbenchmark for per-frame swipe-fruit collision: the original full scan over an
+ * ArrayList of points versus {@link SwipeTrail}'s incremental swept test, driven the
+ * way GameSimulation drives it (a few new points per frame, every fruit tested).
+ * Runs on the host (no device needed); throughput is printed to stdout.
+ * The throughput run is skipped unless run with -Dbench=true.
+ */
+public class SwipeTrailBenchmarkTest {
+
+    private static final int SCREEN_W = 1080;
+    private static final int SCREEN_H = 2400;
+    private static final int FRUITS = 20;
+    private static final int SEGMENTS = 50;
+    private static final int POINTS_PER_FRAME = 2;
+    private static final int SCENARIOS = 200;
+    private static final int ROUNDS = 200;
+
+    @Test
+    public void sweptCollision_hitsFruitOnSwipe() {
+        Random random = new Random(42);
+        for (int s = 0; s < SCENARIOS; s++) {
+            float[][] swipe = randomSwipe(random, SEGMENTS + 1);
+            SwipeTrail trail = new SwipeTrail();
+            for (float[] p : swipe) {
+                trail.addPoint(p[0], p[1]);
+            }
+            trail.beginCollisionFrame();
+
+            // A stationary fruit centred on any buffered point must be hit
+            float[] p = swipe[1 + random.nextInt(SEGMENTS)];
+            assertTrue(trail.intersectsSwept(p[0], p[1], p[0], p[1], 90));
+        }
+    }
+
+    @Test
+    public void benchmark_frameThroughput() {
+        assumeTrue("benchmark, run with -Dbench=true", Boolean.getBoolean("bench"));
+
+        Random random = new Random(7);
+        float[][][] swipes = new float[SCENARIOS][][];
+        float[][][] fruits = new float[SCENARIOS][][];
+        for (int s = 0; s < SCENARIOS; s++) {
+            swipes[s] = randomSwipe(random, SEGMENTS + 1);
+            fruits[s] = randomFruits(random);
+        }
+
+        // Warm up both paths before timing
+        runLegacy(swipes, fruits, ROUNDS / 4);
+        runSwept(swipes, fruits, ROUNDS / 4);
+
+        long t0 = System.nanoTime();
+        int legacyHits = runLegacy(swipes, fruits, ROUNDS);
+        long legacyNs = System.nanoTime() - t0;
+
+        t0 = System.nanoTime();
+        int sweptHits = runSwept(swipes, fruits, ROUNDS);
+        long sweptNs = System.nanoTime() - t0;
+
+        long frames = (long) ROUNDS * SCENARIOS * frameCount();
+        System.out.println(String.format(
+                "collision frame: %d fruits, %d-segment swipe, %d points/frame | legacy %.2f M frames/s (%d hits)"
+                        + " | swept %.2f M frames/s (%d hits) | speedup %.2fx",
+                FRUITS, SEGMENTS, POINTS_PER_FRAME,
+                frames * 1e3 / legacyNs, legacyHits,
+                frames * 1e3 / sweptNs, sweptHits,
+                (double) legacyNs / sweptNs));
+    }
+
+    private static int frameCount() {
+        return (SEGMENTS + POINTS_PER_FRAME) / POINTS_PER_FRAME;
+    }
+
+    /** Every frame rescans the whole history against each fruit's current position. */
+    private int runLegacy(float[][][] swipes, float[][][] fruits, int rounds) {
+        int hits = 0;
+        LegacySwipe legacy = new LegacySwipe();
+        for (int r = 0; r < rounds; r++) {
+            for (int s = 0; s < swipes.length; s++) {
+                legacy.clear();
+                for (int frame = 0; frame < frameCount(); frame++) {
+                    feed(swipes[s], frame, legacy::addPoint);
+                    for (float[] f : fruits[s]) {
+                        if (legacy.intersects(f[0] + f[3] * frame, f[1] + f[4] * frame, f[2])) hits++;
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    /** Every frame tests only the new segments against each fruit's motion over the frame. */
+    private int runSwept(float[][][] swipes, float[][][] fruits, int rounds) {
+        int hits = 0;
+        SwipeTrail trail = new SwipeTrail();
+        for (int r = 0; r < rounds; r++) {
+            for (int s = 0; s < swipes.length; s++) {
+                trail.clear();
+                for (int frame = 0; frame < frameCount(); frame++) {
+                    feed(swipes[s], frame, trail::addPoint);
+                    trail.beginCollisionFrame();
+                    for (float[] f : fruits[s]) {
+                        float x1 = f[0] + f[3] * frame;
+                        float y1 = f[1] + f[4] * frame;
+                        if (trail.intersectsSwept(x1 - f[3], y1 - f[4], x1, y1, f[2])) hits++;
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    private interface PointSink {
+        void addPoint(float x, float y);
+    }
+
+    private static void feed(float[][] swipe, int frame, PointSink sink) {
+        int end = Math.min(swipe.length, (frame + 1) * POINTS_PER_FRAME);
+        for (int i = frame * POINTS_PER_FRAME; i < end; i++) {
+            sink.addPoint(swipe[i][0], swipe[i][1]);
+        }
+    }
+
+    /** A roughly straight swipe with jitter, like a real slash across the screen. */
+    private float[][] randomSwipe(Random random, int points) {
+        float x = random.nextFloat() * SCREEN_W;
+        float y = random.nextFloat() * SCREEN_H;
+        double heading = random.nextDouble() * Math.PI * 2;
+        float[][] out = new float[points][];
+        for (int i = 0; i < points; i++) {
+            out[i] = new float[]{x, y};
+            heading += (random.nextDouble() - 0.5) * 0.3;
+            x += (float) Math.cos(heading) * 20f;
+            y += (float) Math.sin(heading) * 20f;
+        }
+        return out;
+    }
+
+    /** Fruits as {x, y, radius, dx, dy}, moving a few pixels per frame. */
+    private float[][] randomFruits(Random random) {
+        float[][] out = new float[FRUITS][];
+        for (int i = 0; i < FRUITS; i++) {
+            out[i] = new float[]{
+                    random.nextFloat() * SCREEN_W,
+                    random.nextFloat() * SCREEN_H,
+                    90 + random.nextInt(21),
+                    (random.nextFloat() - 0.5f) * 20f,
+                    (random.nextFloat() - 0.5f) * 40f
+            };
+        }
+        return out;
+    }
+
+    /** The pre-ring-buffer SwipePath storage and full-scan intersects(), kept as the baseline. */
+    private static class LegacySwipe {
+        private final ArrayList<float[]> points = new ArrayList<>();
+
+        void clear() {
+            points.clear();
+        }
+
+        void addPoint(float x, float y) {
+            points.add(new float[]{x, y});
+            if (points.size() > SwipeTrail.MAX_POINTS) {
+                points.remove(0);
+            }
+        }
+
+        boolean intersects(float cx, float cy, float radius) {
+            if (points.size() < 2) return false;
+            for (int i = 0; i < points.size() - 1; i++) {
+                float[] p1 = points.get(i);
+                float[] p2 = points.get(i + 1);
+                if (lineCircleIntersection(p1[0], p1[1], p2[0], p2[1], cx, cy, radius)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Check if a line segment intersects with a circle
+        private static boolean lineCircleIntersection(float x1, float y1, float x2, float y2,
+                                                      float cx, float cy, float radius) {
+            float dx = x2 - x1;
+            float dy = y2 - y1;
+            float fx = x1 - cx;
+            float fy = y1 - cy;
+
+            float a = dx * dx + dy * dy;
+            if (a == 0) {
+                return fx * fx + fy * fy <= radius * radius;
+            }
+
+            float b = 2 * (fx * dx + fy * dy);
+            float c = (fx * fx + fy * fy) - radius * radius;
+            float discriminant = b * b - 4 * a * c;
+            if (discriminant < 0) {
+                return false;
+            }
+
+            discriminant = (float) Math.sqrt(discriminant);
+            float t1 = (-b - discriminant) / (2 * a);
+            float t2 = (-b + discriminant) / (2 * a);
+            return (t1 >= 0 && t1 <= 1) || (t2 >= 0 && t2 <= 1);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.touchalytics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for the incremental swept collision in {@link SwipeTrail}.
+ */
+public class SwipeTrailTest {
+
+    @Test
+    public void sweptCollision_onlyTestsSegmentsAddedSinceLastFrame() {
+        SwipeTrail trail = new SwipeTrail();
+        trail.addPoint(0, 500);
+        trail.addPoint(1000, 500);
+
+        // Frame 1: the fresh segment hits a fruit sitting on it
+        assertEquals(1, trail.beginCollisionFrame());
+        assertTrue(trail.intersectsSwept(500, 500, 500, 500, 50));
+
+        // Frame 2: no new points, so a fruit moving under the old segment is not hit
+        assertEquals(0, trail.beginCollisionFrame());
+        assertFalse(trail.intersectsSwept(300, 700, 300, 500, 50));
+    }
+
+    @Test
+    public void sweptCollision_catchesFruitThatMovesThroughSegment() {
+        SwipeTrail trail = new SwipeTrail();
+        trail.addPoint(400, 500);
+        trail.addPoint(600, 500);
+        trail.beginCollisionFrame();
+
+        // Fruit jumps from above to below the segment in one frame: start and end both miss
+        assertFalse(trail.intersectsSwept(500, 300, 500, 300, 50));
+        assertFalse(trail.intersectsSwept(500, 700, 500, 700, 50));
+        assertTrue(trail.intersectsSwept(500, 300, 500, 700, 50));
+    }
+
+    @Test
+    public void sweptCollision_skipsSegmentsEvictedFromBuffer() {
+        SwipeTrail trail = new SwipeTrail();
+        for (int i = 0; i < SwipeTrail.MAX_POINTS * 2; i++) {
+            trail.addPoint(i * 10, 0);
+        }
+        // Only segments whose points are still buffered can be tested
+        assertEquals(SwipeTrail.MAX_POINTS - 1, trail.beginCollisionFrame());
+        assertFalse(trail.intersectsSwept(100, 0, 100, 0, 5));
+        assertTrue(trail.intersectsSwept(900, 0, 900, 0, 5));
+    }
+
+    @Test
+    public void clear_resetsCollisionWindow() {
+        SwipeTrail trail = new SwipeTrail();
+        trail.addPoint(0, 0);
+        trail.addPoint(100, 0);
+        trail.beginCollisionFrame();
+
+        trail.clear();
+        trail.addPoint(0, 0);
+        trail.addPoint(100, 0);
+        assertEquals(1, trail.beginCollisionFrame());
+        assertTrue(trail.intersectsSwept(50, 10, 50, 10, 20));
+    }
+}
@@ -0,0 +1,136 @@
+package com.project.touchalytics;
+
+import com.project.touchalytics.data.Stroke;
+
+import java.util.Random;
+
+/**
+ * Seeded generator of realistic-looking {@link Stroke}s for load and feature tests.
+ *
+ * Positions follow a minimum-jerk profile s(t) = 10t^3 - 15t^4 + 6t^5 along a slightly
+ * curved path, so velocity rises and falls smoothly like a real finger. Pressure follows
+ * a bell curve over the stroke with a little noise, and touch size/axes track pressure.
+ * Points are sampled at a fixed rate, like a touchscreen's report rate.
+ */
+class SyntheticStrokes {
+
+    enum Shape {
+        /** Short, nearly stationary touch. */
+        TAP,
+        /** Fast fling in any direction. */
+        SWIPE,
+        /** Slower, long, mostly vertical drag. */
+        SCROLL
+    }
+
+    private static final Shape[] SHAPES = Shape.values();
+
+    private final Random random;
+    private final int sampleRateHz;
+    private final int screenWidth;
+    private final int screenHeight;
+
+    /**
+     * @param seed Random seed; the same seed and call sequence yield identical strokes.
+     * @param sampleRateHz Touch report rate, e.g. 60, 120 or 240.
+     */
+    SyntheticStrokes(long seed, int sampleRateHz, int screenWidth, int screenHeight) {
+        this.random = new Random(seed);
+        this.sampleRateHz = sampleRateHz;
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+    }
+
+    /**
+     * @return A stroke of a random shape (half swipes, a quarter each taps and scrolls).
+     */
+    Stroke next(long startTime) {
+        int roll = random.nextInt(4);
+        return next(roll < 2 ? Shape.SWIPE : SHAPES[roll == 2 ? 0 : 2], startTime);
+    }
+
+    /**
+     * Generates one stroke starting at startTime (ms).
+     */
+    Stroke next(Shape shape, long startTime) {
+        long duration;
+        float length;
+        double angle;
+        switch (shape) {
+            case TAP:
+                duration = 60 + random.nextInt(80);
+                length = random.nextFloat() * 8;
+                angle = random.nextDouble() * 2 * Math.PI;
+                break;
+            case SCROLL:
+                duration = 250 + random.nextInt(450);
+                length = 400 + random.nextFloat() * 1000;
+                // Up or down, within 15 degrees of vertical
+                angle = (random.nextBoolean() ? 0.5 : -0.5) * Math.PI
+                        + Math.toRadians(random.nextFloat() * 30 - 15);
+                break;
+            case SWIPE:
+            default:
+                duration = 120 + random.nextInt(230);
+                length = 300 + random.nextFloat() * 600;
+                angle = random.nextDouble() * 2 * Math.PI;
+                break;
+        }
+
+        float dx = (float) Math.cos(angle) * length;
+        float dy = (float) Math.sin(angle) * length;
+
+        // Start somewhere the whole stroke stays on screen
+        float startX = clampStart(dx, screenWidth);
+        float startY = clampStart(dy, screenHeight);
+
+        // Sideways bow of up to 10% of the length, via a quadratic Bezier control point
+        float bow = (random.nextFloat() * 2 - 1) * 0.1f * length;
+        float controlX = startX + dx / 2 - (float) Math.sin(angle) * bow;
+        float controlY = startY + dy / 2 + (float) Math.cos(angle) * bow;
+
+        float basePressure = 0.25f + random.nextFloat() * 0.35f;
+        float peakPressure = 0.1f + random.nextFloat() * 0.3f;
+        float baseSize = 0.03f + random.nextFloat() * 0.04f;
+
+        Stroke stroke = new Stroke();
+        stroke.setStartTime(startTime);
+
+        long sampleMs = Math.max(1, 1000 / sampleRateHz);
+        int samples = (int) Math.max(2, duration / sampleMs + 1);
+        for (int i = 0; i < samples; i++) {
+            float t = i / (float) (samples - 1);
+            float s = minimumJerk(t);
+
+            float u = 1 - s;
+            float x = u * u * startX + 2 * u * s * controlX + s * s * (startX + dx);
+            float y = u * u * startY + 2 * u * s * controlY + s * s * (startY + dy);
+
+            float pressure = basePressure + peakPressure * (float) Math.sin(Math.PI * t)
+                    + (random.nextFloat() - 0.5f) * 0.02f;
+            pressure = Math.max(0.05f, Math.min(1f, pressure));
+            float size = baseSize * (0.8f + 0.4f * pressure);
+            float touchMajor = size * 1000;
+            float touchMinor = touchMajor * (0.7f + random.nextFloat() * 0.1f);
+
+            stroke.addPoint(x, y, startTime + i * sampleMs, pressure, size, touchMajor, touchMinor);
+        }
+
+        stroke.setEndTime(startTime + (samples - 1) * sampleMs);
+        return stroke;
+    }
+
+    /**
+     * Fraction of the distance covered at normalized time t for a minimum-jerk movement.
+     */
+    static float minimumJerk(float t) {
+        float t3 = t * t * t;
+        return t3 * (10 - 15 * t + 6 * t * t);
+    }
+
+    private float clampStart(float delta, int extent) {
+        float low = Math.max(0, -delta);
+        float high = Math.max(low, extent - Math.max(0, delta));
+        return low + random.nextFloat() * (high - low);
+    }
+}
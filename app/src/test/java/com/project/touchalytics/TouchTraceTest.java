@@ -0,0 +1,203 @@
+package com.project.touchalytics;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for the touch trace format and replayer, including replays of a saved
+ * trace through MainActivity (against a stub server) and the game simulation, and a
+ * key press without MOVE events through MainActivity.handleTouch.
+ */
+public class TouchTraceTest {
+
+    private static final int ACTION_DOWN = 0;
+    private static final int ACTION_UP = 1;
+    private static final int ACTION_MOVE = 2;
+    private static final int ACTION_POINTER_1_DOWN = 0x0105;
+
+    @Test
+    public void recordedTrace_roundTripsEveryField() throws Exception {
+        TouchTraceRecorder recorder = new TouchTraceRecorder();
+        recorder.onTouch(ACTION_DOWN, 50_000, 10.5f, 20.25f, 0.4f, 0.1f, 12f, 9f);
+        recorder.onTouch(ACTION_MOVE, 50_016, 30f, 40f, 0.5f, 0.11f, 13f, 10f);
+        recorder.onTouch(ACTION_POINTER_1_DOWN, 50_020, 31f, 41f, 0.5f, 0.11f, 13f, 10f);
+        recorder.onTouch(ACTION_UP, 50_033, 50f, 60f, 0.2f, 0.09f, 11f, 8f);
+
+        byte[] bytes = write(recorder);
+        assertEquals(TouchTrace.HEADER_BYTES + 4 * TouchTrace.RECORD_BYTES, bytes.length);
+
+        TouchTrace trace = TouchTrace.read(new ByteArrayInputStream(bytes));
+        assertEquals(4, trace.count);
+        assertEquals(33, trace.durationMs());
+
+        List<String> replayed = new ArrayList<>();
+        new TouchTraceReplayer(trace).replay(describe(replayed), 0);
+        assertEquals(Arrays.asList(
+                "0@50000 10.5,20.25 p0.4 s0.1 12.0x9.0",
+                "2@50016 30.0,40.0 p0.5 s0.11 13.0x10.0",
+                "261@50020 31.0,41.0 p0.5 s0.11 13.0x10.0",
+                "1@50033 50.0,60.0 p0.2 s0.09 11.0x8.0"), replayed);
+    }
+
+    @Test
+    public void pacedReplay_followsRecordedTimingScaledBySpeed() throws Exception {
+        TouchTraceRecorder recorder = new TouchTraceRecorder();
+        for (int i = 0; i <= 20; i++) {
+            recorder.onTouch(i == 0 ? ACTION_DOWN : ACTION_MOVE, 1000 + i * 10, i, i, 1, 1, 1, 1);
+        }
+        TouchTrace trace = TouchTrace.read(new ByteArrayInputStream(write(recorder)));
+
+        // 200 ms of input at 4x should take at least 50 ms
+        long ns = new TouchTraceReplayer(trace).replay(describe(new ArrayList<>()), 4f);
+        assertTrue("replay took " + ns + " ns", ns >= 50_000_000L);
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedRecord_isRejected() throws Exception {
+        TouchTraceRecorder recorder = new TouchTraceRecorder();
+        recorder.onTouch(ACTION_DOWN, 0, 1, 2, 3, 4, 5, 6);
+        byte[] bytes = write(recorder);
+        TouchTrace.read(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 3)));
+    }
+
+    @Test(expected = IOException.class)
+    public void foreignData_isRejected() throws Exception {
+        TouchTrace.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14}));
+    }
+
+    @Test
+    public void emptyRecording_writesHeader() throws Exception {
+        byte[] bytes = write(new TouchTraceRecorder());
+        assertEquals(TouchTrace.HEADER_BYTES, bytes.length);
+        assertEquals(0, TouchTrace.read(new ByteArrayInputStream(bytes)).count);
+    }
+
+    @Test
+    public void savedTrace_replaysThroughMainActivity() throws Exception {
+        int swipes = 20;
+        TouchTrace trace = saveAndLoad(swipes(swipes, 1));
+        MainActivity manager = MainActivity.getInstance();
+
+        try (StubTouchalyticsServer server = new StubTouchalyticsServer(2)) {
+            manager.useServers(server.host(), server.fstorePort(),
+                    RetrofitClient.create(server.authBaseUrl()).create(RetrofitClient.ApiService.class));
+
+            // TRAINING: every swipe is counted and stored
+            manager.initialize(null, 7, null, 1000, 0L, false);
+            new TouchTraceReplayer(trace).replay(manager::handleTouch, 0);
+            assertEquals(swipes, manager.getStrokeCount());
+            awaitCount(server.fstoreReceived::get, swipes);
+
+            // FREE: every swipe is authenticated
+            manager.initialize(null, 7, null, 1000, 0L, true);
+            new TouchTraceReplayer(trace).replay(manager::handleTouch, 0);
+            awaitCount(server.authReceived::get, swipes);
+            assertEquals(0, manager.getRejectedCount());
+        } finally {
+            manager.useServers(Constants.SERVER_BASE_URL, Constants.SERVER_PORT, null);
+            manager.reset();
+        }
+    }
+
+    @Test
+    public void pressWithoutMove_countsTowardTraining() throws Exception {
+        MainActivity manager = MainActivity.getInstance();
+        try (StubTouchalyticsServer server = new StubTouchalyticsServer(1)) {
+            manager.useServers(server.host(), server.fstorePort(), null);
+            manager.initialize(null, 7, null, 1000, 0L, false);
+
+            // A Wordle key press: DOWN and UP only, so a single sample, routed as a tap
+            manager.handleTouch(ACTION_DOWN, 5_000, 300, 1900, 0.5f, 0.1f, 12f, 9f);
+            manager.handleTouch(ACTION_UP, 5_070, 300, 1900, 0.5f, 0.1f, 12f, 9f);
+            assertEquals(1, manager.getStrokeCount());
+            assertEquals(0, manager.getRejectedCount());
+            awaitCount(server.fstoreReceived::get, 1);
+        } finally {
+            manager.useServers(Constants.SERVER_BASE_URL, Constants.SERVER_PORT, null);
+            manager.reset();
+        }
+    }
+
+    @Test
+    public void savedTrace_replaysIdenticallyThroughGameSimulation() throws Exception {
+        TouchTrace trace = saveAndLoad(swipes(120, 2));
+
+        SimulationHarness first = new SimulationHarness(5, GameMode.ARCADE);
+        SimulationHarness second = new SimulationHarness(5, GameMode.ARCADE);
+        first.replay(trace);
+        second.replay(trace);
+
+        assertTrue("no fruit sliced", first.slices > 0);
+        assertEquals(first.frames, second.frames);
+        assertEquals(first.slices, second.slices);
+        assertEquals(first.checksum(), second.checksum());
+    }
+
+    /**
+     * Horizontal slashes across the middle of a 1080x2400 screen, one every 400 ms,
+     * each a DOWN, ten MOVEs 8 ms apart and an UP.
+     */
+    private static TouchTraceRecorder swipes(int count, long seed) {
+        Random random = new Random(seed);
+        TouchTraceRecorder recorder = new TouchTraceRecorder();
+        long t = 10_000;
+        for (int s = 0; s < count; s++) {
+            float y = 700 + random.nextInt(1000);
+            float dy = random.nextInt(21) - 10;
+            boolean leftToRight = random.nextBoolean();
+            for (int i = 0; i <= 10; i++) {
+                float x = leftToRight ? 60 + i * 96 : 1020 - i * 96;
+                recorder.onTouch(i == 0 ? ACTION_DOWN : ACTION_MOVE, t + i * 8, x, y + i * dy,
+                        0.4f + i * 0.01f, 0.1f, 12f, 9f);
+            }
+            recorder.onTouch(ACTION_UP, t + 88, leftToRight ? 1020 : 60, y + 10 * dy, 0.3f, 0.1f, 12f, 9f);
+            t += 400;
+        }
+        return recorder;
+    }
+
+    private static TouchTrace saveAndLoad(TouchTraceRecorder recorder) throws IOException {
+        File file = File.createTempFile("touch-trace", ".ttrc");
+        try {
+            recorder.writeTo(file);
+            try (InputStream in = new FileInputStream(file)) {
+                return TouchTrace.read(in);
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static void awaitCount(LongSupplier count, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (count.getAsLong() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, count.getAsLong());
+    }
+
+    private static byte[] write(TouchTraceRecorder recorder) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recorder.writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static TouchTrace.Sink describe(List<String> out) {
+        return (action, eventTime, x, y, pressure, size, touchMajor, touchMinor) ->
+                out.add(action + "@" + eventTime + " " + x + "," + y + " p" + pressure
+                        + " s" + size + " " + touchMajor + "x" + touchMinor);
+    }
+}
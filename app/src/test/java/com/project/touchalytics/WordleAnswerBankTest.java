@@ -0,0 +1,87 @@
+package com.project.touchalytics;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for {@link WordleAnswerBank} on a small in-memory bank.
+ */
+public class WordleAnswerBankTest {
+
+    private static final String[] WORDS = {
+            "about", "apple", "candy", "chair", "crane", "ghost", "grape", "green", "lemon",
+            "melon", "place", "plain", "right", "sound", "spice", "sweet", "table", "thing",
+            "think", "three", "trace", "which", "would", "adore", "their", "there", "these",
+            "other", "first", "could", "zebra", "yacht", "vivid", "quilt", "nymph", "judge",
+            "knife", "ocean", "brick", "dwarf", "fjord", "hotel", "irony", "jelly", "koala",
+            "lunar", "maple", "noble", "opera", "pixel", "query", "radio", "solar", "tiger",
+            "umbra", "value", "waltz", "xenon", "young", "zonal", "amber", "bloom", "civic",
+            "daisy", "eagle", "flame", "globe", "honey", "ivory", "joker"
+    };
+
+    private static WordleAnswerBank newBank() throws IOException {
+        return new WordleAnswerBank(WordleDictionary.read(ByteBuffer.wrap(WordleDictionaryTest.pack(WORDS))));
+    }
+
+    @Test
+    public void pick_isDeterministicPerUserAndDay() throws IOException {
+        assertEquals(newBank().pick(7, 20000), newBank().pick(7, 20000));
+
+        // Different users or days should usually start elsewhere in the bank
+        Set<Integer> firstPicks = new HashSet<>();
+        for (int user = 0; user < 10; user++) {
+            for (int day = 20000; day < 20005; day++) {
+                firstPicks.add(newBank().pick(user, day));
+            }
+        }
+        assertTrue(firstPicks.size() > WORDS.length / 3);
+    }
+
+    @Test
+    public void pick_neverRepeatsWithinACycle() throws IOException {
+        WordleAnswerBank bank = newBank();
+        Set<Integer> seen = new HashSet<>();
+
+        for (int i = 0; i < bank.size(); i++) {
+            // Several games per day, over several days
+            assertTrue(seen.add(bank.pick(3, 20000 + i / 4)));
+        }
+        assertEquals(bank.size(), bank.usedCount());
+
+        // Bank exhausted: the next pick starts a new cycle
+        bank.pick(3, 30000);
+        assertEquals(1, bank.usedCount());
+    }
+
+    @Test
+    public void usedBitmap_roundTrips() throws IOException {
+        WordleAnswerBank bank = newBank();
+        for (int i = 0; i < 10; i++) {
+            bank.pick(1, 20000);
+        }
+
+        WordleAnswerBank restored = newBank();
+        assertTrue(restored.restoreUsed(bank.saveUsed()));
+        assertEquals(10, restored.usedCount());
+        for (int i = 0; i < bank.size(); i++) {
+            assertEquals(bank.isUsed(i), restored.isUsed(i));
+        }
+
+        // A restored user continues where they left off
+        assertEquals(bank.pick(1, 20001), restored.pick(1, 20001));
+    }
+
+    @Test
+    public void restoreUsed_ignoresBitmapForDifferentBankSize() throws IOException {
+        WordleAnswerBank bank = newBank();
+        assertFalse(bank.restoreUsed(new byte[1]));
+        assertFalse(bank.restoreUsed(null));
+        assertEquals(0, bank.usedCount());
+    }
+}
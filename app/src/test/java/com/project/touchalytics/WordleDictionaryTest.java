@@ -0,0 +1,136 @@
+package com.project.touchalytics;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for {@link WordleDictionary} and the bundled res/raw/wordle_words.bin
+ * (valid guesses) and res/raw/wordle_answers.bin (answer bank).
+ *
+ * Each binary is built from the .txt list of the same name in src/test/resources
+ * (one word per line). After editing a list, rewrite the binaries with
+ * ./gradlew testDebugUnitTest --tests '*WordleDictionaryTest' -Dwordle.regenerate=true
+ */
+public class WordleDictionaryTest {
+
+    private static final String RAW_DIR = "src/main/res/raw/";
+
+    @Test
+    public void encode_preservesAlphabeticalOrder() {
+        assertEquals(0, WordleDictionary.encode("aaaaa"));
+        assertEquals(WordleDictionary.encode("apple"), WordleDictionary.encode("APPLE"));
+        assertTrue(WordleDictionary.encode("apple") < WordleDictionary.encode("apply"));
+        assertTrue(WordleDictionary.encode("azzzz") < WordleDictionary.encode("baaaa"));
+        assertEquals(-1, WordleDictionary.encode("four"));
+        assertEquals(-1, WordleDictionary.encode("ab1de"));
+    }
+
+    @Test
+    public void contains_findsOnlyListedWords() throws IOException {
+        WordleDictionary dictionary = WordleDictionary.read(ByteBuffer.wrap(
+                pack(new String[]{"zebra", "apple", "crane", "melon"})));
+
+        assertEquals(4, dictionary.size());
+        assertTrue(dictionary.contains("apple"));
+        assertTrue(dictionary.contains("Zebra"));
+        assertFalse(dictionary.contains("xyzzy"));
+        assertFalse(dictionary.contains("apples"));
+    }
+
+    @Test(expected = IOException.class)
+    public void read_rejectsTruncatedFile() throws IOException {
+        byte[] bytes = pack(new String[]{"apple", "crane"});
+        WordleDictionary.read(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 2)));
+    }
+
+    @Test
+    public void decode_invertsEncode() {
+        for (String word : new String[]{"aaaaa", "apple", "zebra", "zzzzz"}) {
+            assertEquals(word, WordleDictionary.decode(WordleDictionary.encode(word)));
+        }
+    }
+
+    @Test
+    public void bundledDictionaries_matchWordLists() throws IOException {
+        WordleDictionary guesses = checkBundled("wordle_words");
+        WordleDictionary answers = checkBundled("wordle_answers");
+
+        // Every possible answer must be accepted as a guess
+        for (int i = 0; i < answers.size(); i++) {
+            assertTrue(answers.wordAt(i), guesses.contains(answers.wordAt(i)));
+        }
+        for (String answer : WordleActivity.ANSWERS) {
+            assertTrue(answer, answers.contains(answer));
+        }
+    }
+
+    @Test
+    public void bundledGuesses_acceptCommonOpeners() throws IOException {
+        WordleDictionary guesses = checkBundled("wordle_words");
+        WordleDictionary answers = checkBundled("wordle_answers");
+
+        // Popular starting words that are valid guesses but never the answer
+        for (String opener : new String[]{"adieu", "salet", "soare", "roate", "aahed"}) {
+            assertFalse(opener, answers.contains(opener));
+            assertTrue(opener, guesses.contains(opener));
+        }
+        assertTrue(guesses.size() > 12_000);
+    }
+
+    /**
+     * Compares res/raw/NAME.bin with the packed NAME.txt list (rewriting it if asked).
+     */
+    private static WordleDictionary checkBundled(String name) throws IOException {
+        byte[] expected = pack(readWordList(name + ".txt"));
+        File bundled = new File(RAW_DIR + name + ".bin");
+
+        if (Boolean.getBoolean("wordle.regenerate")) {
+            Files.write(bundled.toPath(), expected);
+        }
+        assertArrayEquals("Run with -Dwordle.regenerate=true after editing " + name + ".txt",
+                expected, Files.readAllBytes(bundled.toPath()));
+
+        return WordleDictionary.read(ByteBuffer.wrap(expected));
+    }
+
+    private static String[] readWordList(String resource) throws IOException {
+        try (InputStream in = WordleDictionaryTest.class.getResourceAsStream("/" + resource)) {
+            assertNotNull(resource + " missing from test resources", in);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            return reader.lines().map(String::trim).filter(line -> !line.isEmpty()).toArray(String[]::new);
+        }
+    }
+
+    /**
+     * Builds the dictionary file format: header, then the sorted, de-duplicated codes.
+     */
+    static byte[] pack(String[] words) throws IOException {
+        int[] codes = Arrays.stream(words).mapToInt(WordleDictionary::encode).sorted().distinct().toArray();
+        for (int code : codes) {
+            assertTrue("Not a five-letter word in list", code >= 0);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(WordleDictionary.MAGIC);
+        out.writeInt(codes.length);
+        for (int code : codes) {
+            out.writeInt(code);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+}
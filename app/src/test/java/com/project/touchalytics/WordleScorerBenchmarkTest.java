@@ -0,0 +1,135 @@
+package com.project.touchalytics;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Microbenchmark for Wordle guess scoring: the original HashMap&lt;Character, Integer&gt;
+ * counting versus {@link WordleScorer}'s reused 26-int array.
+ * Runs on the host (no device needed); throughput is printed to stdout.
+ * The throughput run is skipped unless run with -Dbench=true.
+ */
+public class WordleScorerBenchmarkTest {
+
+    private static final int PAIRS = 10_000;
+    private static final int ROUNDS = 200;
+
+    @Test
+    public void scorer_matchesHashMapScoring() {
+        Random random = new Random(42);
+        WordleScorer scorer = new WordleScorer();
+        int[] expected = new int[5];
+        int[] actual = new int[5];
+
+        for (int i = 0; i < PAIRS; i++) {
+            String guess = randomWord(random);
+            String answer = randomWord(random);
+            legacyScore(guess, answer, expected);
+            scorer.score(guess, answer, actual);
+            assertArrayEquals(guess + " vs " + answer, expected, actual);
+        }
+    }
+
+    @Test
+    public void benchmark_scoreThroughput() {
+        assumeTrue("benchmark, run with -Dbench=true", Boolean.getBoolean("bench"));
+
+        Random random = new Random(7);
+        String[] guesses = new String[PAIRS];
+        String[] answers = new String[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            guesses[i] = randomWord(random);
+            answers[i] = randomWord(random);
+        }
+        WordleScorer scorer = new WordleScorer();
+        int[] out = new int[5];
+
+        // Warm up both paths before timing
+        long check = runLegacy(guesses, answers, out, ROUNDS / 4) + runScorer(scorer, guesses, answers, out, ROUNDS / 4);
+
+        long t0 = System.nanoTime();
+        long legacySum = runLegacy(guesses, answers, out, ROUNDS);
+        long legacyNs = System.nanoTime() - t0;
+
+        t0 = System.nanoTime();
+        long scorerSum = runScorer(scorer, guesses, answers, out, ROUNDS);
+        long scorerNs = System.nanoTime() - t0;
+
+        assertEquals(legacySum, scorerSum);
+        assertTrue(check > 0);
+
+        long calls = (long) ROUNDS * PAIRS;
+        System.out.println(String.format(
+                "Wordle scoring: HashMap %.1f M guesses/s | int[26] %.1f M guesses/s | speedup %.2fx",
+                calls * 1e3 / legacyNs, calls * 1e3 / scorerNs, (double) legacyNs / scorerNs));
+    }
+
+    private static long runLegacy(String[] guesses, String[] answers, int[] out, int rounds) {
+        long sum = 0;
+        for (int r = 0; r < rounds; r++) {
+            for (int i = 0; i < guesses.length; i++) {
+                legacyScore(guesses[i], answers[i], out);
+                sum += out[0] + out[1] * 3 + out[2] * 9 + out[3] * 27 + out[4] * 81;
+            }
+        }
+        return sum;
+    }
+
+    private static long runScorer(WordleScorer scorer, String[] guesses, String[] answers, int[] out, int rounds) {
+        long sum = 0;
+        for (int r = 0; r < rounds; r++) {
+            for (int i = 0; i < guesses.length; i++) {
+                scorer.score(guesses[i], answers[i], out);
+                sum += out[0] + out[1] * 3 + out[2] * 9 + out[3] * 27 + out[4] * 81;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Words over a small alphabet so repeated letters and partial matches are common.
+     */
+    private static String randomWord(Random random) {
+        char[] word = new char[5];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(8));
+        }
+        return new String(word);
+    }
+
+    /**
+     * The scoring WordleActivity.colorRow used before {@link WordleScorer}.
+     */
+    private static void legacyScore(String guess, String answer, int[] state) {
+        char[] g = guess.toCharArray();
+        char[] a = answer.toCharArray();
+
+        HashMap<Character, Integer> freq = new HashMap<>();
+        for (char ch : a) {
+            freq.put(ch, freq.getOrDefault(ch, 0) + 1);
+        }
+
+        for (int i = 0; i < g.length; i++) {
+            state[i] = 0;
+            if (g[i] == a[i]) {
+                state[i] = 2;
+                freq.put(g[i], freq.get(g[i]) - 1);
+            }
+        }
+
+        for (int i = 0; i < g.length; i++) {
+            if (state[i] == 0) {
+                char ch = g[i];
+                if (freq.getOrDefault(ch, 0) > 0) {
+                    state[i] = 1;
+                    freq.put(ch, freq.get(ch) - 1);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.project.touchalytics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for {@link WordleScorer}.
+ */
+public class WordleScorerTest {
+
+    private static final int A = WordleScorer.ABSENT;
+    private static final int P = WordleScorer.PRESENT;
+    private static final int C = WordleScorer.CORRECT;
+
+    @Test
+    public void score_marksCorrectPresentAndAbsent() {
+        int[] out = new int[5];
+        new WordleScorer().score("crane", "trace", out);
+        assertArrayEquals(new int[]{P, C, C, A, C}, out);
+    }
+
+    @Test
+    public void score_repeatedLetterOnlyPresentForUnmatchedCopies() {
+        WordleScorer scorer = new WordleScorer();
+        int[] out = new int[5];
+
+        // "apple" has one L and one A, so only the first copy of each in the guess counts
+        scorer.score("llama", "apple", out);
+        assertArrayEquals(new int[]{P, A, P, A, A}, out);
+
+        // Two P's in the answer, so both guessed P's count
+        scorer.score("puppy", "apple", out);
+        assertArrayEquals(new int[]{P, A, C, A, A}, out);
+    }
+
+    @Test
+    public void score_isCaseInsensitive() {
+        int[] out = new int[5];
+        new WordleScorer().score("LEMON", "lemon", out);
+        assertArrayEquals(new int[]{C, C, C, C, C}, out);
+    }
+
+    @Test
+    public void keyStates_onlyRiseAndReportChanges() {
+        WordleScorer scorer = new WordleScorer();
+        int[] out = new int[5];
+        int e = WordleScorer.letterIndex('e');
+        int z = WordleScorer.letterIndex('z');
+
+        int changed = scorer.score("eerie", "sweet", out);
+        assertEquals(WordleScorer.PRESENT, scorer.keyState(e));
+        assertTrue((changed & (1 << e)) != 0);
+
+        // E is correct in position 3 of "sweet"
+        changed = scorer.score("sheep", "sweet", out);
+        assertEquals(WordleScorer.CORRECT, scorer.keyState(e));
+        assertTrue((changed & (1 << e)) != 0);
+
+        // Guessing E as merely present again doesn't lower the key or report a change
+        changed = scorer.score("eeeee", "about", out);
+        assertEquals(WordleScorer.CORRECT, scorer.keyState(e));
+        assertEquals(0, changed & (1 << e));
+
+        assertEquals(WordleScorer.UNKNOWN, scorer.keyState(z));
+        scorer.resetKeys();
+        assertEquals(WordleScorer.UNKNOWN, scorer.keyState(e));
+    }
+}
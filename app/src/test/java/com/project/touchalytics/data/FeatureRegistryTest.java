@@ -0,0 +1,77 @@
+package com.project.touchalytics.data;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for {@link FeatureRegistry}.
+ */
+public class FeatureRegistryTest {
+
+    private static Stroke randomStroke(long seed) {
+        Random random = new Random(seed);
+        Stroke stroke = new Stroke();
+        float x = 300;
+        float y = 900;
+        long t = 1000;
+        stroke.setStartTime(t);
+        for (int i = 0; i < 60; i++) {
+            x += random.nextFloat() * 20 - 5;
+            y -= random.nextFloat() * 30;
+            t += 4 + random.nextInt(10);
+            stroke.addPoint(x, y, t, 0.3f + random.nextFloat() * 0.4f, 0.1f, 10 + random.nextInt(5), 8);
+        }
+        stroke.setEndTime(t);
+        return stroke;
+    }
+
+    @Test
+    public void all_computesEveryFeature() {
+        Stroke stroke = randomStroke(3);
+        Features features = FeatureRegistry.all().extract(stroke, new Features());
+
+        assertEquals(30, FeatureRegistry.all().active().size());
+        assertEquals(stroke.getEndTime() - stroke.getStartTime(), features.getStrokeDuration(), 0f);
+        assertEquals(stroke.getStartX(), features.getStartX(), 0f);
+        assertEquals(stroke.calculateMaxVelocity(), features.getMaxVelocity(), 0f);
+        assertEquals(stroke.calculateAngleChangeRate(), features.getAngleChangeRate(), 0f);
+        assertEquals(stroke.calculatePressureChangeRate(), features.getPressureChangeRate(), 0f);
+        assertEquals(stroke.calculateMaxIdleTime(), features.getMaxIdleTime(), 0f);
+        assertEquals(stroke.calculateAverageTouchArea(), features.getAverageTouchArea(), 0f);
+
+        // Each descriptor reads back the value it computed
+        for (FeatureRegistry.Feature feature : FeatureRegistry.all().active()) {
+            Features single = FeatureRegistry.of(Arrays.asList(feature.name)).extract(stroke, new Features());
+            assertEquals(feature.name, feature.read(features), feature.read(single), 0f);
+        }
+    }
+
+    @Test
+    public void of_computesOnlyRequiredFeatures() {
+        FeatureRegistry registry = FeatureRegistry.of(Arrays.asList("maxVelo", "startX", "maxVelo"));
+
+        assertEquals(2, registry.active().size());
+        assertEquals("startX", registry.active().get(0).name);   // DB column order
+        assertTrue(registry.isActive("maxVelo"));
+        assertFalse(registry.isActive("angleChangeRate"));
+        assertEquals(EnumSet.of(FeatureRegistry.Series.POINTS, FeatureRegistry.Series.SEGMENTS),
+                registry.requiredSeries());
+
+        Stroke stroke = randomStroke(5);
+        Features features = registry.extract(stroke, new Features());
+        assertEquals(stroke.getStartX(), features.getStartX(), 0f);
+        assertEquals(stroke.calculateMaxVelocity(), features.getMaxVelocity(), 0f);
+        assertEquals(0f, features.getAngleChangeRate(), 0f);
+        assertEquals(0f, features.getPressureChangeRate(), 0f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void of_rejectsUnknownFeature() {
+        FeatureRegistry.of(Arrays.asList("startX", "bogus"));
+    }
+}
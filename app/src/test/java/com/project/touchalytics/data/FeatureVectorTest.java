@@ -0,0 +1,120 @@
+package com.project.touchalytics.data;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for {@link FeatureVector}, its {@link FeatureIndex} layout and the
+ * {@link Features} adapter.
+ */
+public class FeatureVectorTest {
+
+    // Layout version 1; changing this list means bumping FeatureIndex.VERSION
+    private static final String[] LAYOUT_V1 = {
+            "strokeDuration", "midStrokeArea", "midStrokePress", "dirEndToEnd", "aveDir",
+            "aveVelo", "pairwiseVeloPercent", "startX", "startY", "stopX", "stopY",
+            "touchArea", "maxVelo", "minVelo", "accel", "decel", "trajLength", "curvature",
+            "veloVariance", "angleChangeRate", "maxPress", "minPress", "initPress",
+            "pressChangeRate", "pressVariance", "maxIdleTime", "straightnessRatio",
+            "xDisplacement", "yDisplacement", "aveTouchArea"
+    };
+
+    private static FeatureVector sequence(float start) {
+        FeatureVector vector = new FeatureVector();
+        for (FeatureIndex index : FeatureIndex.values()) {
+            vector.set(index, start + index.ordinal());
+        }
+        return vector;
+    }
+
+    @Test
+    public void layout_isStable() {
+        assertEquals(1, FeatureIndex.VERSION);
+        assertEquals(LAYOUT_V1.length, FeatureIndex.COUNT);
+        for (int i = 0; i < LAYOUT_V1.length; i++) {
+            assertEquals(LAYOUT_V1[i], FeatureIndex.values()[i].column);
+            assertSame(FeatureIndex.values()[i], FeatureIndex.forColumn(LAYOUT_V1[i]));
+        }
+        assertNull(FeatureIndex.forColumn("userID"));
+    }
+
+    @Test
+    public void features_storesValuesInVectorSlots() {
+        Features features = new Features();
+        features.setUserID(12);
+        features.setStrokeDuration(250f);
+        features.setStartY(800f);
+        features.setXDis(-40f);
+        features.setMaxIdleTime(16f);
+        features.setAverageTouchArea(3.5f);
+
+        FeatureVector vector = features.vector();
+        assertEquals(250f, vector.get(FeatureIndex.STROKE_DURATION), 0f);
+        assertEquals(800f, vector.get(FeatureIndex.START_Y), 0f);
+        assertEquals(-40f, vector.get(FeatureIndex.X_DISPLACEMENT), 0f);
+        assertEquals(16f, vector.get(FeatureIndex.MAX_IDLE_TIME), 0f);
+        assertEquals(3.5f, vector.values()[FeatureIndex.COUNT - 1], 0f);
+
+        // Writes through the vector show up in the getters
+        vector.set(FeatureIndex.CURVATURE, 2.25f);
+        assertEquals(2.25f, features.getCurvature(), 0f);
+        assertEquals(12, features.getUserID());
+    }
+
+    @Test
+    public void buffers_roundTrip() {
+        FeatureVector vector = sequence(0.5f);
+
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            ByteBuffer bytes = ByteBuffer.allocate(4 + FeatureVector.BYTES).order(order);
+            bytes.putInt(FeatureIndex.VERSION);
+            vector.writeTo(bytes);
+            assertFalse(bytes.hasRemaining());
+
+            bytes.flip();
+            assertEquals(FeatureIndex.VERSION, bytes.getInt());
+            assertEquals(0.5f + FeatureIndex.START_X.ordinal(),
+                    bytes.getFloat(4 + FeatureIndex.START_X.ordinal() * Float.BYTES), 0f);
+            FeatureVector decoded = new FeatureVector();
+            decoded.readFrom(bytes);
+            assertEquals(vector, decoded);
+        }
+
+        FloatBuffer floats = FloatBuffer.allocate(2 * FeatureIndex.COUNT);
+        vector.writeTo(floats);
+        sequence(100f).writeTo(floats);
+        floats.flip();
+        FeatureVector first = new FeatureVector();
+        FeatureVector second = new FeatureVector();
+        first.readFrom(floats);
+        second.readFrom(floats);
+        assertEquals(vector, first);
+        assertEquals(sequence(100f), second);
+    }
+
+    @Test
+    public void distanceAndScale() {
+        FeatureVector a = new FeatureVector();
+        FeatureVector b = new FeatureVector();
+        b.set(FeatureIndex.START_X, 3f);
+        b.set(FeatureIndex.START_Y, 4f);
+
+        assertEquals(25f, a.squaredDistance(b), 0f);
+        assertEquals(5f, a.distance(b), 0f);
+        assertEquals(10f, a.distance(b.scale(2f)), 0f);
+
+        float[] weights = new float[FeatureIndex.COUNT];
+        weights[FeatureIndex.START_X.ordinal()] = 1f;
+        assertEquals(6f, a.distance(b.scale(weights)), 0f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void scale_rejectsWrongLength() {
+        new FeatureVector().scale(new float[3]);
+    }
+}
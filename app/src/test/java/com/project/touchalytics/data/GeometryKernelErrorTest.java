@@ -0,0 +1,116 @@
+package com.project.touchalytics.data;
+
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Validation harness for {@link GeometryKernel#FAST}: measures its error against
+ * {@link GeometryKernel#STRICT}, per primitive and per feature over a synthetic corpus,
+ * prints the maximum absolute/relative errors, and checks them against the bounds
+ * documented on GeometryKernel.
+ */
+public class GeometryKernelErrorTest {
+
+    private static final int SAMPLES = 1_000_000;
+    private static final int CORPUS_STROKES = 5_000;
+
+    // Feature bounds documented on GeometryKernel
+    private static final double ANGLE_BOUND = 2e-5;
+    private static final double RELATIVE_BOUND = 1e-5;
+    private static final Set<FeatureIndex> ANGLES = EnumSet.of(
+            FeatureIndex.DIRECTION_END_TO_END, FeatureIndex.AVERAGE_DIRECTION);
+    private static final Set<FeatureIndex> GEOMETRIC = EnumSet.of(
+            FeatureIndex.AVERAGE_VELOCITY, FeatureIndex.PAIRWISE_VELOCITY_PERCENTILE,
+            FeatureIndex.MAX_VELOCITY, FeatureIndex.MIN_VELOCITY,
+            FeatureIndex.AVERAGE_ACCELERATION, FeatureIndex.AVERAGE_DECELERATION,
+            FeatureIndex.TRAJECTORY_LENGTH, FeatureIndex.CURVATURE,
+            FeatureIndex.VELOCITY_VARIANCE, FeatureIndex.PRESSURE_CHANGE_RATE,
+            FeatureIndex.STRAIGHTNESS_RATIO);
+
+    @Test
+    public void primitives_stayWithinBounds() {
+        Random random = new Random(1);
+        double maxAngleError = 0;
+        double maxLengthError = 0;
+        int binMismatches = 0;
+
+        for (int i = 0; i < SAMPLES; i++) {
+            // Screen-scale vectors, including tiny and axis-aligned ones
+            float scale = (float) Math.pow(10, random.nextInt(6) - 2);
+            float dx = random.nextInt(10) == 0 ? 0f : (random.nextFloat() * 2 - 1) * scale;
+            float dy = random.nextInt(10) == 0 ? 0f : (random.nextFloat() * 2 - 1) * scale;
+
+            maxAngleError = Math.max(maxAngleError,
+                    Math.abs(GeometryKernel.FAST.atan2(dy, dx) - GeometryKernel.STRICT.atan2(dy, dx)));
+
+            float strict = GeometryKernel.STRICT.length(dx, dy);
+            if (strict > 0) {
+                maxLengthError = Math.max(maxLengthError,
+                        Math.abs(GeometryKernel.FAST.length(dx, dy) - strict) / strict);
+            }
+
+            if (GeometryKernel.FAST.direction8(dx, dy) != GeometryKernel.STRICT.direction8(dx, dy)) {
+                binMismatches++;
+            }
+        }
+
+        System.out.println(String.format(
+                "FAST kernel primitives over %d vectors: atan2 max abs error %.3g rad | length max rel error %.3g | direction bin mismatches %d",
+                SAMPLES, maxAngleError, maxLengthError, binMismatches));
+        assertTrue(maxAngleError <= ANGLE_BOUND);
+        assertTrue(maxLengthError <= 2.4e-7);
+        assertEquals(0, binMismatches);
+    }
+
+    @Test
+    public void features_stayWithinBounds() {
+        FeatureIndex[] indices = FeatureIndex.values();
+        double[] maxAbs = new double[indices.length];
+        double[] maxRel = new double[indices.length];
+        int[] differing = new int[indices.length];
+
+        for (int seed = 0; seed < CORPUS_STROKES; seed++) {
+            int points = 2 + seed * 37 % 500;
+            Features strict = FeatureRegistry.all().extract(
+                    StrokeStatsTest.longStroke(seed, points, GeometryKernel.STRICT), new Features());
+            Features fast = FeatureRegistry.all().extract(
+                    StrokeStatsTest.longStroke(seed, points, GeometryKernel.FAST), new Features());
+
+            for (FeatureIndex index : indices) {
+                float s = strict.vector().get(index);
+                float f = fast.vector().get(index);
+                double abs = Math.abs((double) f - s);
+                int i = index.ordinal();
+                if (abs > 0) differing[i]++;
+                maxAbs[i] = Math.max(maxAbs[i], abs);
+                maxRel[i] = Math.max(maxRel[i], abs / Math.max(Math.abs(s), 1e-6));
+            }
+        }
+
+        System.out.println("FAST kernel feature error over " + CORPUS_STROKES + " strokes:");
+        for (FeatureIndex index : indices) {
+            int i = index.ordinal();
+            System.out.println(String.format("  %-20s max abs %.3g | max rel %.3g | differs in %d strokes",
+                    index.column, maxAbs[i], maxRel[i], differing[i]));
+        }
+
+        for (FeatureIndex index : indices) {
+            int i = index.ordinal();
+            if (ANGLES.contains(index)) {
+                assertTrue(index.column, maxAbs[i] <= ANGLE_BOUND);
+            } else if (GEOMETRIC.contains(index)) {
+                assertTrue(index.column, maxRel[i] <= RELATIVE_BOUND);
+            } else if (index == FeatureIndex.ANGLE_CHANGE_RATE) {
+                // A resampled heading near a bin edge can add or drop one direction change
+                assertTrue(index.column, differing[i] <= CORPUS_STROKES / 100);
+            } else {
+                assertEquals(index.column, 0, differing[i]);
+            }
+        }
+    }
+}
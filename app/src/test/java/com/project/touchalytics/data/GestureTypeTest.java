@@ -0,0 +1,68 @@
+package com.project.touchalytics.data;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for {@link GestureType} classification and the compact tap record.
+ */
+public class GestureTypeTest {
+
+    private static Stroke line(int points, float stepPx, long stepMs) {
+        Stroke stroke = new Stroke();
+        for (int i = 0; i < points; i++) {
+            stroke.addPoint(100 + i * stepPx, 500, i * stepMs, 0.5f + i * 0.01f, 0.1f, 10, 8);
+        }
+        return stroke;
+    }
+
+    @Test
+    public void classify_byDisplacementAndDuration() {
+        assertEquals(GestureType.TAP, GestureType.classify(new Stroke()));
+        assertEquals(GestureType.TAP, GestureType.classify(line(1, 0, 0)));
+        assertEquals(GestureType.TAP, GestureType.classify(line(3, 2f, 30)));
+        assertEquals(GestureType.LONG_PRESS, GestureType.classify(line(40, 0.5f, 16)));
+        assertEquals(GestureType.SWIPE, GestureType.classify(line(10, 40f, 8)));
+        assertEquals(GestureType.SCROLL, GestureType.classify(line(60, 2f, 16)));
+    }
+
+    @Test
+    public void classify_usesFurthestPointNotEndpoint() {
+        // Out beyond the slop and back: not a tap, even though it ends where it started
+        Stroke stroke = line(4, 15f, 16);
+        stroke.addPoint(100, 500, 64, 0.5f, 0.1f, 10, 8);
+        assertEquals(45f, stroke.getMaxDisplacement(), 0f);
+        assertEquals(64, stroke.getPointDuration());
+        assertEquals(GestureType.SWIPE, GestureType.classify(stroke));
+    }
+
+    @Test
+    public void compactTapRecord_matchesFullExtractionOnComputedFeatures() {
+        EnumSet<FeatureRegistry.Series> series = EnumSet.complementOf(EnumSet.of(FeatureRegistry.Series.RESAMPLED));
+        FeatureRegistry compact = FeatureRegistry.all().withSeries(series);
+        assertEquals(series, compact.requiredSeries());
+        assertTrue(compact.isActive("touchArea"));
+        assertTrue(compact.isActive("aveVelo"));
+        assertFalse(compact.isActive("angleChangeRate"));
+
+        Stroke tap = line(3, 2f, 30);
+        tap.setStartTime(0);
+        tap.setEndTime(60);
+        Features full = FeatureRegistry.all().extract(tap, new Features());
+        Features record = compact.extract(tap, new Features());
+        // A 3-point tap has non-zero segment features; they must not be lost
+        assertTrue(record.vector().get(FeatureIndex.AVERAGE_VELOCITY) > 0f);
+        for (FeatureRegistry.Feature feature : FeatureRegistry.all().active()) {
+            float expected = compact.isActive(feature.name) ? feature.read(full) : 0f;
+            assertEquals(feature.name, expected, feature.read(record), 0f);
+        }
+
+        // Narrowing keeps only features that were already active
+        FeatureRegistry auth = FeatureRegistry.of(Arrays.asList("startX", "aveVelo"));
+        assertEquals(1, auth.withSeries(EnumSet.of(FeatureRegistry.Series.POINTS)).active().size());
+    }
+}
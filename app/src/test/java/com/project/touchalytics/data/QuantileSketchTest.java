@@ -0,0 +1,90 @@
+package com.project.touchalytics.data;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for {@link QuantileSketch} and the velocity percentiles built on it.
+ */
+public class QuantileSketchTest {
+
+    private static final int[] PERCENTILES = {0, 10, 25, 50, 75, 90, 99, 100};
+    private static final float RELATIVE_ERROR = 0.021f;
+
+    @Test
+    public void percentiles_matchSortedValuesWithinBucketError() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 200; trial++) {
+            int n = 2 + random.nextInt(300);
+            float[] values = new float[n];
+            QuantileSketch sketch = new QuantileSketch();
+            for (int i = 0; i < n; i++) {
+                // Log-normal around 1 px/ms, like finger velocities
+                values[i] = (float) Math.exp(random.nextGaussian() * 1.5);
+                sketch.add(values[i]);
+            }
+            Arrays.sort(values);
+
+            float[] estimates = new float[PERCENTILES.length];
+            sketch.percentiles(PERCENTILES, estimates);
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                float exact = values[Math.round((n - 1) * PERCENTILES[i] / 100.0f)];
+                assertEquals("p" + PERCENTILES[i], exact, estimates[i], exact * RELATIVE_ERROR);
+                assertEquals(estimates[i], sketch.percentile(PERCENTILES[i]), 0f);
+            }
+        }
+    }
+
+    @Test
+    public void extremes_areExact() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(0f);
+        sketch.add(0.5f);
+        sketch.add(5000f);
+
+        assertEquals(0f, sketch.percentile(0), 0f);
+        assertEquals(5000f, sketch.percentile(100), 0f);
+        assertEquals(0.5f, sketch.percentile(50), 0.5f * RELATIVE_ERROR);
+    }
+
+    @Test
+    public void empty_returnsZero() {
+        QuantileSketch sketch = new QuantileSketch();
+        assertEquals(0f, sketch.percentile(50), 0f);
+
+        Stroke stroke = new Stroke();
+        stroke.addPoint(10, 10, 1000, 0.5f, 0.1f, 10, 8);
+        stroke.addPoint(20, 10, 1000, 0.5f, 0.1f, 10, 8);  // zero time delta is skipped
+        assertEquals(0f, stroke.calculatePairwiseVelocityPercentile(50), 0f);
+    }
+
+    @Test
+    public void strokeMedianVelocity_matchesSortedVelocities() {
+        Random random = new Random(7);
+        Stroke stroke = new Stroke();
+        float x = 500;
+        float y = 1200;
+        long t = 0;
+        float[] velocities = new float[40];
+        for (int i = 0; i <= velocities.length; i++) {
+            if (i > 0) {
+                float dx = random.nextFloat() * 40 - 20;
+                float dy = random.nextFloat() * 40 - 20;
+                long dt = 4 + random.nextInt(12);
+                x += dx;
+                y += dy;
+                t += dt;
+                velocities[i - 1] = (float) Math.sqrt(Math.pow(dx, 2) + Math.pow(dy, 2)) / dt;
+            }
+            stroke.addPoint(x, y, t, 0.5f, 0.1f, 10, 8);
+        }
+        Arrays.sort(velocities);
+
+        float exact = velocities[Math.round((velocities.length - 1) * 50 / 100.0f)];
+        assertEquals(exact, stroke.calculatePairwiseVelocityPercentile(50), exact * RELATIVE_ERROR);
+    }
+}
@@ -0,0 +1,78 @@
+package com.project.touchalytics.data;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for {@link StrokeQualityGate} and the running stats it reads.
+ */
+public class StrokeQualityGateTest {
+
+    private static Stroke stroke(float[] xs, long[] ts) {
+        Stroke stroke = new Stroke();
+        for (int i = 0; i < xs.length; i++) {
+            stroke.addPoint(xs[i], 200, ts[i], 0.5f, 0.1f, 10, 8);
+        }
+        return stroke;
+    }
+
+    @Test
+    public void check_rejectsDegenerateStrokes() {
+        StrokeQualityGate gate = new StrokeQualityGate(2, 1, 0f);
+
+        assertEquals(StrokeQualityGate.Rejection.TOO_FEW_POINTS, gate.check(new Stroke()));
+        assertEquals(StrokeQualityGate.Rejection.TOO_FEW_POINTS,
+                gate.check(stroke(new float[]{10}, new long[]{0})));
+        assertEquals(StrokeQualityGate.Rejection.BAD_TIMESTAMPS,
+                gate.check(stroke(new float[]{10, 20, 30}, new long[]{5, 5, 5})));
+        assertEquals(StrokeQualityGate.Rejection.BAD_TIMESTAMPS,
+                gate.check(stroke(new float[]{10, 20, 30}, new long[]{0, 16, 8})));
+
+        // A stationary two-point tap is fine with no movement minimum
+        assertNull(gate.check(stroke(new float[]{10, 10}, new long[]{0, 40})));
+        assertNull(gate.check(stroke(new float[]{10, 20, 30}, new long[]{0, 0, 16})));
+    }
+
+    @Test
+    public void check_appliesDurationAndMovementMinimums() {
+        StrokeQualityGate gate = new StrokeQualityGate(3, 50, 20f);
+
+        assertEquals(StrokeQualityGate.Rejection.TOO_SHORT,
+                gate.check(stroke(new float[]{0, 30, 60}, new long[]{0, 16, 32})));
+        assertEquals(StrokeQualityGate.Rejection.TOO_LITTLE_MOVEMENT,
+                gate.check(stroke(new float[]{0, 5, 10}, new long[]{0, 30, 60})));
+        // Back and forth counts the whole path, not the displacement
+        assertNull(gate.check(stroke(new float[]{0, 12, 0}, new long[]{0, 30, 60})));
+    }
+
+    @Test
+    public void checkTap_onlyChecksTimestamps() {
+        StrokeQualityGate gate = new StrokeQualityGate(2, 1, 1f);
+
+        // A key press without MOVE events is a single sample
+        Stroke press = stroke(new float[]{10}, new long[]{0});
+        assertEquals(StrokeQualityGate.Rejection.TOO_FEW_POINTS, gate.check(press));
+        assertNull(gate.checkTap(press));
+        assertNull(gate.checkTap(stroke(new float[]{10, 10}, new long[]{0, 40})));
+
+        assertEquals(StrokeQualityGate.Rejection.BAD_TIMESTAMPS,
+                gate.checkTap(stroke(new float[]{10, 11}, new long[]{5, 5})));
+        assertEquals(StrokeQualityGate.Rejection.BAD_TIMESTAMPS,
+                gate.checkTap(stroke(new float[]{10, 11, 12}, new long[]{0, 16, 8})));
+    }
+
+    @Test
+    public void runningStats_matchFullComputation() {
+        Stroke stroke = StrokeStatsTest.longStroke(7, 400);
+        assertEquals(stroke.calculateTrajectoryLength(), stroke.getPathLength(),
+                stroke.calculateTrajectoryLength() * 1e-5f);
+        assertEquals(stroke.getPoints().get(399).timestamp - stroke.getPoints().get(0).timestamp,
+                stroke.getPointDuration());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsZeroPoints() {
+        new StrokeQualityGate(0, 0, 0f);
+    }
+}
@@ -0,0 +1,92 @@
+package com.project.touchalytics.data;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Golden values for the features built on {@link Stroke}'s distance resampling.
+ *
+ * The expected bits were recorded from the per-point ResampledPoint list that the
+ * shared primitive buffer replaced; both features must keep matching them exactly.
+ */
+public class StrokeResamplingGoldenTest {
+
+    /**
+     * Per seed: angle and pressure change rate after half the points were added,
+     * then the same pair for the whole stroke (as raw float bits).
+     */
+    private static final int[][] GOLDEN = {
+            {0x41f26c9b, 0x40149539, 0x4225233b, 0x4022e67f},  // n=107
+            {0x41b1c71c, 0x402f93dd, 0x426616a8, 0x4036ff99},  // n=30
+            {0x427df7df, 0x4045a12a, 0x428b2164, 0x4038aaba},  // n=16
+            {0x424f2bdb, 0x403126c8, 0x4242c1ae, 0x40329c35},  // n=64
+            {0x425286bd, 0x40615b9d, 0x4273293d, 0x4040e65d},  // n=49
+            {0x428421d3, 0x40320d43, 0x4268cde2, 0x402ae333},  // n=93
+            {0x4262dd9d, 0x402821a4, 0x425a834d, 0x4032d593},  // n=78
+            {0x00000000, 0x3f9a27a1, 0x41ade9bd, 0x400185f3},  // n=6
+            {0x42356ced, 0x40228978, 0x4253405e, 0x402f20ed},  // n=111
+            {0x41fa0000, 0x4019c755, 0x41ee691d, 0x40227041},  // n=35
+            {0x423e79e8, 0x404c5806, 0x42719c59, 0x40408b5c},  // n=20
+            {0x4211bfbe, 0x405fe138, 0x424e739d, 0x4067f922},  // n=68
+    };
+
+    @Test
+    public void changeRates_matchGoldenValues() {
+        for (int i = 0; i < GOLDEN.length; i++) {
+            long seed = i + 1;
+            Random random = new Random(seed);
+            int n = 2 + random.nextInt(120);
+            Stroke stroke = new Stroke();
+
+            // Smooth random walk with jittery timing and drifting pressure
+            float x = 540;
+            float y = 1200;
+            float heading = 0;
+            long t = 0;
+            float pressure = 0.5f;
+            for (int j = 0; j < n; j++) {
+                if (j > 0) {
+                    heading += (float) (random.nextGaussian() * 0.6);
+                    float len = random.nextFloat() * 25;
+                    x += (float) Math.cos(heading) * len;
+                    y += (float) Math.sin(heading) * len;
+                    t += random.nextInt(17);
+                    pressure = Math.max(0f, Math.min(1f, pressure + (random.nextFloat() - 0.5f) * 0.1f));
+                }
+                stroke.addPoint(x, y, t, pressure, 0.1f, 10, 8);
+
+                // The resampled path must be rebuilt once more points arrive
+                if (j == n / 2) {
+                    assertBits("seed " + seed + " half angle", GOLDEN[i][0], stroke.calculateAngleChangeRate());
+                    assertBits("seed " + seed + " half pressure", GOLDEN[i][1], stroke.calculatePressureChangeRate());
+                }
+            }
+
+            assertBits("seed " + seed + " angle", GOLDEN[i][2], stroke.calculateAngleChangeRate());
+            assertBits("seed " + seed + " pressure", GOLDEN[i][3], stroke.calculatePressureChangeRate());
+            // Repeated calls read the same buffer
+            assertBits("seed " + seed + " angle again", GOLDEN[i][2], stroke.calculateAngleChangeRate());
+        }
+    }
+
+    @Test
+    public void shortStrokes_haveNoChangeRate() {
+        Stroke stroke = new Stroke();
+        assertEquals(0f, stroke.calculateAngleChangeRate(), 0f);
+        assertEquals(0f, stroke.calculatePressureChangeRate(), 0f);
+
+        // Shorter than one resampling step: only the end points remain
+        stroke.addPoint(0, 0, 0, 0.2f, 0.1f, 10, 8);
+        stroke.addPoint(3, 0, 10, 0.8f, 0.1f, 10, 8);
+        assertEquals(0f, stroke.calculateAngleChangeRate(), 0f);
+        assertEquals(0f, stroke.calculatePressureChangeRate(), 0f);
+    }
+
+    private static void assertBits(String message, int expectedBits, float actual) {
+        assertEquals(message + " (" + Float.intBitsToFloat(expectedBits) + " vs " + actual + ")",
+                expectedBits, Float.floatToIntBits(actual));
+    }
+}
@@ -0,0 +1,187 @@
+package com.project.touchalytics.data;
+
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for {@link StrokeSimplifier}, plus a drift report: how far each feature of a
+ * simplified stroke moves from the unsimplified one, over a corpus of long synthetic scrolls.
+ */
+public class StrokeSimplifierTest {
+
+    private static final int REPORT_STROKES = 200;
+
+    // Features read only from points the simplifier never drops
+    private static final Set<FeatureIndex> PRESERVED = EnumSet.of(
+            FeatureIndex.STROKE_DURATION, FeatureIndex.MID_STROKE_AREA,
+            FeatureIndex.DIRECTION_END_TO_END,
+            FeatureIndex.START_X, FeatureIndex.START_Y, FeatureIndex.STOP_X, FeatureIndex.STOP_Y,
+            FeatureIndex.MAX_PRESSURE, FeatureIndex.MIN_PRESSURE, FeatureIndex.INIT_PRESSURE,
+            FeatureIndex.X_DISPLACEMENT, FeatureIndex.Y_DISPLACEMENT);
+
+    /**
+     * A long vertical scroll sampled every ~8 ms: a few drags with pauses in between,
+     * sensor jitter on x/y and slowly varying pressure. Timestamps strictly increase.
+     */
+    static Stroke scroll(long seed, int points) {
+        Random random = new Random(seed);
+        Stroke stroke = new Stroke();
+        float x = 300 + random.nextInt(400);
+        float y = 1800;
+        float pressure = 0.4f + random.nextFloat() * 0.2f;
+        long t = 0;
+        float direction = random.nextBoolean() ? -1f : 1f;
+        int dragLength = 40 + random.nextInt(200);
+
+        stroke.setStartTime(t);
+        for (int i = 0; i < points; i++) {
+            if (i > 0) {
+                int phase = i % dragLength;
+                float progress = (float) phase / dragLength;
+                // Bell-shaped speed within a drag, then a short pause
+                float speed = progress < 0.8f ? (float) Math.sin(Math.PI * progress / 0.8f) * 3f : 0f;
+                if (phase == 0 && random.nextInt(3) == 0) direction = -direction;
+                y += direction * speed * 8 + (float) random.nextGaussian() * 0.4f;
+                x += 0.05f * speed + (float) random.nextGaussian() * 0.4f;
+                t += 7 + random.nextInt(3);
+                pressure = Math.max(0f, Math.min(1f, pressure + (float) random.nextGaussian() * 0.01f));
+            }
+            stroke.addPoint(x, y, t, pressure, 0.1f, 10 + random.nextInt(3), 8 + random.nextInt(2));
+        }
+        stroke.setEndTime(t);
+        return stroke;
+    }
+
+    @Test
+    public void simplify_respectsCapAndKeepsLockedFeatures() {
+        StrokeSimplifier[] simplifiers = {
+                new StrokeSimplifier(0f, 0.1f, 64),
+                new StrokeSimplifier(1f, 0.1f, 256),
+                new StrokeSimplifier(4f, 0f, 8),
+        };
+        for (int seed = 0; seed < 30; seed++) {
+            Stroke original = seed % 2 == 0
+                    ? scroll(seed, 200 + seed * 97)
+                    : StrokeStatsTest.longStroke(seed, 200 + seed * 97);
+            Features expected = FeatureRegistry.all().extract(original, new Features());
+
+            for (StrokeSimplifier simplifier : simplifiers) {
+                Stroke simplified = simplifier.simplify(original);
+                String at = "seed " + seed + " cap " + simplifier.getMaxPoints() + ": ";
+                assertTrue(at + simplified.getPoints().size(),
+                        simplified.getPoints().size() <= simplifier.getMaxPoints());
+                assertEquals(at, original.getStartTime(), simplified.getStartTime());
+                assertEquals(at, original.getEndTime(), simplified.getEndTime());
+
+                Features actual = FeatureRegistry.all().extract(simplified, new Features());
+                for (FeatureIndex index : PRESERVED) {
+                    assertEquals(at + index.column, expected.vector().get(index), actual.vector().get(index), 0f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void simplify_keepsDroppedPointsWithinTolerance() {
+        float tolerance = 1.5f;
+        StrokeSimplifier simplifier = new StrokeSimplifier(tolerance, 0.05f, Integer.MAX_VALUE);
+        for (int seed = 0; seed < 20; seed++) {
+            List<TouchPoint> original = scroll(seed, 1000).getPoints();
+            List<TouchPoint> kept = simplifier.simplify(scroll(seed, 1000)).getPoints();
+            assertTrue(kept.size() < original.size());
+
+            // Timestamps are unique, so kept points can be matched back to the original
+            int k = 0;
+            for (TouchPoint p : original) {
+                if (p.timestamp == kept.get(k).timestamp) {
+                    k++;
+                    continue;
+                }
+                float d = simplifier.deviation(p, kept.get(k - 1), kept.get(k));
+                assertTrue("seed " + seed + " t " + p.timestamp + ": " + d, d <= tolerance);
+            }
+            assertEquals(kept.size(), k);
+        }
+    }
+
+    @Test
+    public void simplify_returnsStrokeWhenNothingCanBeDropped() {
+        StrokeSimplifier simplifier = new StrokeSimplifier(0f, 1f, 8);
+
+        Stroke tap = new Stroke();
+        tap.addPoint(10, 10, 0, 0.5f, 0.1f, 8, 6);
+        tap.addPoint(11, 10, 16, 0.5f, 0.1f, 8, 6);
+        assertSame(tap, simplifier.simplify(tap));
+
+        Stroke zigzag = new Stroke();
+        for (int i = 0; i < 6; i++) {
+            zigzag.addPoint(i * 10, (i % 2) * 10, i * 16, 0.5f, 0.1f, 8, 6);
+        }
+        assertSame(zigzag, simplifier.simplify(zigzag));
+
+        // Evenly spaced points on a line are redundant
+        Stroke line = new Stroke();
+        for (int i = 0; i < 6; i++) {
+            line.addPoint(i * 10, 0, i * 16, 0.5f, 0.1f, 8, 6);
+        }
+        assertEquals(2, new StrokeSimplifier(0.01f, 1f, 8).simplify(line).getPoints().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsTinyCap() {
+        new StrokeSimplifier(1f, 0.1f, 4);
+    }
+
+    @Test
+    public void report_featureDrift() {
+        StrokeSimplifier[] simplifiers = {
+                new StrokeSimplifier(0f, 0.1f, 512),
+                new StrokeSimplifier(0.5f, 0.1f, 512),
+                new StrokeSimplifier(1f, 0.1f, 256),
+                new StrokeSimplifier(2f, 0.1f, 128),
+        };
+        Stroke[] corpus = new Stroke[REPORT_STROKES];
+        Features[] reference = new Features[REPORT_STROKES];
+        long originalPoints = 0;
+        for (int i = 0; i < REPORT_STROKES; i++) {
+            corpus[i] = scroll(i, 500 + i * 37 % 3500);
+            reference[i] = FeatureRegistry.all().extract(corpus[i], new Features());
+            originalPoints += corpus[i].getPoints().size();
+        }
+
+        FeatureIndex[] indices = FeatureIndex.values();
+        for (StrokeSimplifier simplifier : simplifiers) {
+            double[] maxAbs = new double[indices.length];
+            double[] maxRel = new double[indices.length];
+            double[] sumRel = new double[indices.length];
+            long keptPoints = 0;
+            for (int i = 0; i < REPORT_STROKES; i++) {
+                Stroke simplified = simplifier.simplify(corpus[i]);
+                keptPoints += simplified.getPoints().size();
+                Features features = FeatureRegistry.all().extract(simplified, new Features());
+                for (FeatureIndex index : indices) {
+                    float expected = reference[i].vector().get(index);
+                    double abs = Math.abs((double) features.vector().get(index) - expected);
+                    double rel = abs / Math.max(Math.abs(expected), 1e-6);
+                    maxAbs[index.ordinal()] = Math.max(maxAbs[index.ordinal()], abs);
+                    maxRel[index.ordinal()] = Math.max(maxRel[index.ordinal()], rel);
+                    sumRel[index.ordinal()] += rel;
+                }
+            }
+
+            System.out.println(String.format("%s: %d -> %d points (%.1f%%)", simplifier, originalPoints,
+                    keptPoints, 100.0 * keptPoints / originalPoints));
+            for (FeatureIndex index : indices) {
+                int i = index.ordinal();
+                System.out.println(String.format("  %-20s max abs drift %.3g | relative drift mean %.3g, max %.3g",
+                        index.column, maxAbs[i], sumRel[i] / REPORT_STROKES, maxRel[i]));
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.project.touchalytics.data;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Scaling benchmark for parallel feature work on 1, 2, 4 and 8 ForkJoinPool threads:
+ * batch re-extraction of recorded strokes, and the chunked {@link StrokeStats} reduction
+ * of a single very long stroke.
+ * Runs on the host (no device needed); timings are printed to stdout. Speedups are
+ * bounded by the host's available processors, which are printed alongside.
+ * Skipped unless run with -Dbench=true.
+ */
+public class StrokeStatsBenchmarkTest {
+
+    private static final int[] THREADS = {1, 2, 4, 8};
+    private static final int BATCH_STROKES = 2_000;
+    private static final int LONG_STROKE_POINTS = 200_000;
+    private static final int CHUNK_POINTS = 4_096;
+    private static final int ROUNDS = 5;
+
+    @BeforeClass
+    public static void requireBenchSwitch() {
+        assumeTrue("benchmark, run with -Dbench=true", Boolean.getBoolean("bench"));
+    }
+
+    @Test
+    public void benchmark_batchExtraction() {
+        List<Stroke> strokes = new ArrayList<>();
+        for (int i = 0; i < BATCH_STROKES; i++) {
+            strokes.add(StrokeStatsTest.longStroke(i, 50 + i % 400));
+        }
+        Features[] reference = FeatureRegistry.all().extractAll(strokes, ForkJoinPool.commonPool());
+
+        double baseline = 0;
+        for (int threads : THREADS) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                FeatureRegistry.all().extractAll(copies(strokes), pool);     // warm up
+                long best = Long.MAX_VALUE;
+                for (int r = 0; r < ROUNDS; r++) {
+                    // Fresh strokes, so no cached series carry over between rounds
+                    List<Stroke> batch = copies(strokes);
+                    long t0 = System.nanoTime();
+                    Features[] out = FeatureRegistry.all().extractAll(batch, pool);
+                    best = Math.min(best, System.nanoTime() - t0);
+                    assertEquals(reference[BATCH_STROKES - 1].vector(), out[BATCH_STROKES - 1].vector());
+                }
+                double strokesPerSecond = BATCH_STROKES * 1e9 / best;
+                if (threads == 1) baseline = strokesPerSecond;
+                print("batch extract", threads, String.format("%.0f strokes/s", strokesPerSecond),
+                        strokesPerSecond / baseline);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void benchmark_longStrokeReduction() {
+        Stroke stroke = StrokeStatsTest.longStroke(42, LONG_STROKE_POINTS);
+        StrokeStats reference = StrokeStats.reduce(stroke, ForkJoinPool.commonPool(), LONG_STROKE_POINTS);
+
+        double baseline = 0;
+        for (int threads : THREADS) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                StrokeStats.reduce(stroke, pool, CHUNK_POINTS);     // warm up
+                long best = Long.MAX_VALUE;
+                for (int r = 0; r < ROUNDS; r++) {
+                    long t0 = System.nanoTime();
+                    StrokeStats stats = StrokeStats.reduce(stroke, pool, CHUNK_POINTS);
+                    best = Math.min(best, System.nanoTime() - t0);
+                    assertEquals(reference.maxIdleTime(), stats.maxIdleTime());
+                    assertEquals(reference.angleChangeRate(), stats.angleChangeRate(), 0f);
+                }
+                if (threads == 1) baseline = best;
+                print("long stroke reduce", threads, String.format("%.2f ms", best / 1e6), baseline / best);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static List<Stroke> copies(List<Stroke> strokes) {
+        List<Stroke> copies = new ArrayList<>(strokes.size());
+        for (Stroke stroke : strokes) {
+            Stroke copy = new Stroke();
+            copy.setStartTime(stroke.getStartTime());
+            copy.setEndTime(stroke.getEndTime());
+            for (TouchPoint p : stroke.getPoints()) {
+                copy.addPoint(p.x, p.y, p.timestamp, p.pressure, p.size, p.touchMajor, p.touchMinor);
+            }
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    private static void print(String what, int threads, String result, double speedup) {
+        System.out.println(String.format("%s: %d thread(s) | %s | speedup %.2fx | %d processors available",
+                what, threads, result, speedup, Runtime.getRuntime().availableProcessors()));
+    }
+}
@@ -0,0 +1,156 @@
+package com.project.touchalytics.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for {@link StrokeStats}: chunked parallel reduction against the
+ * sequential {@link Stroke} methods, and batch extraction.
+ */
+public class StrokeStatsTest {
+
+    private static final int[] CHUNKS = {1, 2, 3, 7, 64, 1_000_000};
+
+    /**
+     * A long wandering stroke with pauses, repeated timestamps and zig-zags, so chunk
+     * boundaries land inside idle runs and pending direction changes.
+     */
+    static Stroke longStroke(long seed, int points) {
+        return longStroke(seed, points, GeometryKernel.STRICT);
+    }
+
+    static Stroke longStroke(long seed, int points, GeometryKernel kernel) {
+        Random random = new Random(seed);
+        Stroke stroke = new Stroke(kernel);
+        float x = 540;
+        float y = 1800;
+        float heading = (float) (-Math.PI / 2);
+        long t = 0;
+        float pressure = 0.5f;
+        for (int i = 0; i < points; i++) {
+            if (i > 0) {
+                int mode = random.nextInt(10);
+                float len = mode == 0 ? random.nextFloat() * 3 : random.nextFloat() * 18;  // pause
+                heading += mode == 1 ? (float) (Math.PI / 2) : (float) (random.nextGaussian() * 0.3);
+                x += (float) Math.cos(heading) * len;
+                y += (float) Math.sin(heading) * len;
+                t += mode == 2 ? 0 : 1 + random.nextInt(16);
+                pressure = Math.max(0f, Math.min(1f, pressure + (random.nextFloat() - 0.5f) * 0.05f));
+            }
+            stroke.addPoint(x, y, t, pressure, 0.1f, 8 + random.nextInt(6), 6 + random.nextInt(4));
+        }
+        return stroke;
+    }
+
+    @Test
+    public void reduce_matchesSequentialStroke() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int seed = 1; seed <= 20; seed++) {
+                Stroke stroke = longStroke(seed, seed * 97 % 600 + 1);
+                for (int chunk : CHUNKS) {
+                    String at = "seed " + seed + " chunk " + chunk + ": ";
+                    StrokeStats stats = StrokeStats.reduce(stroke, pool, chunk);
+
+                    // Order-independent statistics are exact
+                    assertEquals(at + "minPressure", stroke.calculateMinPressure(), stats.minPressure(), 0f);
+                    assertEquals(at + "maxPressure", stroke.calculateMaxPressure(), stats.maxPressure(), 0f);
+                    assertEquals(at + "maxVelocity", stroke.calculateMaxVelocity(), stats.maxVelocity(), 0f);
+                    assertEquals(at + "minVelocity", stroke.calculateMinVelocity(), stats.minVelocity(), 0f);
+                    assertEquals(at + "maxIdleTime", stroke.calculateMaxIdleTime(), stats.maxIdleTime());
+                    assertEquals(at + "angleChangeRate", stroke.calculateAngleChangeRate(), stats.angleChangeRate(), 0f);
+
+                    // Sums and moments agree to float rounding
+                    assertClose(at + "trajectoryLength", stroke.calculateTrajectoryLength(), stats.trajectoryLength());
+                    assertClose(at + "averageDirection", stroke.calculateAverageDirection(), stats.averageDirection());
+                    assertClose(at + "totalTouchArea", stroke.calculateTotalTouchArea(), stats.totalTouchArea());
+                    assertClose(at + "averageTouchArea", stroke.calculateAverageTouchArea(), stats.averageTouchArea());
+                    assertClose(at + "pressureVariance", stroke.calculatePressureVariance(), stats.pressureVariance());
+                    assertClose(at + "velocityVariance", stroke.calculateVelocityVariance(), stats.velocityVariance());
+                    assertClose(at + "averageAcceleration", stroke.calculateAverageAcceleration(), stats.averageAcceleration());
+                    assertClose(at + "averageDeceleration", stroke.calculateAverageDeceleration(), stats.averageDeceleration());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void reduce_isBitIdenticalAcrossPoolSizes() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool wide = new ForkJoinPool(8);
+        try {
+            for (int seed = 1; seed <= 10; seed++) {
+                Stroke stroke = longStroke(seed, 500 + seed * 37);
+                for (int chunk : CHUNKS) {
+                    assertArrayEquals("seed " + seed + " chunk " + chunk,
+                            results(StrokeStats.reduce(stroke, single, chunk)),
+                            results(StrokeStats.reduce(stroke, wide, chunk)), 0f);
+                }
+            }
+        } finally {
+            single.shutdown();
+            wide.shutdown();
+        }
+    }
+
+    @Test
+    public void directionChanges_mergeAcrossAnyBoundary() {
+        Random random = new Random(11);
+        for (int trial = 0; trial < 500; trial++) {
+            int n = 2 + random.nextInt(40);
+            int[] bins = new int[n];
+            for (int i = 0; i < n; i++) {
+                // Few distinct bins, so runs and jitter both occur
+                bins[i] = random.nextInt(3);
+            }
+            int expected = StrokeStats.DirectionChanges.count(bins, n);
+
+            int cut1 = 1 + random.nextInt(n - 1);
+            int cut2 = cut1 + random.nextInt(n - cut1 + 1);
+            StrokeStats.DirectionChanges merged = StrokeStats.DirectionChanges.of(bins, 0, cut1)
+                    .merge(StrokeStats.DirectionChanges.of(bins, cut1, cut2)
+                            .merge(StrokeStats.DirectionChanges.of(bins, cut2, n)));
+            assertEquals("trial " + trial, expected, merged.changes());
+        }
+    }
+
+    @Test
+    public void extractAll_isIdenticalToSequentialExtract() {
+        List<Stroke> strokes = new ArrayList<>();
+        for (int seed = 0; seed < 50; seed++) {
+            strokes.add(longStroke(100 + seed, 2 + seed * 13 % 300));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Features[] parallel = FeatureRegistry.all().extractAll(strokes, pool);
+            for (int i = 0; i < strokes.size(); i++) {
+                Features sequential = FeatureRegistry.all().extract(strokes.get(i), new Features());
+                assertEquals("stroke " + i, sequential.vector(), parallel[i].vector());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static float[] results(StrokeStats s) {
+        return new float[]{
+                s.minPressure(), s.maxPressure(), s.pressureVariance(), s.totalTouchArea(),
+                s.averageTouchArea(), s.trajectoryLength(), s.averageDirection(), s.maxVelocity(),
+                s.minVelocity(), s.averageAcceleration(), s.averageDeceleration(),
+                s.velocityVariance(), s.maxIdleTime(), s.angleChangeRate()
+        };
+    }
+
+    private static void assertClose(String message, float expected, float actual) {
+        assertEquals(message, expected, actual, Math.max(1e-6f, Math.abs(expected) * 1e-4f));
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.touchalytics.data;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for {@link Stroke}'s cached per-segment features.
+ */
+public class StrokeTest {
+
+    @Test
+    public void segmentFeatures_followAddedPoints() {
+        Stroke stroke = new Stroke();
+        stroke.addPoint(0, 0, 0, 0.5f, 0.1f, 10, 8);
+        stroke.addPoint(30, 40, 10, 0.5f, 0.1f, 10, 8);    // 50 px in 10 ms
+
+        assertEquals(50f, stroke.calculateTrajectoryLength(), 0f);
+        assertEquals(5f, stroke.calculateMaxVelocity(), 0f);
+        assertEquals(1f, stroke.calculateStraightnessRatio(), 0f);
+
+        // Cached values must not survive a new point
+        stroke.addPoint(30, 0, 20, 0.5f, 0.1f, 10, 8);     // 40 px back up in 10 ms
+
+        assertEquals(90f, stroke.calculateTrajectoryLength(), 0f);
+        assertEquals(5f, stroke.calculateMaxVelocity(), 0f);
+        assertEquals(4f, stroke.calculateMinVelocity(), 0f);
+        assertEquals(30f / 90f, stroke.calculateStraightnessRatio(), 1e-6f);
+        assertEquals(90f / 20f, stroke.calculateAverageVelocity(), 1e-6f);
+
+        // Velocity drops from 5 to 4 px/ms over an average dt of 10 ms
+        assertEquals(0f, stroke.calculateAverageAcceleration(), 0f);
+        assertEquals(0.1f, stroke.calculateAverageDeceleration(), 1e-6f);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getPoints_isReadOnly() {
+        Stroke stroke = new Stroke();
+        stroke.addPoint(0, 0, 0, 0.5f, 0.1f, 10, 8);
+
+        // Adding behind addPoint's back would leave the cached series stale
+        stroke.getPoints().add(new TouchPoint(30, 40, 10, 0.5f, 0.1f, 10, 8));
+    }
+
+    @Test
+    public void maxIdleTime_skipsZeroTimeSegments() {
+        Stroke stroke = new Stroke();
+        stroke.addPoint(0, 0, 0, 0.5f, 0.1f, 10, 8);
+        stroke.addPoint(2, 0, 30, 0.5f, 0.1f, 10, 8);
+        stroke.addPoint(4, 0, 30, 0.5f, 0.1f, 10, 8);      // duplicate timestamp
+        stroke.addPoint(6, 0, 50, 0.5f, 0.1f, 10, 8);
+        stroke.addPoint(100, 0, 60, 0.5f, 0.1f, 10, 8);
+
+        assertEquals(50L, stroke.calculateMaxIdleTime());
+    }
+}